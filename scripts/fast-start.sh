@@ -0,0 +1,17 @@
+#!/usr/bin/env bash
+# Starts the application from the fast-startup build (mvn -Pfast-startup package) with the
+# AOT-generated context and the AppCDS archive. Arguments are passed to the application.
+set -euo pipefail
+
+DIR="$(cd "$(dirname "$0")/.." && pwd)/target/fast-startup"
+JAR=$(ls "$DIR"/*-thin.jar 2>/dev/null | head -n 1)
+if [[ -z "$JAR" || ! -f "$DIR/application.jsa" ]]; then
+    echo "No fast-startup build in $DIR, run: mvn -Pfast-startup package -DskipTests" >&2
+    exit 1
+fi
+
+# The archive is only used with the class path it was dumped with, so start from the same
+# directory with the same relative jar path as the training run
+cd "$DIR"
+exec java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true ${JAVA_OPTS:-} \
+    -jar "$(basename "$JAR")" "$@"
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Compares startup of the default build (fat jar) with the fast-startup build (thin jar, Spring
+# AOT, AppCDS). For each variant the application is started RUNS times and two numbers are taken:
+# the "Started ... in" time Spring Boot logs, and the wall-clock time from launching the JVM to the
+# first successful GET /api/students. Build both first with: mvn -Pfast-startup package -DskipTests
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+FAT_JAR=$(ls "$ROOT"/target/*.jar 2>/dev/null | grep -v -- '-thin\.jar$' | head -n 1)
+LOG=$(mktemp)
+trap 'rm -f "$LOG"' EXIT
+
+APP_ARGS=(
+    "--server.port=$PORT"
+    "--spring.jpa.show-sql=false"
+    "--logging.level.root=WARN"
+    "--logging.level.com.example.student=INFO"
+    "--logging.level.org.springframework.web=WARN"
+    "--logging.level.org.hibernate.SQL=WARN"
+)
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2 ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+measure() {
+    local label=$1
+    shift
+    local started=() first=()
+    for ((run = 1; run <= RUNS; run++)); do
+        local begin=$(date +%s%N)
+        "$@" "${APP_ARGS[@]}" > "$LOG" 2>&1 &
+        local pid=$!
+        until curl -sf -o /dev/null "http://localhost:$PORT/api/students"; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$label: application exited during startup" >&2
+                cat "$LOG" >&2
+                exit 1
+            fi
+            sleep 0.01
+        done
+        first+=($(( ($(date +%s%N) - begin) / 1000000 )))
+        started+=($(grep -o 'Started [A-Za-z]* in [0-9.]* seconds' "$LOG" | grep -o '[0-9.]* seconds' | cut -d' ' -f1))
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+    done
+    printf '%-28s %10s s %10s ms\n' "$label" \
+        "$(printf '%s\n' "${started[@]}" | median)" "$(printf '%s\n' "${first[@]}" | median)"
+}
+
+if [[ -z "$FAT_JAR" ]]; then
+    echo "No application jar in $ROOT/target, run: mvn -Pfast-startup package -DskipTests" >&2
+    exit 1
+fi
+
+echo "Median of $RUNS runs          started in      first response"
+measure "default (fat jar)" java ${JAVA_OPTS:-} -jar "$FAT_JAR"
+measure "fast-startup (AOT + CDS)" "$ROOT/scripts/fast-start.sh"
@@ -0,0 +1,39 @@
+package com.example.student.analytics;
+
+import com.example.student.outbox.OutboxRelay;
+import com.example.student.repository.StudentRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Serves statistics and counts from {@link StudentColumnStore} when
+ * {@code student.columnar.enabled=true}. The store follows the change log, so the outbox relay
+ * must be running.
+ */
+@Configuration
+@EnableConfigurationProperties(ColumnarReadModelProperties.class)
+@ConditionalOnProperty(prefix = "student.columnar", name = "enabled")
+public class ColumnarReadModelConfig {
+
+    @Bean
+    public StudentColumnStore studentColumnStore(ColumnarReadModelProperties properties,
+            ObjectProvider<OutboxRelay> relay) {
+        if (relay.getIfAvailable() == null) {
+            throw new IllegalStateException("student.columnar.enabled requires student.outbox.relay-enabled=true");
+        }
+        return new StudentColumnStore(properties.getInitialCapacity(), properties.getParallelThreshold());
+    }
+
+    // Loaded before the warm-up runner, so the warm-up reads go through the store
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public ApplicationRunner studentColumnStoreLoader(StudentColumnStore store, StudentRepository repository) {
+        return args -> store.load(repository::findAll);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.student.analytics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.columnar")
+public class ColumnarReadModelProperties {
+
+    private boolean enabled = false;
+
+    // Rows allocated up front; the columns grow by half when full
+    private int initialCapacity = 1024;
+
+    // Scans split into parallel chunks once the store holds this many rows
+    private int parallelThreshold = 65_536;
+}
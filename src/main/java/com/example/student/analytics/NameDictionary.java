@@ -0,0 +1,81 @@
+package com.example.student.analytics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for the name column. Each distinct name gets a small int code; codes are
+ * reference counted and reused once no row uses them, so churn does not grow the dictionary.
+ * Not thread-safe; {@link StudentColumnStore} guards it with its lock.
+ */
+final class NameDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private final List<String> lowerCaseValues = new ArrayList<>();
+    private final Deque<Integer> freeCodes = new ArrayDeque<>();
+    private int[] references = new int[16];
+
+    int acquire(String name) {
+        Integer code = codes.get(name);
+        if (code == null) {
+            code = freeCodes.isEmpty() ? newCode() : freeCodes.pop();
+            codes.put(name, code);
+            values.set(code, name);
+            lowerCaseValues.set(code, name.toLowerCase(Locale.ROOT));
+        }
+        references[code]++;
+        return code;
+    }
+
+    void release(int code) {
+        if (--references[code] == 0) {
+            codes.remove(values.get(code));
+            values.set(code, null);
+            lowerCaseValues.set(code, null);
+            freeCodes.push(code);
+        }
+    }
+
+    /**
+     * One byte per code, 1 when the name contains {@code needle} ignoring case, so a column scan
+     * can add the flag instead of branching.
+     */
+    byte[] matchContaining(String needle) {
+        String lowerCaseNeedle = needle.toLowerCase(Locale.ROOT);
+        byte[] matches = new byte[lowerCaseValues.size()];
+        for (int code = 0; code < matches.length; code++) {
+            String value = lowerCaseValues.get(code);
+            matches[code] = (byte) (value != null && value.contains(lowerCaseNeedle) ? 1 : 0);
+        }
+        return matches;
+    }
+
+    int size() {
+        return codes.size();
+    }
+
+    void clear() {
+        codes.clear();
+        values.clear();
+        lowerCaseValues.clear();
+        freeCodes.clear();
+        Arrays.fill(references, 0);
+    }
+
+    private int newCode() {
+        int code = values.size();
+        values.add(null);
+        lowerCaseValues.add(null);
+        if (code == references.length) {
+            references = Arrays.copyOf(references, code * 2);
+        }
+        return code;
+    }
+}
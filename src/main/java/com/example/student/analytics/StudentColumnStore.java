@@ -0,0 +1,315 @@
+package com.example.student.analytics;
+
+import com.example.student.model.Student;
+import com.example.student.outbox.ChangeType;
+import com.example.student.outbox.StudentChangeEvent;
+import com.example.student.repository.AgeBucketAggregate;
+import org.springframework.context.event.EventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory, column-oriented copy of the students table for analytical reads. Ids, ages and
+ * creation times are kept in parallel primitive arrays and names are dictionary encoded, so
+ * counts and histograms are tight loops over a few arrays instead of queries against the
+ * database.
+ *
+ * <p>The store is loaded once from a snapshot and then follows the change log through
+ * {@link StudentChangeEvent}s, so it trails committed writes by up to the relay interval. Rows are
+ * kept dense: a delete moves the last row into the freed slot. Scans add comparison results as
+ * 0/1 values rather than branching on them, and split into chunks that run in parallel once the
+ * store holds {@code parallelThreshold} rows.
+ */
+public class StudentColumnStore {
+
+    // Stand-in for a missing createdAt, far enough from Long.MIN_VALUE that subtracting a real
+    // timestamp cannot overflow
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE / 2;
+    private static final int CHUNK_SIZE = 1 << 14;
+    private static final int MAX_BOUND = 1 << 30;
+
+    private final int parallelThreshold;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> rowById = new HashMap<>();
+    private final NameDictionary names = new NameDictionary();
+
+    private long[] ids;
+    private int[] ages;
+    private long[] createdMicros;
+    private int[] nameCodes;
+    private int size;
+    // Largest age stored so far; sizes the per-age counters of aggregateByAgeBucket
+    private int maxAge;
+    private volatile boolean ready;
+
+    public StudentColumnStore(int initialCapacity, int parallelThreshold) {
+        int capacity = Math.max(initialCapacity, 16);
+        this.ids = new long[capacity];
+        this.ages = new int[capacity];
+        this.createdMicros = new long[capacity];
+        this.nameCodes = new int[capacity];
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Replaces the contents with {@code snapshot}. Change events wait while the snapshot is read,
+     * so every event applied afterwards is at least as new as the snapshot, or is a replay that a
+     * later event in the log corrects.
+     */
+    public void load(Supplier<? extends Iterable<Student>> snapshot) {
+        lock.writeLock().lock();
+        try {
+            rowById.clear();
+            names.clear();
+            size = 0;
+            snapshot.get().forEach(this::upsert);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a relayed change. Events may repeat after a restart; upserts and deletes are both
+     * idempotent.
+     */
+    @EventListener
+    public void onChange(StudentChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.type() == ChangeType.DELETED) {
+                remove(event.studentId());
+            } else {
+                upsert(event.student());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * False until the first snapshot has been loaded; callers should query the database instead.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long countByAgeBetween(int minAge, int maxAge) {
+        // Ages are never negative, so clamping the bounds keeps the int differences below from
+        // overflowing without changing the result
+        int lower = Math.max(0, Math.min(minAge, MAX_BOUND));
+        int upper = Math.max(-1, Math.min(maxAge, MAX_BOUND));
+        return scan((from, to) -> {
+            int[] ages = this.ages;
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                // The sign bit is set exactly when the age lies outside [lower, upper]
+                count += 1 + ((ages[i] - lower | upper - ages[i]) >> 31);
+            }
+            return (long) count;
+        }, Long::sum);
+    }
+
+    public long countByNameContaining(String name) {
+        lock.readLock().lock();
+        try {
+            byte[] matches = names.matchContaining(name);
+            return scan((from, to) -> {
+                int[] nameCodes = this.nameCodes;
+                long count = 0;
+                for (int i = from; i < to; i++) {
+                    count += matches[nameCodes[i]];
+                }
+                return count;
+            }, Long::sum);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same result as {@code StudentRepository#aggregateByAgeBucket}: one row per non-empty age
+     * bucket, in bucket order.
+     */
+    public List<AgeBucketAggregate> aggregateByAgeBucket(LocalDateTime sinceDay, LocalDateTime sinceWeek,
+            LocalDateTime sinceMonth) {
+        long day = ceilMicros(sinceDay);
+        long week = ceilMicros(sinceWeek);
+        long month = ceilMicros(sinceMonth);
+        lock.readLock().lock();
+        try {
+            int ageSlots = maxAge + 1;
+            AgeCounters counters = scan((from, to) -> {
+                int[] ages = this.ages;
+                long[] created = this.createdMicros;
+                AgeCounters partial = new AgeCounters(ageSlots);
+                for (int i = from; i < to; i++) {
+                    int age = ages[i];
+                    long createdAt = created[i];
+                    partial.count[age]++;
+                    partial.sinceDay[age] += 1 - ((createdAt - day) >>> 63);
+                    partial.sinceWeek[age] += 1 - ((createdAt - week) >>> 63);
+                    partial.sinceMonth[age] += 1 - ((createdAt - month) >>> 63);
+                }
+                return partial;
+            }, AgeCounters::add);
+            return counters.toBuckets();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T scan(ChunkScan<T> chunkScan, BinaryOperator<T> merge) {
+        lock.readLock().lock();
+        try {
+            int rows = size;
+            if (rows < parallelThreshold) {
+                return chunkScan.scan(0, rows);
+            }
+            int chunks = (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            return IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> chunkScan.scan(chunk * CHUNK_SIZE, Math.min(rows, (chunk + 1) * CHUNK_SIZE)))
+                    .reduce(merge)
+                    .orElseThrow();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void upsert(Student student) {
+        if (student.getAge() < 0) {
+            throw new IllegalArgumentException("Negative age for student " + student.getId());
+        }
+        Integer row = rowById.get(student.getId());
+        int nameCode = names.acquire(student.getName());
+        if (row == null) {
+            ensureCapacity(size + 1);
+            row = size++;
+            rowById.put(student.getId(), row);
+            ids[row] = student.getId();
+        } else {
+            names.release(nameCodes[row]);
+        }
+        ages[row] = student.getAge();
+        createdMicros[row] = student.getCreatedAt() == null ? NO_TIMESTAMP : micros(student.getCreatedAt());
+        nameCodes[row] = nameCode;
+        maxAge = Math.max(maxAge, student.getAge());
+    }
+
+    private void remove(Long id) {
+        Integer row = rowById.remove(id);
+        if (row == null) {
+            return;
+        }
+        names.release(nameCodes[row]);
+        int last = --size;
+        if (row != last) {
+            ids[row] = ids[last];
+            ages[row] = ages[last];
+            createdMicros[row] = createdMicros[last];
+            nameCodes[row] = nameCodes[last];
+            rowById.put(ids[row], row);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, grown);
+            ages = Arrays.copyOf(ages, grown);
+            createdMicros = Arrays.copyOf(createdMicros, grown);
+            nameCodes = Arrays.copyOf(nameCodes, grown);
+        }
+    }
+
+    private static long micros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), time);
+    }
+
+    // Rounded up, so "createdAt >= since" holds for whole-microsecond timestamps exactly when it
+    // holds for the original value
+    private static long ceilMicros(LocalDateTime time) {
+        return micros(time) + (time.getNano() % 1000 == 0 ? 0 : 1);
+    }
+
+    @FunctionalInterface
+    private interface ChunkScan<T> {
+
+        T scan(int from, int to);
+    }
+
+    private static final class AgeCounters {
+
+        final long[] count;
+        final long[] sinceDay;
+        final long[] sinceWeek;
+        final long[] sinceMonth;
+
+        AgeCounters(int ageSlots) {
+            count = new long[ageSlots];
+            sinceDay = new long[ageSlots];
+            sinceWeek = new long[ageSlots];
+            sinceMonth = new long[ageSlots];
+        }
+
+        AgeCounters add(AgeCounters other) {
+            for (int age = 0; age < count.length; age++) {
+                count[age] += other.count[age];
+                sinceDay[age] += other.sinceDay[age];
+                sinceWeek[age] += other.sinceWeek[age];
+                sinceMonth[age] += other.sinceMonth[age];
+            }
+            return this;
+        }
+
+        List<AgeBucketAggregate> toBuckets() {
+            List<AgeBucketAggregate> buckets = new ArrayList<>();
+            for (int from = 0; from < count.length; from += AgeBucketAggregate.BUCKET_WIDTH) {
+                int to = Math.min(from + AgeBucketAggregate.BUCKET_WIDTH, count.length);
+                long students = 0;
+                long ageSum = 0;
+                long day = 0;
+                long week = 0;
+                long month = 0;
+                int min = -1;
+                int max = -1;
+                for (int age = from; age < to; age++) {
+                    if (count[age] > 0) {
+                        min = min < 0 ? age : min;
+                        max = age;
+                    }
+                    students += count[age];
+                    ageSum += age * count[age];
+                    day += sinceDay[age];
+                    week += sinceWeek[age];
+                    month += sinceMonth[age];
+                }
+                if (students > 0) {
+                    buckets.add(new AgeBucketAggregate(from / AgeBucketAggregate.BUCKET_WIDTH, students, min, max,
+                            ageSum, day, week, month));
+                }
+            }
+            return buckets;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.student.assets;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves the UI's static assets as the build leaves them: scripts under {@code /js/**} carry a
+ * content hash in their name and are cached for a year as {@code immutable}, {@code index.html}
+ * is {@code no-cache} and revalidated with an ETag. Both are served from the precompressed
+ * {@code .br} or {@code .gz} file next to them when the client accepts it. On by default;
+ * disable with {@code student.static-assets.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(StaticAssetsProperties.class)
+@ConditionalOnProperty(prefix = "student.static-assets", name = "enabled", matchIfMissing = true)
+public class StaticAssetsConfig implements WebMvcConfigurer {
+
+    private final StaticAssetsProperties properties;
+
+    // Assets only change with the build, so each file is hashed once
+    private final Map<String, String> etags = new ConcurrentHashMap<>();
+
+    public StaticAssetsConfig(StaticAssetsProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/js/**")
+                .addResourceLocations("classpath:/static/js/")
+                .setCacheControl(CacheControl.maxAge(properties.getImmutableMaxAge()).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        registry.addResourceHandler("/index.html")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .setEtagGenerator(this::etag)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+
+    // Hashes the bytes as sent, so the gzip and brotli variants each get their own ETag
+    private String etag(Resource resource) {
+        try {
+            return etags.computeIfAbsent(resource.getURL().toString(), url -> {
+                try (InputStream content = resource.getInputStream()) {
+                    return DigestUtils.md5DigestAsHex(content);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            // Without an ETag the response still revalidates by Last-Modified
+            return null;
+        }
+    }
+}
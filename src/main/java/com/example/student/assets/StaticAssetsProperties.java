@@ -0,0 +1,18 @@
+package com.example.student.assets;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.static-assets")
+public class StaticAssetsProperties {
+
+    private boolean enabled = true;
+
+    // Cache lifetime of the fingerprinted assets; a new build changes their names instead
+    private Duration immutableMaxAge = Duration.ofDays(365);
+}
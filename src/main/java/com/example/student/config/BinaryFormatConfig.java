@@ -0,0 +1,49 @@
+package com.example.student.config;
+
+import com.example.student.controller.StudentStreamHttpMessageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Serves {@code application/cbor} and {@code application/x-jackson-smile} alongside JSON. The
+ * binary mappers come from the same Boot-configured builder as the JSON one, so dates and other
+ * settings match. They are appended after JSON so clients that accept any type keep getting JSON.
+ * Each Jackson converter also gets a {@link StudentStreamHttpMessageConverter} twin, in the same
+ * order, so streamed results support the same formats.
+ */
+@Configuration
+public class BinaryFormatConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    public BinaryFormatConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.builders = builders;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Replace the defaults Spring adds when the dataformats are on the classpath
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(builders.getObject().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(builders.getObject().factory(new SmileFactory()).build()));
+
+        // Ahead of the Jackson converters, which would otherwise try to serialize the stream itself
+        List<HttpMessageConverter<?>> streaming = converters.stream()
+                .filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+                .map(AbstractJackson2HttpMessageConverter.class::cast)
+                .<HttpMessageConverter<?>>map(StudentStreamHttpMessageConverter::new)
+                .toList();
+        converters.addAll(0, streaming);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.student.config;
+
+import org.ehcache.config.Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Gives every application context its own JCache manager for the Hibernate second-level cache.
+ * The {@code hibernate.javax.cache.uri} lookup (still used by test slices that skip this class)
+ * shares one manager per JVM, and the first context to shut down would close it for everyone else.
+ */
+@org.springframework.context.annotation.Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class SecondLevelCacheConfig {
+
+    private static final String CONFIG_LOCATION = "/ehcache.xml";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        Configuration configuration = new XmlConfiguration(
+                SecondLevelCacheConfig.class.getResource(CONFIG_LOCATION), SecondLevelCacheConfig.class.getClassLoader());
+        return provider.getCacheManager(URI.create("urn:student-l2:" + UUID.randomUUID()), configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -1,14 +1,24 @@
 package com.example.student.controller;
 
+import com.example.student.exception.InvalidBatchException;
+import com.example.student.ingest.StudentIngestBuffer;
 import com.example.student.model.Student;
+import com.example.student.model.StudentChanges;
+import com.example.student.model.StudentStatistics;
+import com.example.student.outbox.StudentChangeFeed;
+import com.example.student.repository.StudentUpsert;
 import com.example.student.service.StudentService;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/students")
@@ -16,18 +26,62 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class StudentController {
 
+    // Existence probes answer with shared, header-only responses
+    private static final ResponseEntity<Void> EXISTS = ResponseEntity.ok().build();
+    private static final ResponseEntity<Void> MISSING = ResponseEntity.notFound().build();
+
+    // GET misses share one error body, without a timestamp or the id; it is never modified
+    private static final ResponseEntity<ErrorResponse> STUDENT_MISSING = ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(ErrorResponse.builder()
+                    .status(HttpStatus.NOT_FOUND.value())
+                    .error("Not Found")
+                    .message("Student not found")
+                    .build());
+
+    private static final String RESPOND_ASYNC = "respond-async";
+
     private final StudentService studentService;
+    private final ObjectProvider<StudentIngestBuffer> ingestBuffer;
+    private final StudentChangeFeed changeFeed;
+    private final Validator validator;
 
+    /**
+     * With write-behind enabled, {@code Prefer: respond-async} returns 202 as soon as the create is
+     * queued; otherwise the response waits until the create has been committed.
+     */
     @PostMapping
-    public ResponseEntity<Student> createStudent(@Valid @RequestBody Student student) {
-        Student createdStudent = studentService.createStudent(student);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdStudent);
+    public ResponseEntity<Student> createStudent(@Valid @RequestBody Student student,
+            @RequestHeader(value = "Prefer", required = false) String prefer) {
+        StudentIngestBuffer buffer = ingestBuffer.getIfAvailable();
+        if (buffer == null) {
+            Student createdStudent = studentService.createStudent(student);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdStudent);
+        }
+        if (prefer != null && prefer.contains(RESPOND_ASYNC)) {
+            buffer.submit(student);
+            return ResponseEntity.accepted().header("Preference-Applied", RESPOND_ASYNC).body(student);
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(buffer.createDurably(student));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Student> getStudentById(@PathVariable Long id) {
-        Student student = studentService.getStudentById(id);
-        return ResponseEntity.ok(student);
+    public ResponseEntity<?> getStudentById(@PathVariable Long id) {
+        return studentService.findStudentById(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(STUDENT_MISSING);
+    }
+
+    @RequestMapping(value = "/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> studentExists(@PathVariable Long id) {
+        return studentService.studentExists(id) ? EXISTS : MISSING;
+    }
+
+    /**
+     * {@code GET /api/students?ids=1,2,3}: the students that exist, in the order requested.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<Student>> getStudentsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(studentService.getStudentsByIds(ids));
     }
 
     @GetMapping
@@ -36,6 +90,16 @@ public class StudentController {
         return ResponseEntity.ok(students);
     }
 
+    /**
+     * Students created, updated or deleted since {@code since}. Call without {@code since} before
+     * loading all students to get a starting token.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<StudentChanges> getChanges(@RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(changeFeed.changesSince(since, limit));
+    }
+
     @GetMapping("/email/{email}")
     public ResponseEntity<Student> getStudentByEmail(@PathVariable String email) {
         return studentService.getStudentByEmail(email)
@@ -50,30 +114,47 @@ public class StudentController {
         return ResponseEntity.ok(updatedStudent);
     }
 
+    /**
+     * Creates or updates each student by email and reports per student whether it was created,
+     * updated or already up to date. Every student is validated before any is written.
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<List<StudentUpsert>> upsertStudents(@RequestBody List<Student> students) {
+        validateEach(students);
+        return ResponseEntity.ok(studentService.upsertStudents(students));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteStudent(@PathVariable Long id) {
         studentService.deleteStudent(id);
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Filter results are streamed from a database cursor while the response is written, see
+     * {@link StudentStream}.
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<Student>> searchStudentsByName(@RequestParam String name) {
-        List<Student> students = studentService.searchStudentsByName(name);
-        return ResponseEntity.ok(students);
+    public ResponseEntity<StudentStream> searchStudentsByName(@RequestParam String name) {
+        return ResponseEntity.ok(action -> studentService.forEachStudentByName(name, action));
     }
 
     @GetMapping("/age-range")
-    public ResponseEntity<List<Student>> getStudentsByAgeRange(
+    public ResponseEntity<StudentStream> getStudentsByAgeRange(
             @RequestParam Integer minAge,
             @RequestParam Integer maxAge) {
-        List<Student> students = studentService.getStudentsByAgeRange(minAge, maxAge);
-        return ResponseEntity.ok(students);
+        return ResponseEntity.ok(action -> studentService.forEachStudentByAgeRange(minAge, maxAge, action));
     }
 
     @GetMapping("/older-than")
-    public ResponseEntity<List<Student>> getStudentsOlderThan(@RequestParam Integer minAge) {
-        List<Student> students = studentService.getStudentsOlderThan(minAge);
-        return ResponseEntity.ok(students);
+    public ResponseEntity<StudentStream> getStudentsOlderThan(@RequestParam Integer minAge) {
+        return ResponseEntity.ok(action -> studentService.forEachStudentOlderThan(minAge, action));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<StudentStatistics> getStatistics() {
+        StudentStatistics statistics = studentService.getStatistics();
+        return ResponseEntity.ok(statistics);
     }
 
     @GetMapping("/count/age-range")
@@ -83,4 +164,22 @@ public class StudentController {
         Long count = studentService.countStudentsByAgeRange(minAge, maxAge);
         return ResponseEntity.ok(count);
     }
+
+    @GetMapping("/count/search")
+    public ResponseEntity<Long> countStudentsByName(@RequestParam String name) {
+        return ResponseEntity.ok(studentService.countStudentsByName(name));
+    }
+
+    // @Valid does not cascade into a List body here, so each element is validated by hand
+    private void validateEach(List<Student> students) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (int i = 0; i < students.size(); i++) {
+            String prefix = "[" + i + "].";
+            validator.validate(students.get(i))
+                    .forEach(violation -> errors.put(prefix + violation.getPropertyPath(), violation.getMessage()));
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidBatchException("Validation failed", errors);
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.student.controller;
+
+import com.example.student.model.Student;
+
+import java.util.function.Consumer;
+
+/**
+ * Response body for results written while they are read. The source is only opened when the
+ * response is rendered, by {@link StudentStreamHttpMessageConverter}, and each student is
+ * serialized before the next one is fetched.
+ */
+@FunctionalInterface
+public interface StudentStream {
+
+    void forEach(Consumer<Student> action);
+}
@@ -0,0 +1,100 @@
+package com.example.student.controller;
+
+import com.example.student.exception.StreamAbortedException;
+import com.example.student.model.Student;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes a {@link StudentStream} as an array, one element at a time, using the mapper and media
+ * types of an existing Jackson converter. This way JSON, CBOR and Smile are negotiated the same
+ * way as for list responses.
+ */
+public class StudentStreamHttpMessageConverter extends AbstractHttpMessageConverter<StudentStream> {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter studentWriter;
+
+    public StudentStreamHttpMessageConverter(AbstractJackson2HttpMessageConverter jacksonConverter) {
+        super(jacksonConverter.getSupportedMediaTypes().toArray(MediaType[]::new));
+        this.objectMapper = jacksonConverter.getObjectMapper();
+        // The servlet stream buffers and flushes on its own
+        this.studentWriter = objectMapper.writerFor(Student.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StudentStream.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected StudentStream readInternal(Class<? extends StudentStream> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("StudentStream is a response-only type", inputMessage);
+    }
+
+    /**
+     * Nothing is flushed explicitly, so the first rows, and any error while opening the cursor or
+     * fetching them, stay in the response buffer. A failure before the buffer fills discards what
+     * was written and is answered with a proper error status. A failure after that aborts the
+     * response, see {@link StreamAbortedException}.
+     */
+    @Override
+    protected void writeInternal(StudentStream students, HttpOutputMessage outputMessage) throws IOException {
+        // Not closed on failure: flushing half an array would commit the response
+        JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(StreamUtils.nonClosing(outputMessage.getBody()));
+        try {
+            generator.writeStartArray();
+            students.forEach(student -> {
+                try {
+                    studentWriter.writeValue(generator, student);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw discardOrAbort(outputMessage, e.getCause());
+        } catch (IOException e) {
+            throw discardOrAbort(outputMessage, e);
+        } catch (RuntimeException e) {
+            throw discardOrAbort(outputMessage, e);
+        }
+        generator.close();
+    }
+
+    private static <E extends Exception> E discardOrAbort(HttpOutputMessage outputMessage, E failure) {
+        if (!(outputMessage instanceof ServletServerHttpResponse servletOutput)) {
+            return failure;
+        }
+        HttpServletResponse response = servletOutput.getServletResponse();
+        if (response.isCommitted()) {
+            throw new StreamAbortedException(failure);
+        }
+        // The error response is negotiated afresh, so it must not inherit this content type
+        response.resetBuffer();
+        response.setContentType(null);
+        return failure;
+    }
+}
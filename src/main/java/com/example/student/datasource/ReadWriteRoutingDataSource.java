@@ -0,0 +1,123 @@
+package com.example.student.datasource;
+
+import com.example.student.datasource.ReplicaRoutingProperties.ReplicaSelection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * It must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the connection is only fetched once the transaction's read-only flag is known.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final List<ReplicaNode> replicas;
+    private final ReplicaSelection selection;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<ReplicaNode> replicas, ReplicaSelection selection,
+            ReadYourWritesTracker readYourWrites, Duration healthCheckInterval) {
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.readYourWrites = readYourWrites;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.getName(), replica));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWrites.recordWrite();
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (readYourWrites.wroteRecently()) {
+            return PRIMARY;
+        }
+        ReplicaNode replica = selectReplica();
+        return replica != null ? replica.getName() : PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        try {
+            return getResolvedDataSources().get(key).getConnection();
+        } catch (SQLException e) {
+            if (PRIMARY.equals(key)) {
+                throw e;
+            }
+            // The failed replica marked itself unhealthy, so this picks another one or the primary
+            log.warn("Connection to {} failed, rerouting: {}", key, e.getMessage());
+            return getConnection();
+        }
+    }
+
+    ReplicaNode selectReplica() {
+        List<ReplicaNode> healthy = replicas.stream().filter(ReplicaNode::isHealthy).toList();
+        if (healthy.isEmpty()) {
+            return null;
+        }
+        if (selection == ReplicaSelection.LEAST_LOADED) {
+            return healthy.stream().min(Comparator.comparingInt(ReplicaNode::getActiveConnections)).get();
+        }
+        return healthy.get(Math.floorMod(nextReplica.getAndIncrement(), healthy.size()));
+    }
+
+    void checkReplicas() {
+        for (ReplicaNode replica : replicas) {
+            boolean wasHealthy = replica.isHealthy();
+            replica.checkHealth(1);
+            if (wasHealthy != replica.isHealthy()) {
+                log.warn("Replica {} is now {}", replica.getName(), replica.isHealthy() ? "healthy" : "unhealthy");
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        healthChecker.shutdownNow();
+    }
+}
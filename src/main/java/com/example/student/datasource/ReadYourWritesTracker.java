@@ -0,0 +1,69 @@
+package com.example.student.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which clients committed a write recently so their following reads can be
+ * pinned to the primary until replicas have had time to catch up.
+ */
+public class ReadYourWritesTracker {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Supplier<String> clientResolver;
+    private final LongSupplier nanoClock;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this(window, ReadYourWritesTracker::currentRequestClient, System::nanoTime);
+    }
+
+    public ReadYourWritesTracker(Duration window, Supplier<String> clientResolver, LongSupplier nanoClock) {
+        this.windowNanos = window.toNanos();
+        this.clientResolver = clientResolver;
+        this.nanoClock = nanoClock;
+    }
+
+    public void recordWrite() {
+        String client = clientResolver.get();
+        if (client == null) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        if (lastWrites.size() >= CLEANUP_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+        }
+        lastWrites.put(client, now);
+    }
+
+    public boolean wroteRecently() {
+        String client = clientResolver.get();
+        if (client == null) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(client);
+        return writtenAt != null && nanoClock.getAsLong() - writtenAt <= windowNanos;
+    }
+
+    private static String currentRequestClient() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        return clientId != null ? clientId : request.getRemoteAddr();
+    }
+}
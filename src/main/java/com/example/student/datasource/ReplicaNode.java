@@ -0,0 +1,69 @@
+package com.example.student.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A replica data source that tracks how many of its connections are in use and whether
+ * its last health check succeeded.
+ */
+public class ReplicaNode extends DelegatingDataSource {
+
+    private final String name;
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private volatile boolean healthy = true;
+
+    public ReplicaNode(String name, DataSource targetDataSource) {
+        super(targetDataSource);
+        this.name = name;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection;
+        try {
+            connection = super.getConnection();
+        } catch (SQLException e) {
+            healthy = false;
+            throw e;
+        }
+        activeConnections.incrementAndGet();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && !connection.isClosed()) {
+                        activeConnections.decrementAndGet();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    public void checkHealth(int timeoutSeconds) {
+        try (Connection connection = obtainTargetDataSource().getConnection()) {
+            healthy = connection.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            healthy = false;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections.get();
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.student.datasource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured data source with primary/replica routing when
+ * {@code student.datasource.routing.enabled=true}. The primary keeps using {@code spring.datasource.*}.
+ */
+@Configuration
+@EnableConfigurationProperties({ReplicaRoutingProperties.class, DataSourceProperties.class})
+@ConditionalOnProperty(prefix = "student.datasource.routing", name = "enabled")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaRoutingProperties routingProperties) {
+        return new ReadYourWritesTracker(routingProperties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+            ReplicaRoutingProperties routingProperties, ReadYourWritesTracker readYourWritesTracker) {
+        DataSource primary = dataSourceProperties.initializeDataSourceBuilder().build();
+
+        List<ReplicaNode> replicas = new ArrayList<>();
+        for (int i = 0; i < routingProperties.getReplicas().size(); i++) {
+            ReplicaRoutingProperties.Replica replica = routingProperties.getReplicas().get(i);
+            DataSource replicaDataSource = DataSourceBuilder.create()
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            replicas.add(new ReplicaNode("replica-" + i, replicaDataSource));
+        }
+
+        return new ReadWriteRoutingDataSource(primary, replicas, routingProperties.getSelection(),
+                readYourWritesTracker,
+                routingProperties.getHealthCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.student.deadline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Request deadlines for {@code /api/*}, applied to the JDBC statements each request runs. On by
+ * default; disable with {@code student.deadline.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(DeadlineProperties.class)
+@ConditionalOnProperty(prefix = "student.deadline", name = "enabled", matchIfMissing = true)
+public class DeadlineConfig {
+
+    @Bean
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter(DeadlineProperties properties,
+            ObjectMapper objectMapper) {
+        FilterRegistrationBean<DeadlineFilter> registration =
+                new FilterRegistrationBean<>(new DeadlineFilter(properties, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        // Ahead of load shedding and idempotency, so the deadline also covers a duplicate that
+        // waits for its original
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    // Wraps the data source the application uses; with replica routing that is the routing proxy
+    @Bean
+    static BeanPostProcessor deadlineDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                        ? new DeadlineDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.student.deadline;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the {@link RequestDeadline} of the calling thread to every JDBC statement it executes.
+ * A statement is refused once the deadline has passed and cancelled with
+ * {@link Statement#cancel()} if it is still running when the deadline passes. Both surface as
+ * {@link SQLTimeoutException}, which Hibernate and Spring translate into a query timeout.
+ *
+ * <p>{@link Statement#setQueryTimeout} is not used because it only takes whole seconds. Threads
+ * without a deadline run their statements unchanged.
+ */
+public class DeadlineDataSource extends DelegatingDataSource {
+
+    private static final ScheduledThreadPoolExecutor CANCELLER = canceller();
+
+    public DeadlineDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Statement statement
+                    ? proxy(method.getReturnType().asSubclass(Statement.class), statement,
+                            (stmt, stmtMethod, stmtArgs) -> execute(statement, stmtMethod, stmtArgs))
+                    : result;
+        });
+    }
+
+    private static Object execute(Statement statement, Method method, Object[] args) throws Throwable {
+        if (!method.getName().startsWith("execute") || !RequestDeadline.isBound()) {
+            return invoke(statement, method, args);
+        }
+        long remaining = RequestDeadline.remainingNanos();
+        if (remaining <= 0) {
+            throw new SQLTimeoutException("Request deadline passed before the statement started");
+        }
+        Execution execution = new Execution(statement);
+        ScheduledFuture<?> cancel = CANCELLER.schedule(execution::cancel, remaining, TimeUnit.NANOSECONDS);
+        try {
+            return invoke(statement, method, args);
+        } catch (SQLException e) {
+            if (execution.finish()) {
+                throw new SQLTimeoutException("Statement cancelled at the request deadline", e.getSQLState(),
+                        e.getErrorCode(), e);
+            }
+            throw e;
+        } finally {
+            execution.finish();
+            cancel.cancel(false);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, TargetInvocationHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+        return (T) Proxy.newProxyInstance(DeadlineDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, invocationHandler);
+    }
+
+    private static ScheduledThreadPoolExecutor canceller() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "deadline-canceller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Nearly every scheduled cancel is withdrawn because its statement finished in time
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * One statement execution. The lock keeps a cancel from reaching a statement after its
+     * execution has returned, where some drivers would apply it to the next statement instead.
+     */
+    private static final class Execution {
+
+        private final Statement statement;
+        private boolean finished;
+        private boolean cancelled;
+
+        Execution(Statement statement) {
+            this.statement = statement;
+        }
+
+        synchronized void cancel() {
+            if (finished) {
+                return;
+            }
+            cancelled = true;
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                // The statement may have completed or been closed meanwhile
+            }
+        }
+
+        /**
+         * Marks the execution as returned; true if it was cancelled before that.
+         */
+        synchronized boolean finish() {
+            finished = true;
+            return cancelled;
+        }
+    }
+
+    @FunctionalInterface
+    private interface TargetInvocationHandler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
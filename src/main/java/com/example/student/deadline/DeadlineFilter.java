@@ -0,0 +1,106 @@
+package com.example.student.deadline;
+
+import com.example.student.controller.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binds a {@link RequestDeadline} for each API request. Clients set their own budget with
+ * {@code X-Request-Timeout}, in milliseconds or as a duration such as {@code 2s}, capped at
+ * {@code max-timeout}. Without the header the first matching per-endpoint default applies, then
+ * {@code default-timeout}. The clock starts here, so time spent queueing in later filters counts.
+ */
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Timeout";
+
+    private final ObjectMapper objectMapper;
+    private final long defaultTimeoutNanos;
+    private final long maxTimeoutNanos;
+    private final List<EndpointTimeout> endpoints = new ArrayList<>();
+
+    public DeadlineFilter(DeadlineProperties properties, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.defaultTimeoutNanos = properties.getDefaultTimeout().toNanos();
+        this.maxTimeoutNanos = properties.getMaxTimeout().toNanos();
+        properties.getEndpoints().forEach((pattern, timeout) -> endpoints.add(
+                new EndpointTimeout(PathPatternParser.defaultInstance.parse(pattern), timeout.toNanos())));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        long timeoutNanos;
+        String header = request.getHeader(HEADER);
+        if (header != null) {
+            Duration requested = parse(header);
+            if (requested == null || requested.isNegative() || requested.isZero()) {
+                reject(response, HEADER + " must be a positive number of milliseconds or a duration such as 2s");
+                return;
+            }
+            timeoutNanos = Math.min(requested.toNanos(), maxTimeoutNanos);
+        } else {
+            timeoutNanos = defaultTimeout(request);
+        }
+
+        RequestDeadline.bind(timeoutNanos);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    private long defaultTimeout(HttpServletRequest request) {
+        if (endpoints.isEmpty()) {
+            return defaultTimeoutNanos;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (EndpointTimeout endpoint : endpoints) {
+            if (endpoint.pattern().matches(path)) {
+                return endpoint.timeoutNanos();
+            }
+        }
+        return defaultTimeoutNanos;
+    }
+
+    private static Duration parse(String value) {
+        try {
+            return DurationStyle.detectAndParse(value.trim(), ChronoUnit.MILLIS);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, String message) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message(message)
+                .build();
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private record EndpointTimeout(PathPattern pattern, long timeoutNanos) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.student.deadline;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+
+    // Deadline of requests without an X-Request-Timeout header
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    // Longest timeout a client may ask for
+    private Duration maxTimeout = Duration.ofSeconds(30);
+
+    // Defaults per path pattern, e.g. endpoints[/api/students/search]=2s; the first match wins
+    private Map<String, Duration> endpoints = new LinkedHashMap<>();
+}
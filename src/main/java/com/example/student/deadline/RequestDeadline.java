@@ -0,0 +1,40 @@
+package com.example.student.deadline;
+
+/**
+ * Deadline of the request running on the current thread. {@link DeadlineFilter} binds one per
+ * request; {@link DeadlineDataSource} cancels statements that are still running when it passes.
+ * Threads without a request, such as the outbox relay or the write-behind flusher, have no
+ * deadline.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    static void bind(long timeoutNanos) {
+        DEADLINE_NANOS.set(System.nanoTime() + timeoutNanos);
+    }
+
+    static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    public static boolean isBound() {
+        return DEADLINE_NANOS.get() != null;
+    }
+
+    /**
+     * Nanoseconds left until the deadline, zero or negative once it has passed, or
+     * {@link Long#MAX_VALUE} when the current thread has no deadline.
+     */
+    public static long remainingNanos() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline == null ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    public static boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+}
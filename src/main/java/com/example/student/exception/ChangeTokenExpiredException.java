@@ -0,0 +1,8 @@
+package com.example.student.exception;
+
+public class ChangeTokenExpiredException extends RuntimeException {
+
+    public ChangeTokenExpiredException() {
+        super("Changes since this token have been compacted; reload all students and start from a new token");
+    }
+}
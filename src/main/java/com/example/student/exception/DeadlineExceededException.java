@@ -0,0 +1,11 @@
+package com.example.student.exception;
+
+/**
+ * Thrown when a request runs out of time. Expected under load, so it skips the stack trace.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message, null, false, false);
+    }
+}
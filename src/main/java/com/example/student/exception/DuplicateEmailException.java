@@ -1,8 +1,20 @@
 package com.example.student.exception;
 
+/**
+ * Thrown for expected conflicts, so it skips the stack trace and only builds its message when
+ * asked for it.
+ */
 public class DuplicateEmailException extends RuntimeException {
 
+    private final String email;
+
     public DuplicateEmailException(String email) {
-        super("Email already exists: " + email);
+        super(null, null, false, false);
+        this.email = email;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Email already exists: " + email;
     }
 }
@@ -0,0 +1,8 @@
+package com.example.student.exception;
+
+public class IngestQueueFullException extends RuntimeException {
+
+    public IngestQueueFullException(int capacity) {
+        super("Write queue is full (" + capacity + " pending creates), retry later");
+    }
+}
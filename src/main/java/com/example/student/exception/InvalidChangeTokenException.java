@@ -0,0 +1,8 @@
+package com.example.student.exception;
+
+public class InvalidChangeTokenException extends RuntimeException {
+
+    public InvalidChangeTokenException(String token) {
+        super("Invalid change token: " + token);
+    }
+}
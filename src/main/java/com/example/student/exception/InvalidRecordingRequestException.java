@@ -0,0 +1,8 @@
+package com.example.student.exception;
+
+public class InvalidRecordingRequestException extends RuntimeException {
+
+    public InvalidRecordingRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.student.exception;
+
+/**
+ * Thrown when the on-demand flight recording is not in a state that allows the request, e.g.
+ * starting one while another is running.
+ */
+public class RecordingStateException extends RuntimeException {
+
+    public RecordingStateException(String message) {
+        super(message);
+    }
+}
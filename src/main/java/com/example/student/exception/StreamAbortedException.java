@@ -0,0 +1,13 @@
+package com.example.student.exception;
+
+/**
+ * Thrown when a streamed response fails after part of it has been sent. No error response can
+ * follow a committed status, so this is left to the servlet container, which closes the
+ * connection and the client sees a broken response instead of a short one.
+ */
+public class StreamAbortedException extends RuntimeException {
+
+    public StreamAbortedException(Throwable cause) {
+        super("Streamed response failed after it was committed", cause);
+    }
+}
@@ -1,12 +1,25 @@
 package com.example.student.exception;
 
+/**
+ * Thrown for expected misses, so it skips the stack trace and only builds its message when
+ * asked for it.
+ */
 public class StudentNotFoundException extends RuntimeException {
+
+    private final Long id;
     
     public StudentNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.id = null;
     }
     
     public StudentNotFoundException(Long id) {
-        super("Student not found with id: " + id);
+        super(null, null, false, false);
+        this.id = id;
+    }
+
+    @Override
+    public String getMessage() {
+        return id != null ? "Student not found with id: " + id : super.getMessage();
     }
 }
@@ -0,0 +1,87 @@
+package com.example.student.hotkeys;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch over string keys: {@code depth} rows of {@code width} counters, one counter
+ * per row for each key. An estimate is the smallest of a key's counters, so it never undercounts
+ * and overcounts by at most {@code e / width} of all additions with probability
+ * {@code 1 - e^-depth}. Memory stays at {@code depth * width} longs however many keys are seen.
+ *
+ * <p>Counters are updated without locking. Concurrent additions of the same key may each see the
+ * other's increment in their estimate, which is still an upper bound.
+ */
+class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Width and depth must be positive");
+        }
+        this.depth = depth;
+        // A power of two, so a column is a mask instead of a division
+        int columns = Integer.highestOneBit(width - 1) << 1;
+        this.mask = Math.max(columns, 1) - 1;
+        this.counters = new AtomicLongArray(depth * (mask + 1));
+    }
+
+    /**
+     * Adds {@code count} occurrences of {@code key} and returns its new estimate.
+     */
+    long add(String key, long count) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(row, h1, h2), count));
+        }
+        return estimate;
+    }
+
+    long estimate(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter, so keys that stop being requested fade out instead of staying hot on
+     * their past totals.
+     */
+    void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+    }
+
+    void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    // Row i uses h1 + i * h2 (Kirsch and Mitzenmacher), as good as independent hashes here
+    private int index(int row, int h1, int h2) {
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+
+    // FNV-1a over the UTF-16 chars, then the SplitMix64 finalizer to spread the low bits
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.student.hotkeys;
+
+/**
+ * A key and its estimated number of requests, decayed over time, see {@link HotKeyTracker}.
+ */
+public record HotKey(String key, long count) {
+}
@@ -0,0 +1,100 @@
+package com.example.student.hotkeys;
+
+import com.example.student.model.Student;
+import com.example.student.service.StudentService;
+import jakarta.persistence.Cache;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the hottest students into the second-level cache through {@link StudentService}: the
+ * top ids with multi-gets and the top emails one by one, which also fills the email lookup cache.
+ * Search terms are only reported, since search results are not cached.
+ *
+ * <p>{@link #warmIfInvalidated()} checks how many of the hot ids are still cached. After an
+ * invalidation storm, such as a bulk upsert or an expiry wave, it warms the cache again before
+ * the hot keys' next requests all miss at once. Ids found missing from the database by the last
+ * warm do not count as dropped out.
+ */
+@Slf4j
+public class HotKeyCacheWarmer {
+
+    private final HotKeyTracker tracker;
+    private final StudentService service;
+    private final Cache cache;
+    private final HotKeyProperties properties;
+
+    private final Object lock = new Object();
+    private volatile Set<Long> absentIds = Set.of();
+
+    public HotKeyCacheWarmer(HotKeyTracker tracker, StudentService service, Cache cache, HotKeyProperties properties) {
+        this.tracker = tracker;
+        this.service = service;
+        this.cache = cache;
+        this.properties = properties;
+    }
+
+    /**
+     * Loads the hot ids and emails.
+     *
+     * @return the number of students loaded
+     */
+    public int warm() {
+        synchronized (lock) {
+            long start = System.nanoTime();
+            List<Long> ids = hotIds();
+            Set<Long> absent = new HashSet<>(ids);
+            for (int from = 0; from < ids.size(); from += StudentService.MAX_BATCH_SIZE) {
+                service.getStudentsByIds(ids.subList(from, Math.min(ids.size(), from + StudentService.MAX_BATCH_SIZE)))
+                        .forEach(student -> absent.remove(student.getId()));
+            }
+            int emails = 0;
+            for (HotKey email : tracker.top(HotKeyType.EMAIL, properties.getWarmLimit())) {
+                emails += service.getStudentByEmail(email.key()).isPresent() ? 1 : 0;
+            }
+            absentIds = Set.copyOf(absent);
+            int loaded = ids.size() - absent.size() + emails;
+            log.info("Pre-warmed {} hot students ({} by id, {} by email) in {} ms", loaded, ids.size() - absent.size(),
+                    emails, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return loaded;
+        }
+    }
+
+    /**
+     * Warms the cache again if at least {@code invalidation-threshold} of the hot ids are no longer
+     * in it.
+     *
+     * @return whether it warmed
+     */
+    public boolean warmIfInvalidated() {
+        List<Long> ids = hotIds();
+        ids.removeAll(absentIds);
+        if (ids.isEmpty()) {
+            return false;
+        }
+        long missing = ids.stream().filter(id -> !cache.contains(Student.class, id)).count();
+        if (missing < properties.getInvalidationThreshold() * ids.size()) {
+            return false;
+        }
+        log.info("{} of {} hot students dropped out of the second-level cache", missing, ids.size());
+        warm();
+        return true;
+    }
+
+    private List<Long> hotIds() {
+        List<Long> ids = new ArrayList<>();
+        for (HotKey hot : tracker.top(HotKeyType.ID, properties.getWarmLimit())) {
+            try {
+                ids.add(Long.valueOf(hot.key()));
+            } catch (NumberFormatException e) {
+                // only from a hand-edited snapshot, the interceptor records numeric ids
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.student.hotkeys;
+
+import com.example.student.repository.AbstractStudentRepository;
+import com.example.student.repository.StudentRepository;
+import com.example.student.service.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.nio.file.Path;
+
+/**
+ * Hot-key statistics for the student point reads and searches, served by the {@code hotkeys}
+ * actuator endpoint, and pre-warming of the second-level cache with the hottest
+ * students at startup and after invalidation storms. On by default; disable with
+ * {@code student.hot-keys.enabled=false}.
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(HotKeyProperties.class)
+@ConditionalOnProperty(prefix = "student.hot-keys", name = "enabled", matchIfMissing = true)
+public class HotKeyConfig {
+
+    @Bean
+    public HotKeyTracker hotKeyTracker(HotKeyProperties properties) {
+        return new HotKeyTracker(properties.getSketchWidth(), properties.getSketchDepth(), properties.getTopK());
+    }
+
+    @Bean
+    public HotKeyEndpoint hotKeyEndpoint(HotKeyTracker tracker) {
+        return new HotKeyEndpoint(tracker);
+    }
+
+    @Bean
+    public WebMvcConfigurer hotKeyInterceptor(HotKeyTracker tracker) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new HotKeyInterceptor(tracker)).addPathPatterns("/api/students", "/api/students/**");
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "save")
+    @ConditionalOnExpression("!'${student.hot-keys.snapshot-file:}'.isEmpty()")
+    public HotKeySnapshotStore hotKeySnapshotStore(HotKeyTracker tracker, ObjectMapper objectMapper,
+            HotKeyProperties properties) {
+        return new HotKeySnapshotStore(tracker, objectMapper, Path.of(properties.getSnapshotFile()), properties.getTopK());
+    }
+
+    // The cache only sits in front of the JPA repository, other backends are not pre-warmed
+    @Bean
+    @ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+    public HotKeyCacheWarmer hotKeyCacheWarmer(HotKeyTracker tracker, StudentService service,
+            StudentRepository repository, EntityManagerFactory entityManagerFactory, HotKeyProperties properties) {
+        if (repository instanceof AbstractStudentRepository) {
+            log.info("Hot keys are not pre-warmed, {} has no second-level cache", repository.getClass().getSimpleName());
+            return null;
+        }
+        return new HotKeyCacheWarmer(tracker, service, entityManagerFactory.getCache(), properties);
+    }
+
+    // Before the request-path warm-up, whose readiness report then also covers the hot keys
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    public ApplicationRunner hotKeyPreWarmRunner(ObjectProvider<HotKeySnapshotStore> store,
+            ObjectProvider<HotKeyCacheWarmer> warmer) {
+        return args -> {
+            HotKeySnapshotStore snapshots = store.getIfAvailable();
+            if (snapshots != null && snapshots.restore()) {
+                warmer.ifAvailable(HotKeyCacheWarmer::warm);
+            }
+        };
+    }
+
+    // First runs one interval after startup, so restored counts are not halved right away
+    @Bean
+    public SchedulingConfigurer hotKeySchedule(HotKeyTracker tracker, ObjectProvider<HotKeySnapshotStore> store,
+            ObjectProvider<HotKeyCacheWarmer> warmer, HotKeyProperties properties) {
+        return registrar -> {
+            registrar.addFixedDelayTask(new FixedDelayTask(() -> {
+                tracker.decay();
+                store.ifAvailable(HotKeySnapshotStore::save);
+            }, properties.getDecayInterval(), properties.getDecayInterval()));
+            if (!properties.getCheckInterval().isZero()) {
+                warmer.ifAvailable(cacheWarmer -> registrar.addFixedDelayTask(new FixedDelayTask(
+                        cacheWarmer::warmIfInvalidated, properties.getCheckInterval(), properties.getCheckInterval())));
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.student.hotkeys;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Operator view of the most requested student ids, emails and search terms, with estimated
+ * request counts that halve every {@code student.hot-keys.decay-interval}. An actuator endpoint,
+ * so it is only reachable once exposed with {@code management.endpoints.web.exposure.include}.
+ * Emails and search terms are personal data and are shown as the start of their SHA-256 hash;
+ * an operator can hash a suspected key to compare.
+ */
+@WebEndpoint(id = "hotkeys")
+public class HotKeyEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int HASH_BYTES = 8;
+
+    private final HotKeyTracker tracker;
+
+    public HotKeyEndpoint(HotKeyTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @ReadOperation
+    public HotKeySnapshot hotKeys(@Nullable Integer limit) {
+        HotKeySnapshot snapshot = tracker.snapshot(Math.max(limit != null ? limit : DEFAULT_LIMIT, 0));
+        return new HotKeySnapshot(snapshot.ids(), hashed(snapshot.emails()), hashed(snapshot.searches()));
+    }
+
+    @DeleteOperation
+    public void clearHotKeys() {
+        tracker.clear();
+    }
+
+    static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return "sha256:" + HexFormat.of().formatHex(digest, 0, HASH_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<HotKey> hashed(List<HotKey> keys) {
+        return keys.stream().map(key -> new HotKey(hash(key.key()), key.count())).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.student.hotkeys;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Feeds the point reads and name searches of {@code /api/students} into the {@link HotKeyTracker}.
+ * Counting happens here rather than in the service, so only client requests count and the
+ * in-process warm-up and cache pre-warming do not make their own keys look hot.
+ */
+@RequiredArgsConstructor
+class HotKeyInterceptor implements HandlerInterceptor {
+
+    private final HotKeyTracker tracker;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return true;
+        }
+        switch (pattern) {
+            case "/api/students/{id}" -> recordPathVariable(request, HotKeyType.ID, "id");
+            case "/api/students/email/{email}" -> recordPathVariable(request, HotKeyType.EMAIL, "email");
+            case "/api/students/search", "/api/students/count/search" -> {
+                String name = request.getParameter("name");
+                if (StringUtils.hasText(name)) {
+                    tracker.record(HotKeyType.SEARCH, name.strip().toLowerCase(Locale.ROOT));
+                }
+            }
+            case "/api/students" -> {
+                String ids = request.getParameter("ids");
+                if (ids != null) {
+                    for (String id : StringUtils.commaDelimitedListToStringArray(ids)) {
+                        recordId(id.strip());
+                    }
+                }
+            }
+            default -> {
+            }
+        }
+        return true;
+    }
+
+    private void recordPathVariable(HttpServletRequest request, HotKeyType type, String name) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String value = variables != null ? variables.get(name) : null;
+        if (value == null) {
+            return;
+        }
+        if (type == HotKeyType.ID) {
+            recordId(value);
+        } else {
+            tracker.record(type, value);
+        }
+    }
+
+    // Malformed ids are rejected by the controller, so they are not counted either
+    private void recordId(String id) {
+        try {
+            tracker.record(HotKeyType.ID, Long.toString(Long.parseLong(id)));
+        } catch (NumberFormatException e) {
+            // not an id
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.student.hotkeys;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.hot-keys")
+public class HotKeyProperties {
+
+    private boolean enabled = true;
+
+    // Counters per sketch row, rounded up to a power of two; estimates overcount by at most
+    // e / width of all requests of that type
+    private int sketchWidth = 2048;
+
+    // Sketch rows; each halves the chance again that an estimate is further off than that
+    private int sketchDepth = 4;
+
+    // Hottest keys tracked per type
+    private int topK = 100;
+
+    // All counts are halved this often, so the hot set follows current traffic
+    private Duration decayInterval = Duration.ofMinutes(1);
+
+    // Hottest ids and emails loaded into the second-level cache when pre-warming
+    private int warmLimit = 100;
+
+    // How often the cached share of the hot ids is checked; 0 to only pre-warm at startup
+    private Duration checkInterval = Duration.ofSeconds(10);
+
+    // Pre-warm again once at least this share of the hot ids has dropped out of the cache
+    private double invalidationThreshold = 0.5;
+
+    // Hot set saved at every decay and at shutdown, and restored and pre-warmed at startup; empty
+    // to keep it in memory only
+    private String snapshotFile = "";
+}
@@ -0,0 +1,19 @@
+package com.example.student.hotkeys;
+
+import java.util.List;
+
+/**
+ * The hottest keys of each {@link HotKeyType}, hottest first. Served by {@link HotKeyEndpoint}
+ * and written to {@code student.hot-keys.snapshot-file}.
+ */
+public record HotKeySnapshot(List<HotKey> ids, List<HotKey> emails, List<HotKey> searches) {
+
+    public List<HotKey> get(HotKeyType type) {
+        List<HotKey> keys = switch (type) {
+            case ID -> ids;
+            case EMAIL -> emails;
+            case SEARCH -> searches;
+        };
+        return keys != null ? keys : List.of();
+    }
+}
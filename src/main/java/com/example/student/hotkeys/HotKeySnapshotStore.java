@@ -0,0 +1,64 @@
+package com.example.student.hotkeys;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Keeps the hot set in a JSON file across restarts, so startup can pre-warm the keys that were
+ * hot before. Written to a temporary file and moved into place, so a crash mid-write leaves the
+ * previous snapshot. A missing or unreadable file means starting cold.
+ */
+@Slf4j
+public class HotKeySnapshotStore {
+
+    private final HotKeyTracker tracker;
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final int limit;
+
+    public HotKeySnapshotStore(HotKeyTracker tracker, ObjectMapper objectMapper, Path file, int limit) {
+        this.tracker = tracker;
+        this.objectMapper = objectMapper;
+        this.file = file;
+        this.limit = limit;
+    }
+
+    /**
+     * Adds the saved counts to the tracker.
+     *
+     * @return whether a snapshot was found
+     */
+    public boolean restore() {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try {
+            tracker.restore(objectMapper.readValue(file.toFile(), HotKeySnapshot.class));
+            return true;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable hot key snapshot {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    public void save() {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try {
+                objectMapper.writeValue(temp.toFile(), tracker.snapshot(limit));
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Could not save hot key snapshot {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.student.hotkeys;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming hot-key statistics per {@link HotKeyType}: every request adds one to its key in a
+ * {@link CountMinSketch}, and a {@link TopK} heap keeps the keys with the highest estimates. Memory
+ * is fixed by the sketch size and {@code top-k}, however many distinct keys are requested, and
+ * nothing is logged per request. {@link #decay()} halves all counts, so the hot set follows
+ * current traffic.
+ */
+public class HotKeyTracker {
+
+    private final Map<HotKeyType, CountMinSketch> sketches = new EnumMap<>(HotKeyType.class);
+    private final Map<HotKeyType, TopK> tops = new EnumMap<>(HotKeyType.class);
+
+    public HotKeyTracker(int width, int depth, int topK) {
+        for (HotKeyType type : HotKeyType.values()) {
+            sketches.put(type, new CountMinSketch(width, depth));
+            tops.put(type, new TopK(topK));
+        }
+    }
+
+    public void record(HotKeyType type, String key) {
+        record(type, key, 1);
+    }
+
+    public void record(HotKeyType type, String key, long count) {
+        tops.get(type).offer(key, sketches.get(type).add(key, count));
+    }
+
+    public long estimate(HotKeyType type, String key) {
+        return sketches.get(type).estimate(key);
+    }
+
+    public List<HotKey> top(HotKeyType type, int limit) {
+        return tops.get(type).top(limit);
+    }
+
+    public HotKeySnapshot snapshot(int limit) {
+        return new HotKeySnapshot(top(HotKeyType.ID, limit), top(HotKeyType.EMAIL, limit), top(HotKeyType.SEARCH, limit));
+    }
+
+    /**
+     * Adds the counts of an earlier snapshot, e.g. one written before a restart.
+     */
+    public void restore(HotKeySnapshot snapshot) {
+        for (HotKeyType type : HotKeyType.values()) {
+            snapshot.get(type).forEach(hot -> record(type, hot.key(), hot.count()));
+        }
+    }
+
+    public void decay() {
+        for (HotKeyType type : HotKeyType.values()) {
+            sketches.get(type).halve();
+            tops.get(type).halve();
+        }
+    }
+
+    public void clear() {
+        for (HotKeyType type : HotKeyType.values()) {
+            sketches.get(type).clear();
+            tops.get(type).clear();
+        }
+    }
+}
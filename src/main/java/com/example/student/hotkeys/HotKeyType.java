@@ -0,0 +1,14 @@
+package com.example.student.hotkeys;
+
+/**
+ * What a hot key identifies.
+ */
+public enum HotKeyType {
+
+    // GET/HEAD /api/students/{id} and each id of GET /api/students?ids=
+    ID,
+    // GET /api/students/email/{email}
+    EMAIL,
+    // The name of GET /api/students/search and /count/search, trimmed and lower-cased
+    SEARCH
+}
@@ -0,0 +1,128 @@
+package com.example.student.hotkeys;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code capacity} keys with the highest counts seen so far, kept in a binary min-heap with
+ * an index per key, so updating a tracked key or displacing the coldest one is O(log capacity).
+ * Counts come from a {@link CountMinSketch}; a key that is not tracked only gets in once its
+ * estimate beats the coldest tracked one.
+ */
+class TopK {
+
+    private final String[] keys;
+    private final long[] counts;
+    private final Map<String, Integer> positions;
+    private int size;
+
+    // Lowest tracked count once full, 0 before; read without the lock to skip cold keys cheaply
+    private volatile long floor;
+
+    TopK(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.keys = new String[capacity];
+        this.counts = new long[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Records the latest estimate of {@code key}. Estimates only grow between {@link #halve()}
+     * calls, so a tracked key only ever moves away from the root.
+     */
+    void offer(String key, long count) {
+        if (count <= floor) {
+            return;
+        }
+        synchronized (this) {
+            Integer position = positions.get(key);
+            if (position != null) {
+                counts[position] = Math.max(counts[position], count);
+                siftDown(position);
+            } else if (size < keys.length) {
+                keys[size] = key;
+                counts[size] = count;
+                positions.put(key, size);
+                siftUp(size++);
+            } else if (count > counts[0]) {
+                positions.remove(keys[0]);
+                keys[0] = key;
+                counts[0] = count;
+                positions.put(key, 0);
+                siftDown(0);
+            }
+            floor = size == keys.length ? counts[0] : 0;
+        }
+    }
+
+    /**
+     * The tracked keys, hottest first, at most {@code limit} of them.
+     */
+    synchronized List<HotKey> top(int limit) {
+        List<HotKey> hot = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            hot.add(new HotKey(keys[i], counts[i]));
+        }
+        hot.sort(Comparator.comparingLong(HotKey::count).reversed().thenComparing(HotKey::key));
+        return hot.size() > limit ? List.copyOf(hot.subList(0, limit)) : hot;
+    }
+
+    // Halving every count keeps the heap order
+    synchronized void halve() {
+        for (int i = 0; i < size; i++) {
+            counts[i] >>>= 1;
+        }
+        floor = size == keys.length ? counts[0] : 0;
+    }
+
+    synchronized void clear() {
+        Arrays.fill(keys, null);
+        positions.clear();
+        size = 0;
+        floor = 0;
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (counts[parent] <= counts[position]) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            for (int child = 2 * position + 1; child <= 2 * position + 2 && child < size; child++) {
+                if (counts[child] < counts[smallest]) {
+                    smallest = child;
+                }
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        String key = keys[a];
+        long count = counts[a];
+        keys[a] = keys[b];
+        counts[a] = counts[b];
+        keys[b] = key;
+        counts[b] = count;
+        positions.put(keys[a], a);
+        positions.put(keys[b], b);
+    }
+}
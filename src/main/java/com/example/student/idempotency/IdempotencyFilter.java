@@ -0,0 +1,250 @@
+package com.example.student.idempotency;
+
+import com.example.student.controller.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * {@code Idempotency-Key} support for POST and PUT. The first request with a key runs normally
+ * and its response is stored; later requests with the same key, method and path get the stored
+ * response back without running again, marked with {@code Idempotent-Replayed: true}. Duplicates
+ * that arrive while the first is still running wait for its response.
+ *
+ * <p>Reusing a key with a different body is rejected with 422. Responses with a 5xx status are not
+ * stored, so a retry after a server error runs again. Neither are responses larger than
+ * {@code max-size}. A new key is refused with 503 while {@code max-entries} requests are in flight.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+    private final long waitTimeoutNanos;
+
+    public IdempotencyFilter(IdempotencyProperties properties, ObjectMapper objectMapper) {
+        this(properties, objectMapper, System::nanoTime);
+    }
+
+    IdempotencyFilter(IdempotencyProperties properties, ObjectMapper objectMapper, LongSupplier nanoClock) {
+        this.store = new IdempotencyStore(properties.getTtl().toNanos(), properties.getMaxEntries(),
+                properties.getMaxSize().toBytes());
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+        this.waitTimeoutNanos = properties.getWaitTimeout().toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return request.getHeader(HEADER) == null || !("POST".equals(method) || "PUT".equals(method));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        byte[] fingerprint = sha256(body);
+        String storeKey = request.getMethod() + ' ' + request.getRequestURI() + ' ' + key;
+
+        while (true) {
+            IdempotencyStore.Claim claim = store.claim(storeKey, fingerprint, nanoClock.getAsLong());
+            if (claim == null) {
+                reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Too many requests with an " + HEADER + " are in progress");
+                return;
+            }
+            if (!MessageDigest.isEqual(claim.entry().fingerprint, fingerprint)) {
+                reject(response, HttpStatus.UNPROCESSABLE_ENTITY, HEADER + " was already used with a different request body");
+                return;
+            }
+            if (claim.owner()) {
+                runAndStore(new CachedBodyRequest(request, body), response, filterChain, storeKey, claim.entry());
+                return;
+            }
+            StoredResponse stored;
+            try {
+                stored = claim.entry().result.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                reject(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for the original request", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+            if (stored != null) {
+                replay(stored, response);
+                return;
+            }
+            // The original was not stored, claim the key again and run this one
+        }
+    }
+
+    int storedKeys() {
+        return store.size();
+    }
+
+    private void runAndStore(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+            String storeKey, IdempotencyStore.Entry entry) throws ServletException, IOException {
+        // Headers set by filters outside this one are set again on a replay
+        Set<String> outerHeaders = new HashSet<>(response.getHeaderNames());
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() < 500) {
+                stored = capture(wrapper, outerHeaders);
+            }
+        } finally {
+            store.complete(storeKey, entry, stored, nanoClock.getAsLong());
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static StoredResponse capture(ContentCachingResponseWrapper response, Set<String> outerHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : response.getHeaderNames()) {
+            if (!outerHeaders.contains(name) && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)
+                    && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                headers.put(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        return new StoredResponse(response.getStatus(), HttpHeaders.readOnlyHttpHeaders(headers),
+                response.getContentType(), response.getContentAsByteArray());
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .build();
+        response.setStatus(status.value());
+        if (status == HttpStatus.CONFLICT || status == HttpStatus.SERVICE_UNAVAILABLE) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static byte[] sha256(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The request with its body read up front, so it can be fingerprinted before it runs.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Body has already been read");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
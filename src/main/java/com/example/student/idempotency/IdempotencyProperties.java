@@ -0,0 +1,26 @@
+package com.example.student.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    // Completed responses are replayed for this long
+    private Duration ttl = Duration.ofHours(1);
+
+    // Oldest stored responses are dropped first once either bound is reached, in-flight keys never are
+    private int maxEntries = 10_000;
+    private DataSize maxSize = DataSize.ofMegabytes(16);
+
+    // A duplicate waits this long for the original to finish before getting 409
+    private Duration waitTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,113 @@
+package com.example.student.idempotency;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Responses by idempotency key, bounded by entry count and total body size. A request claims its
+ * key before it runs, so duplicates arriving meanwhile find the entry and wait on its result.
+ *
+ * <p>Claims still in flight are never evicted, otherwise a duplicate could run alongside the
+ * original. They count towards {@code maxEntries} together with the stored responses, which are
+ * kept in expiry order so expired and excess ones are both dropped from the head. Once in-flight
+ * claims alone reach the bound, new keys are refused until some complete.
+ */
+class IdempotencyStore {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Map<String, Entry> inFlight = new HashMap<>();
+    private final LinkedHashMap<String, Entry> completed = new LinkedHashMap<>();
+    private long storedBytes;
+
+    IdempotencyStore(long ttlNanos, int maxEntries, long maxBytes) {
+        this.ttlNanos = ttlNanos;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The entry for {@code key}, created and owned by the caller if there was none, or
+     * {@code null} if there was none and the store is full of in-flight claims.
+     */
+    synchronized Claim claim(String key, byte[] fingerprint, long now) {
+        evictExpired(now);
+        Entry existing = inFlight.get(key);
+        if (existing == null) {
+            existing = completed.get(key);
+        }
+        if (existing != null) {
+            return new Claim(existing, false);
+        }
+        if (inFlight.size() >= maxEntries) {
+            return null;
+        }
+        Entry entry = new Entry(fingerprint);
+        inFlight.put(key, entry);
+        evictExcess();
+        return new Claim(entry, true);
+    }
+
+    /**
+     * Publishes the owner's result to waiting duplicates. A {@code null} response releases the
+     * key, so the next attempt runs again. A response larger than the whole store is handed to
+     * the waiting duplicates but not kept.
+     */
+    void complete(String key, Entry entry, StoredResponse response, long now) {
+        synchronized (this) {
+            if (inFlight.remove(key, entry) && response != null && response.body().length <= maxBytes) {
+                // The TTL starts when the response is stored
+                entry.expiresAt = now + ttlNanos;
+                entry.bytes = response.body().length;
+                storedBytes += entry.bytes;
+                completed.put(key, entry);
+                evictExcess();
+            }
+        }
+        entry.result.complete(response);
+    }
+
+    synchronized int size() {
+        return inFlight.size() + completed.size();
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = completed.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAt - now > 0) {
+                return;
+            }
+            iterator.remove();
+            storedBytes -= entry.bytes;
+        }
+    }
+
+    private void evictExcess() {
+        Iterator<Entry> iterator = completed.values().iterator();
+        while ((inFlight.size() + completed.size() > maxEntries || storedBytes > maxBytes) && iterator.hasNext()) {
+            storedBytes -= iterator.next().bytes;
+            iterator.remove();
+        }
+    }
+
+    record Claim(Entry entry, boolean owner) {
+    }
+
+    static final class Entry {
+
+        final byte[] fingerprint;
+        // Completed with null when the owner's response was not stored
+        final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        private long expiresAt;
+        private int bytes;
+
+        Entry(byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
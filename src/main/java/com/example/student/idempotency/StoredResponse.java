@@ -0,0 +1,10 @@
+package com.example.student.idempotency;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A completed response kept for replay: status, the headers set while handling the request and
+ * the body.
+ */
+record StoredResponse(int status, HttpHeaders headers, String contentType, byte[] body) {
+}
@@ -0,0 +1,218 @@
+package com.example.student.ingest;
+
+import com.example.student.deadline.RequestDeadline;
+import com.example.student.exception.DeadlineExceededException;
+import com.example.student.exception.DuplicateEmailException;
+import com.example.student.exception.IngestQueueFullException;
+import com.example.student.model.Student;
+import com.example.student.repository.StudentRepository;
+import com.example.student.service.StudentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Write-behind buffer for student creates. Creates are queued and a single writer thread commits
+ * them in groups, one transaction per batch, when the batch is full or the oldest create has
+ * waited {@code flush-interval}.
+ *
+ * <p>Emails are reserved when a create is queued, so two pending creates cannot share an email
+ * and a duplicate of an existing student is rejected before it is queued. The database unique
+ * constraint still backs this up: if a batch fails, its creates are retried one by one so only
+ * the conflicting ones fail.
+ */
+@Slf4j
+public class StudentIngestBuffer implements DisposableBean {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final StudentService studentService;
+    private final StudentRepository studentRepository;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long enqueueTimeoutNanos;
+    private final BlockingQueue<PendingCreate> queue;
+    private final Set<String> reservedEmails = ConcurrentHashMap.newKeySet();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    private record PendingCreate(Student student, CompletableFuture<Student> result) {
+    }
+
+    public StudentIngestBuffer(StudentService studentService, StudentRepository studentRepository,
+            WriteBehindProperties properties) {
+        this.studentService = studentService;
+        this.studentRepository = studentRepository;
+        this.capacity = properties.getQueueCapacity();
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.enqueueTimeoutNanos = properties.getEnqueueTimeout().toNanos();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::writeLoop, "student-ingest");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a create and returns once it is accepted. The returned future completes with the
+     * saved student after its batch commits, or exceptionally if it could not be written.
+     *
+     * @throws DuplicateEmailException if the email exists or is already pending
+     * @throws IngestQueueFullException if the queue stays full for {@code enqueue-timeout}
+     */
+    public CompletableFuture<Student> submit(Student student) {
+        String email = student.getEmail();
+        if (!reservedEmails.add(email)) {
+            throw new DuplicateEmailException(email);
+        }
+        try {
+            if (studentRepository.existsByEmail(email)) {
+                throw new DuplicateEmailException(email);
+            }
+            PendingCreate pending = new PendingCreate(student, new CompletableFuture<>());
+            if (closed || !queue.offer(pending, enqueueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new IngestQueueFullException(capacity);
+            }
+            return pending.result();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reservedEmails.remove(email);
+            throw new IngestQueueFullException(capacity);
+        } catch (RuntimeException e) {
+            reservedEmails.remove(email);
+            throw e;
+        }
+    }
+
+    /**
+     * Queues a create and waits until its batch has committed, or until the request deadline
+     * passes. The create stays queued in that case and may still commit after the caller has
+     * been answered.
+     *
+     * @throws DeadlineExceededException if the request deadline passes first
+     */
+    public Student createDurably(Student student) {
+        CompletableFuture<Student> result = submit(student);
+        try {
+            return RequestDeadline.isBound()
+                    ? result.get(RequestDeadline.remainingNanos(), TimeUnit.NANOSECONDS)
+                    : result.get();
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Request deadline passed while waiting for a write-behind batch");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a write-behind batch", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void writeLoop() {
+        List<PendingCreate> batch = new ArrayList<>(batchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                PendingCreate first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingCreate next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutting down: write what was collected, then drain the rest
+                closed = true;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingCreate> batch) {
+        try {
+            List<Student> saved = studentService.createStudents(
+                    batch.stream().map(pending -> unsaved(pending.student())).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(saved.get(i));
+            }
+        } catch (RuntimeException e) {
+            // One conflicting row rolls back the whole group; retry one by one so only it fails
+            log.debug("Batch of {} creates failed, retrying individually", batch.size(), e);
+            for (PendingCreate pending : batch) {
+                writeOne(pending);
+            }
+        } finally {
+            batch.forEach(pending -> reservedEmails.remove(pending.student().getEmail()));
+        }
+    }
+
+    private void writeOne(PendingCreate pending) {
+        try {
+            pending.result().complete(studentService.createStudent(unsaved(pending.student())));
+        } catch (DataIntegrityViolationException e) {
+            pending.result().completeExceptionally(new DuplicateEmailException(pending.student().getEmail()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * A rolled-back save leaves its generated id and timestamps on the entities, which would make
+     * a retry merge rather than insert them. Every attempt saves a fresh copy instead, so the
+     * caller's student is never touched.
+     */
+    private static Student unsaved(Student student) {
+        return Student.builder()
+                .name(student.getName())
+                .email(student.getEmail())
+                .age(student.getAge())
+                .address(student.getAddress())
+                .build();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        closed = true;
+        writer.join(SHUTDOWN_TIMEOUT.toMillis());
+        if (writer.isAlive()) {
+            log.warn("Write-behind queue not drained within {}, {} creates dropped", SHUTDOWN_TIMEOUT, queue.size());
+            writer.interrupt();
+            List<PendingCreate> dropped = new ArrayList<>();
+            queue.drainTo(dropped);
+            dropped.forEach(pending -> pending.result().completeExceptionally(
+                    new IllegalStateException("Shut down before the create was written")));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.student.ingest;
+
+import com.example.student.repository.StudentRepository;
+import com.example.student.service.StudentService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Routes {@code POST /api/students} through {@link StudentIngestBuffer} when
+ * {@code student.write-behind.enabled=true}.
+ */
+@Configuration
+@EnableConfigurationProperties(WriteBehindProperties.class)
+@ConditionalOnProperty(prefix = "student.write-behind", name = "enabled")
+public class WriteBehindConfig {
+
+    @Bean
+    public StudentIngestBuffer studentIngestBuffer(StudentService studentService, StudentRepository studentRepository,
+            WriteBehindProperties properties) {
+        return new StudentIngestBuffer(studentService, studentRepository, properties);
+    }
+}
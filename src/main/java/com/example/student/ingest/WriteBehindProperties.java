@@ -0,0 +1,25 @@
+package com.example.student.ingest;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.write-behind")
+public class WriteBehindProperties {
+
+    private boolean enabled = false;
+
+    // Creates waiting to be written; when full, new creates are rejected with 503
+    private int queueCapacity = 10_000;
+
+    // How long a create may wait for queue space before it is rejected
+    private Duration enqueueTimeout = Duration.ZERO;
+
+    // A batch is committed when it reaches this size or the oldest create has waited flushInterval
+    private int batchSize = 100;
+    private Duration flushInterval = Duration.ofMillis(10);
+}
@@ -0,0 +1,117 @@
+package com.example.student.jfr;
+
+import com.example.student.model.Student;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Emits a {@link ServiceCallEvent} or {@link RepositoryCallEvent} per call. Without a recording
+ * that enables them this costs one check per call. Argument types and row counts are only worked
+ * out for events that pass the recording's threshold.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class FlightRecorderAspect {
+
+    private static final int MAX_ARGUMENTS_LENGTH = 200;
+
+    @Around("within(com.example.student.service.StudentService)")
+    public Object recordService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(new ServiceCallEvent(), joinPoint);
+    }
+
+    @Around("execution(* com.example.student.repository.StudentRepository+.*(..))")
+    public Object recordRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(new RepositoryCallEvent(), joinPoint);
+    }
+
+    private static Object record(StudentCallEvent event, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        Object result = null;
+        Throwable failure = null;
+        event.begin();
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+                event.method = signature.getName();
+                event.arguments = summarize(joinPoint.getArgs());
+                // Void methods such as forEachStudentByName hand their rows to a callback instead
+                event.rowCount = failure == null && signature.getReturnType() != void.class ? rowCount(result) : -1;
+                event.exception = failure != null ? failure.getClass().getName() : null;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Argument types, with collection sizes, e.g. {@code Long} or {@code ArrayList[3]}. Values are
+     * left out: they are names and emails, which do not belong in a recording.
+     */
+    static String summarize(Object[] args) {
+        StringBuilder summary = new StringBuilder();
+        for (Object arg : args) {
+            if (!summary.isEmpty()) {
+                summary.append(", ");
+            }
+            summary.append(summarize(arg));
+            if (summary.length() > MAX_ARGUMENTS_LENGTH) {
+                summary.setLength(MAX_ARGUMENTS_LENGTH);
+                return summary.append("...").toString();
+            }
+        }
+        return summary.toString();
+    }
+
+    private static String summarize(Object arg) {
+        if (arg == null) {
+            return "null";
+        }
+        if (arg instanceof Collection<?> collection) {
+            return arg.getClass().getSimpleName() + "[" + collection.size() + "]";
+        }
+        if (arg instanceof Map<?, ?> map) {
+            return arg.getClass().getSimpleName() + "[" + map.size() + "]";
+        }
+        return arg.getClass().getSimpleName();
+    }
+
+    static long rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Student) {
+            return 1;
+        }
+        return -1;
+    }
+}
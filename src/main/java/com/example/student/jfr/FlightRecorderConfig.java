@@ -0,0 +1,32 @@
+package com.example.student.jfr;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JDK Flight Recorder events for {@code StudentService} and repository calls, and on-demand
+ * recordings through the {@code recording} actuator endpoint. On by default; disable with
+ * {@code student.flight-recorder.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+@ConditionalOnProperty(prefix = "student.flight-recorder", name = "enabled", matchIfMissing = true)
+public class FlightRecorderConfig {
+
+    @Bean
+    public FlightRecorderAspect flightRecorderAspect() {
+        return new FlightRecorderAspect();
+    }
+
+    @Bean
+    public FlightRecordings flightRecordings(FlightRecorderProperties properties) {
+        return new FlightRecordings(properties);
+    }
+
+    @Bean
+    public FlightRecordingEndpoint flightRecordingEndpoint(FlightRecordings recordings) {
+        return new FlightRecordingEndpoint(recordings);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.student.jfr;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.flight-recorder")
+public class FlightRecorderProperties {
+
+    private boolean enabled = true;
+
+    // Length of a recording started without a duration
+    private Duration defaultDuration = Duration.ofMinutes(1);
+
+    // Longer requested durations are cut to this, so a forgotten recording always ends
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    // Oldest data is dropped once the recording is this large on disk
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+
+    // Service and repository calls faster than this are not recorded
+    private Duration eventThreshold = Duration.ZERO;
+}
@@ -0,0 +1,63 @@
+package com.example.student.jfr;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Starts, stops and downloads an on-demand flight recording, see {@link FlightRecordings}. An
+ * actuator endpoint rather than a controller, so it is only reachable once an operator exposes it
+ * with {@code management.endpoints.web.exposure.include} and, with {@code management.server.port}
+ * set, only on the management port.
+ */
+@WebEndpoint(id = "recording")
+public class FlightRecordingEndpoint {
+
+    private final FlightRecordings recordings;
+
+    public FlightRecordingEndpoint(FlightRecordings recordings) {
+        this.recordings = recordings;
+    }
+
+    @ReadOperation
+    public RecordingInfo recording() {
+        return recordings.current().orElse(null);
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<RecordingInfo> startRecording(@Nullable String duration, @Nullable String settings) {
+        RecordingInfo started = recordings.start(duration, settings != null ? settings : "default");
+        return new WebEndpointResponse<>(started, HttpStatus.CREATED.value());
+    }
+
+    @DeleteOperation
+    public RecordingInfo stopRecording() {
+        return recordings.stop();
+    }
+
+    /**
+     * The recording as a {@code .jfr} file for JDK Mission Control or {@code jfr print}. The dump
+     * is streamed from a temporary file that is deleted once the body has been written.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> downloadRecording(@Selector long id) throws IOException {
+        if (recordings.current().filter(info -> info.id() == id).isEmpty()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = recordings.dump();
+        return new WebEndpointResponse<>(
+                new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE)));
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.student.jfr;
+
+import com.example.student.exception.InvalidRecordingRequestException;
+import com.example.student.exception.RecordingStateException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * One on-demand JDK Flight Recorder recording at a time, started and downloaded over HTTP so
+ * production latency can be diagnosed without attaching an agent or shell access. Recordings
+ * use one of the JDK's settings files, {@code default} (about 1% overhead, meant for production)
+ * unless {@code profile} is asked for, plus the {@link ServiceCallEvent} and
+ * {@link RepositoryCallEvent} events. Every recording stops by itself after its duration.
+ *
+ * <p>A stopped recording is kept, so it can still be downloaded, until the next one starts or the
+ * application shuts down.
+ */
+public class FlightRecordings implements AutoCloseable {
+
+    private static final String NAME = "student-crud";
+
+    private final FlightRecorderProperties properties;
+
+    private Recording recording;
+    private String settings;
+
+    public FlightRecordings(FlightRecorderProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Starts a recording.
+     *
+     * @param duration e.g. {@code 30s} or {@code 60000} (milliseconds); the default duration when
+     *                 {@code null}, at most the maximum duration
+     * @param settings name of a JDK settings file, {@code default} or {@code profile}
+     */
+    public synchronized RecordingInfo start(String duration, String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new RecordingStateException("Recording " + recording.getId() + " is already running");
+        }
+        Duration length = duration(duration);
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new InvalidRecordingRequestException("Unknown recording settings: " + settings);
+        }
+
+        Recording started = new Recording(configuration);
+        started.setName(NAME);
+        started.setToDisk(true);
+        started.setDuration(length);
+        started.setMaxSize(properties.getMaxSize().toBytes());
+        started.enable(ServiceCallEvent.class).withThreshold(properties.getEventThreshold());
+        started.enable(RepositoryCallEvent.class).withThreshold(properties.getEventThreshold());
+        started.start();
+        close();
+        this.recording = started;
+        this.settings = settings;
+        return info();
+    }
+
+    public synchronized RecordingInfo stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new RecordingStateException("No recording is running");
+        }
+        recording.stop();
+        return info();
+    }
+
+    public synchronized Optional<RecordingInfo> current() {
+        return recording == null ? Optional.empty() : Optional.of(info());
+    }
+
+    /**
+     * Writes the data recorded so far to a new temporary file, which the caller deletes. Works
+     * while the recording is still running, too.
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null) {
+            throw new RecordingStateException("No recording to download");
+        }
+        Path file = Files.createTempFile(NAME + "-" + recording.getId() + "-", ".jfr");
+        try {
+            recording.dump(file);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Duration duration(String requested) {
+        if (requested == null) {
+            return properties.getDefaultDuration();
+        }
+        Duration duration;
+        try {
+            duration = DurationStyle.detectAndParse(requested.strip(), ChronoUnit.MILLIS);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordingRequestException("Invalid duration: " + requested);
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new InvalidRecordingRequestException("Duration must be positive: " + requested);
+        }
+        return duration.compareTo(properties.getMaxDuration()) > 0 ? properties.getMaxDuration() : duration;
+    }
+
+    private RecordingInfo info() {
+        return new RecordingInfo(recording.getId(), settings, recording.getState().name(), recording.getStartTime(),
+                recording.getStopTime(), recording.getDuration(), recording.getSize());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.student.jfr;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * State of the on-demand recording, see {@link FlightRecordings}. {@code size} is the bytes
+ * written to disk so far.
+ */
+public record RecordingInfo(long id, String settings, String state, Instant startTime, Instant stopTime,
+        Duration duration, long size) {
+}
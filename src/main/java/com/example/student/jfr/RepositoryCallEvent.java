@@ -0,0 +1,11 @@
+package com.example.student.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.student.RepositoryCall")
+@Label("Student Repository Call")
+@Description("A StudentRepository query or write; for streamed results only opening the cursor")
+public class RepositoryCallEvent extends StudentCallEvent {
+}
@@ -0,0 +1,11 @@
+package com.example.student.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.student.ServiceCall")
+@Label("Student Service Call")
+@Description("A StudentService method, including its transaction commit")
+public class ServiceCallEvent extends StudentCallEvent {
+}
@@ -0,0 +1,32 @@
+package com.example.student.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Fields shared by the service and repository call events. Stack traces are off: the method
+ * field already says where the time went, and walking the stack on every call would not be
+ * low overhead.
+ */
+@Category("Student CRUD")
+@StackTrace(false)
+public abstract class StudentCallEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Arguments")
+    @Description("Argument types, with the size of collections")
+    String arguments;
+
+    @Label("Row Count")
+    @Description("Students or rows returned, -1 for results that are not rows or are streamed")
+    long rowCount;
+
+    @Label("Exception")
+    @Description("Class of the exception thrown, if any")
+    String exception;
+}
@@ -0,0 +1,168 @@
+package com.example.student.limit;
+
+import com.example.student.controller.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Rejects excess API traffic early instead of letting it queue for database connections.
+ * Each client is rate limited by its own token bucket (429) and all clients share an
+ * adaptive concurrency limit (503). Reads may only use part of that limit so writes keep
+ * priority when the service is saturated.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final LoadSheddingProperties properties;
+    private final AimdConcurrencyLimit limit;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, ClientBucket> buckets = new ConcurrentHashMap<>();
+    // Orders clients by when they were last seen, independent of the clock
+    private final AtomicLong sightings = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public LoadSheddingFilter(LoadSheddingProperties properties, ObjectMapper objectMapper) {
+        this(properties, objectMapper, System::nanoTime);
+    }
+
+    LoadSheddingFilter(LoadSheddingProperties properties, ObjectMapper objectMapper, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+        this.limit = new AimdConcurrencyLimit(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getBackoffRatio(),
+                properties.getLatencyThreshold().toNanos());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = bucketFor(request.getRemoteAddr(), now);
+        if (!bucket.tryConsume(now)) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(
+                    bucket.nanosUntilNextToken(now) + TimeUnit.SECONDS.toNanos(1) - 1));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds,
+                    "Request rate limit exceeded");
+            return;
+        }
+
+        double share = isWrite(request) ? 1d : properties.getReadShare();
+        int inFlightAtStart = limit.tryAcquire(share);
+        if (inFlightAtStart < 0) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server is at capacity");
+            return;
+        }
+
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limit.release(inFlightAtStart, nanoClock.getAsLong() - now, failed);
+        }
+    }
+
+    public AimdConcurrencyLimit getLimit() {
+        return limit;
+    }
+
+    /**
+     * At the cap the least recently seen clients are forgotten. They get a full bucket again if
+     * they return, so the cap should stay well above the number of concurrently active clients.
+     */
+    private TokenBucket bucketFor(String client, long now) {
+        ClientBucket tracked = buckets.get(client);
+        if (tracked == null) {
+            tracked = buckets.computeIfAbsent(client, c -> new ClientBucket(
+                    new TokenBucket(properties.getClientRatePerSecond(), properties.getClientBurst(), now)));
+            if (buckets.size() > properties.getMaxTrackedClients()) {
+                evictLeastRecentlySeen();
+            }
+        }
+        tracked.lastSeen = sightings.incrementAndGet();
+        return tracked.bucket;
+    }
+
+    /**
+     * Trims the map a sixteenth below the cap so the sort is paid once per many new clients. A
+     * thread that finds another one already evicting carries on; the overshoot is brief.
+     */
+    private void evictLeastRecentlySeen() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int cap = properties.getMaxTrackedClients();
+            int excess = buckets.size() - (cap - cap / 16);
+            if (excess <= 0) {
+                return;
+            }
+            // Sort a snapshot; sightings keep changing while we sort
+            List<Sighting> sightingsByAge = new ArrayList<>(buckets.size());
+            buckets.forEach((client, tracked) -> sightingsByAge.add(new Sighting(client, tracked, tracked.lastSeen)));
+            sightingsByAge.sort(Comparator.comparingLong(Sighting::lastSeen));
+            for (int i = 0; i < excess && i < sightingsByAge.size(); i++) {
+                Sighting oldest = sightingsByAge.get(i);
+                buckets.remove(oldest.client(), oldest.tracked());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    int trackedClients() {
+        return buckets.size();
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "POST".equals(method) || "PUT".equals(method)
+                || "PATCH".equals(method) || "DELETE".equals(method);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+            String message) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .build();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private record Sighting(String client, ClientBucket tracked, long lastSeen) {
+    }
+
+    private static final class ClientBucket {
+
+        private final TokenBucket bucket;
+        private volatile long lastSeen;
+
+        private ClientBucket(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.student.limit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.load-shedding")
+public class LoadSheddingProperties {
+
+    private boolean enabled = true;
+
+    // Adaptive (AIMD) concurrency limit
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+    private Duration latencyThreshold = Duration.ofMillis(250);
+    private double backoffRatio = 0.9;
+
+    // Reads may only use this share of the limit so writes always keep some headroom
+    private double readShare = 0.8;
+
+    // Per-client token bucket
+    private double clientRatePerSecond = 50;
+    private int clientBurst = 100;
+    private int maxTrackedClients = 10_000;
+}
@@ -0,0 +1,45 @@
+package com.example.student.limit;
+
+/**
+ * Lazily refilled token bucket. Callers synchronize on the bucket itself, so a
+ * per-client instance never needs a background refill thread.
+ */
+public class TokenBucket {
+
+    private final double ratePerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double ratePerSecond, int capacity, long nowNanos) {
+        this.ratePerNano = ratePerSecond / 1_000_000_000d;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    public synchronized boolean tryConsume(long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= 1d) {
+            tokens -= 1d;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Nanoseconds until the next token becomes available, zero if one already is.
+     */
+    public synchronized long nanosUntilNextToken(long nowNanos) {
+        refill(nowNanos);
+        return tokens >= 1d ? 0L : (long) Math.ceil((1d - tokens) / ratePerNano);
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * ratePerNano);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
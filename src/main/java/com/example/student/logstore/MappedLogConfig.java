@@ -0,0 +1,43 @@
+package com.example.student.logstore;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+
+import java.nio.file.Path;
+
+/**
+ * Replaces the JPA repository with {@link MappedLogStudentRepository} when
+ * {@code student.log-store.enabled=true}. The JPA repository keeps existing but is no longer
+ * the one injected into the service.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(MappedLogProperties.class)
+@ConditionalOnProperty(prefix = "student.log-store", name = "enabled")
+public class MappedLogConfig {
+
+    @Bean
+    @Primary
+    public MappedLogStudentRepository mappedLogStudentRepository(MappedLogProperties properties) {
+        long initialSize = properties.getInitialSize().toBytes();
+        if (initialSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("student.log-store.initial-size must be below 2GB");
+        }
+        return new MappedLogStudentRepository(Path.of(properties.getDirectory()), (int) initialSize,
+                properties.isSyncWrites());
+    }
+
+    @Bean
+    public SchedulingConfigurer mappedLogCompaction(MappedLogStudentRepository repository,
+            MappedLogProperties properties) {
+        return registrar -> registrar.addFixedDelayTask(new FixedDelayTask(
+                () -> repository.compactIfNeeded(properties.getCompactionThreshold()),
+                properties.getCompactionInterval(), properties.getCompactionInterval()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.student.logstore;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.log-store")
+public class MappedLogProperties {
+
+    private boolean enabled = false;
+
+    // Holds students.log, created if missing
+    private String directory = "data";
+
+    // The file is mapped at this size and doubles when full
+    private DataSize initialSize = DataSize.ofMegabytes(16);
+
+    // Flush every record to disk instead of leaving it to the OS
+    private boolean syncWrites = false;
+
+    // Compaction runs when at least this share of the log is overwritten or deleted records
+    private Duration compactionInterval = Duration.ofMinutes(10);
+    private double compactionThreshold = 0.5;
+}
@@ -0,0 +1,432 @@
+package com.example.student.logstore;
+
+import com.example.student.model.Student;
+import com.example.student.repository.AbstractStudentRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32;
+
+/**
+ * Stores students in a memory-mapped, append-only log file instead of a database. Every save
+ * appends the full student and every delete a tombstone; an in-memory index maps ids to the
+ * offset of their latest record and emails to ids, so lookups decode one record straight from
+ * the mapping without a query or a copy of the student on the heap.
+ * <p>
+ * Reads take no lock: writers are serialized and publish a record by updating the index after
+ * it is written, and growing or compacting the file swaps in a new {@link Segment} that readers
+ * pick up on their next call. The file is replayed on startup; a record cut short by a crash
+ * fails its checksum and is dropped together with everything after it. {@link #compact()}
+ * rewrites the live records into a new file once overwritten and deleted records pile up.
+ * <p>
+ * Records reach the page cache on every write and survive a crash of the process. They reach the
+ * disk when the OS flushes them, or on every write with {@code syncWrites}. Writes do not take
+ * part in Spring transactions, and a mapping is limited to 2 GB.
+ */
+public class MappedLogStudentRepository extends AbstractStudentRepository implements DisposableBean {
+
+    static final String FILE_NAME = "students.log";
+
+    // "STLG", then the format version and the lowest id that was never handed out
+    private static final int MAGIC = 0x53544c47;
+    private static final int VERSION = 1;
+    private static final int NEXT_ID_OFFSET = 8;
+    static final int HEADER_SIZE = 16;
+
+    // Body length and CRC32 of the body
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private final Path file;
+    private final int initialCapacity;
+    private final boolean syncWrites;
+
+    private final Object writeLock = new Object();
+    private volatile Segment segment;
+
+    // Guarded by writeLock
+    private FileChannel channel;
+    private int end;
+    private long nextId;
+    private long deadBytes;
+
+    /**
+     * The mapping and the index into it. Offsets are only valid for the buffer they were
+     * recorded with, so both are swapped together.
+     */
+    private record Segment(MappedByteBuffer buffer, ConcurrentSkipListMap<Long, Integer> offsets,
+                           ConcurrentHashMap<String, Long> idsByEmail) {
+
+        Student read(Integer offset) {
+            return offset == null ? null : decode(buffer, offset);
+        }
+    }
+
+    public MappedLogStudentRepository(Path directory, int initialCapacity, boolean syncWrites) {
+        this.file = directory.resolve(FILE_NAME);
+        this.initialCapacity = Math.max(initialCapacity, HEADER_SIZE);
+        this.syncWrites = syncWrites;
+        try {
+            Files.createDirectories(directory);
+            synchronized (writeLock) {
+                open();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open student log " + file, e);
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Student log " + file + " exceeds 2 GB");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, initialCapacity));
+        if (size < HEADER_SIZE) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(NEXT_ID_OFFSET, 1);
+        } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException(file + " is not a student log");
+        }
+        Segment replayed = new Segment(buffer, new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>());
+        nextId = buffer.getLong(NEXT_ID_OFFSET);
+        deadBytes = 0;
+        end = replay(replayed);
+        if (end < size) {
+            // Cut off what a torn write left behind, so appended records are not followed by stale
+            // bytes; mapping past the end of the file extends it with zeros again
+            channel.truncate(end);
+            replayed = new Segment(channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(end, initialCapacity)),
+                    replayed.offsets, replayed.idsByEmail);
+        }
+        // Published only once complete: after a compaction, readers keep the old segment until here
+        segment = replayed;
+    }
+
+    private int replay(Segment target) {
+        MappedByteBuffer buffer = target.buffer;
+        int offset = HEADER_SIZE;
+        while (offset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || length > buffer.capacity() - offset - RECORD_HEADER_SIZE
+                    || buffer.getInt(offset + 4) != checksum(buffer, offset + RECORD_HEADER_SIZE, length)) {
+                break;
+            }
+            long id = buffer.getLong(offset + RECORD_HEADER_SIZE + 1);
+            if (buffer.get(offset + RECORD_HEADER_SIZE) == PUT) {
+                index(target, id, decode(buffer, offset).getEmail(), offset);
+            } else {
+                unindex(target, id, offset);
+            }
+            nextId = Math.max(nextId, id + 1);
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    @Override
+    public <S extends Student> S save(S student) {
+        if (student.getName() == null || student.getEmail() == null || student.getAge() == null) {
+            throw new DataIntegrityViolationException("Name, email and age are required");
+        }
+        synchronized (writeLock) {
+            Segment current = segment;
+            Student existing = student.getId() != null ? current.read(current.offsets.get(student.getId())) : null;
+            Long owner = current.idsByEmail.get(student.getEmail());
+            if (owner != null && (existing == null || !owner.equals(existing.getId()))) {
+                throw new DataIntegrityViolationException("Email already exists: " + student.getEmail());
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (existing == null) {
+                student.setId(student.getId() != null ? student.getId() : nextId);
+                student.setCreatedAt(now);
+            } else {
+                student.setCreatedAt(existing.getCreatedAt());
+            }
+            student.setUpdatedAt(now);
+            int offset = append(encode(student));
+            index(segment, student.getId(), student.getEmail(), offset);
+            if (student.getId() >= nextId) {
+                nextId = student.getId() + 1;
+                segment.buffer.putLong(NEXT_ID_OFFSET, nextId);
+            }
+        }
+        return student;
+    }
+
+    @Override
+    public Optional<Student> findById(Long id) {
+        Segment current = segment;
+        return Optional.ofNullable(current.read(current.offsets.get(id)));
+    }
+
+    @Override
+    public Optional<Student> findByEmail(String email) {
+        Segment current = segment;
+        Long id = current.idsByEmail.get(email);
+        return id == null ? Optional.empty() : Optional.ofNullable(current.read(current.offsets.get(id)));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return segment.offsets.containsKey(id);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return segment.idsByEmail.containsKey(email);
+    }
+
+    @Override
+    public long count() {
+        return segment.offsets.size();
+    }
+
+    /**
+     * In id order, like an unsorted scan of the students table.
+     */
+    @Override
+    public List<Student> findAll() {
+        Segment current = segment;
+        List<Student> students = new ArrayList<>(current.offsets.size());
+        current.offsets.values().forEach(offset -> students.add(current.read(offset)));
+        return students;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        synchronized (writeLock) {
+            if (!segment.offsets.containsKey(id)) {
+                return;
+            }
+            ByteBuffer tombstone = ByteBuffer.allocate(1 + Long.BYTES).put(DELETE).putLong(id);
+            int offset = append(tombstone.array());
+            unindex(segment, id, offset);
+        }
+    }
+
+    /**
+     * Rewrites the live records into a new file and swaps it in, so overwritten and deleted
+     * records stop taking up space. Writers wait meanwhile; readers keep using the old mapping.
+     */
+    public void compact() {
+        synchronized (writeLock) {
+            Segment current = segment;
+            Path compacted = file.resolveSibling(FILE_NAME + ".compact");
+            try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                int live = current.offsets.values().stream()
+                        .mapToInt(offset -> RECORD_HEADER_SIZE + current.buffer.getInt(offset)).sum();
+                MappedByteBuffer buffer = target.map(FileChannel.MapMode.READ_WRITE, 0,
+                        Math.max(initialCapacity, HEADER_SIZE + live));
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putLong(NEXT_ID_OFFSET, nextId);
+                int position = HEADER_SIZE;
+                for (int offset : current.offsets.values()) {
+                    int length = RECORD_HEADER_SIZE + current.buffer.getInt(offset);
+                    buffer.put(position, current.buffer, offset, length);
+                    position += length;
+                }
+                buffer.force();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot compact student log " + file, e);
+            }
+            try {
+                Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                channel.close();
+                open();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot reopen student log " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Compacts when at least {@code garbageRatio} of the records are overwritten or deleted.
+     */
+    public boolean compactIfNeeded(double garbageRatio) {
+        synchronized (writeLock) {
+            long used = end - HEADER_SIZE;
+            if (deadBytes == 0 || deadBytes < garbageRatio * used) {
+                return false;
+            }
+            compact();
+            return true;
+        }
+    }
+
+    /**
+     * Bytes of overwritten and deleted records that compaction would reclaim.
+     */
+    public long garbageBytes() {
+        synchronized (writeLock) {
+            return deadBytes;
+        }
+    }
+
+    public long sizeBytes() {
+        synchronized (writeLock) {
+            return end;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        synchronized (writeLock) {
+            try {
+                segment.buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot close student log " + file, e);
+            }
+        }
+    }
+
+    private void index(Segment current, long id, String email, int offset) {
+        Integer previous = current.offsets.put(id, offset);
+        if (previous != null) {
+            String previousEmail = current.read(previous).getEmail();
+            if (!previousEmail.equals(email)) {
+                current.idsByEmail.remove(previousEmail, id);
+            }
+            deadBytes += recordSize(current.buffer, previous);
+        }
+        current.idsByEmail.put(email, id);
+    }
+
+    private void unindex(Segment current, long id, int tombstoneOffset) {
+        Integer previous = current.offsets.remove(id);
+        if (previous != null) {
+            current.idsByEmail.remove(current.read(previous).getEmail(), id);
+            deadBytes += recordSize(current.buffer, previous);
+        }
+        deadBytes += recordSize(current.buffer, tombstoneOffset);
+    }
+
+    /**
+     * Writes the body before its header, so a record is only visible to replay once complete.
+     */
+    private int append(byte[] body) {
+        int offset = end;
+        ensureCapacity((long) offset + RECORD_HEADER_SIZE + body.length);
+        MappedByteBuffer buffer = segment.buffer;
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        buffer.put(offset + RECORD_HEADER_SIZE, body);
+        buffer.putInt(offset + 4, (int) crc.getValue());
+        buffer.putInt(offset, body.length);
+        if (syncWrites) {
+            buffer.force(offset, RECORD_HEADER_SIZE + body.length);
+        }
+        end = offset + RECORD_HEADER_SIZE + body.length;
+        return offset;
+    }
+
+    private void ensureCapacity(long required) {
+        Segment current = segment;
+        if (required <= current.buffer.capacity()) {
+            return;
+        }
+        if (required > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Student log " + file + " is full");
+        }
+        long capacity = Math.min(Integer.MAX_VALUE, Math.max(required, 2L * current.buffer.capacity()));
+        try {
+            // Readers holding the old segment may only know offsets inside the old mapping
+            segment = new Segment(channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity),
+                    new ConcurrentSkipListMap<>(current.offsets), new ConcurrentHashMap<>(current.idsByEmail));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot grow student log " + file, e);
+        }
+    }
+
+    private static int recordSize(ByteBuffer buffer, int offset) {
+        return RECORD_HEADER_SIZE + buffer.getInt(offset);
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(Student student) {
+        byte[] name = student.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] email = student.getEmail().getBytes(StandardCharsets.UTF_8);
+        byte[] address = student.getAddress() != null ? student.getAddress().getBytes(StandardCharsets.UTF_8) : null;
+        int size = 1 + Long.BYTES + 2 * (Long.BYTES + Integer.BYTES) + Integer.BYTES
+                + 3 * Integer.BYTES + name.length + email.length + (address != null ? address.length : 0);
+        ByteBuffer body = ByteBuffer.allocate(size).put(PUT).putLong(student.getId());
+        putTime(body, student.getCreatedAt());
+        putTime(body, student.getUpdatedAt());
+        body.putInt(student.getAge());
+        putBytes(body, name);
+        putBytes(body, email);
+        putBytes(body, address);
+        return body.array();
+    }
+
+    private static Student decode(ByteBuffer buffer, int offset) {
+        ByteBuffer body = buffer.slice(offset + RECORD_HEADER_SIZE, buffer.getInt(offset));
+        body.get();
+        return Student.builder()
+                .id(body.getLong())
+                .createdAt(getTime(body))
+                .updatedAt(getTime(body))
+                .age(body.getInt())
+                .name(getString(body))
+                .email(getString(body))
+                .address(getString(body))
+                .build();
+    }
+
+    private static void putTime(ByteBuffer body, LocalDateTime time) {
+        body.putLong(time != null ? time.toEpochSecond(ZoneOffset.UTC) : NO_TIME);
+        body.putInt(time != null ? time.getNano() : 0);
+    }
+
+    private static LocalDateTime getTime(ByteBuffer body) {
+        long seconds = body.getLong();
+        int nanos = body.getInt();
+        return seconds == NO_TIME ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static void putBytes(ByteBuffer body, byte[] bytes) {
+        body.putInt(bytes != null ? bytes.length : -1);
+        if (bytes != null) {
+            body.put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer body) {
+        int length = body.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -3,10 +3,17 @@ package com.example.student.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "students")
+@NaturalIdCache(region = "students-by-email")
 @Table(name = "students", uniqueConstraints = @UniqueConstraint(name = "uk_student_email", columnNames = "email"))
 @Getter
 @Setter
@@ -27,6 +34,7 @@ public class Student {
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
     @Size(max = 150, message = "Email must not exceed 150 characters")
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true, length = 150)
     private String email;
 
@@ -0,0 +1,36 @@
+package com.example.student.model;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the change feed. Pass {@code nextToken} as {@code since} to continue; when
+ * {@code hasMore} is false the caller is up to date.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentChanges {
+    private List<Change> changes;
+    private String nextToken;
+    private boolean hasMore;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Change {
+        private long sequence;
+        private String type;
+        private Long studentId;
+        // Student as stored in the change log, null for deletes (tombstones)
+        @JsonRawValue
+        private String student;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.student.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentStatistics {
+    private long count;
+    private Integer minAge;
+    private Integer maxAge;
+    private Double averageAge;
+    private List<AgeBucket> ageHistogram;
+    private RecentSignups recentSignups;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AgeBucket {
+        private int fromAge;
+        private int toAge;
+        private long count;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecentSignups {
+        private long last24Hours;
+        private long last7Days;
+        private long last30Days;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.student.outbox;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
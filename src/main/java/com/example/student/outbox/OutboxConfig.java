@@ -0,0 +1,37 @@
+package com.example.student.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+/**
+ * Runs {@link OutboxRelay} and change-log compaction in the background unless
+ * {@code student.outbox.relay-enabled=false}. The change log itself is always written.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "student.outbox", name = "relay-enabled", matchIfMissing = true)
+    public OutboxRelay outboxRelay(StudentChangeRepository changeRepository, ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper, OutboxProperties properties) {
+        return new OutboxRelay(changeRepository, eventPublisher, objectMapper, properties);
+    }
+
+    @Bean
+    @ConditionalOnBean(OutboxRelay.class)
+    public SchedulingConfigurer outboxSchedule(OutboxRelay relay, OutboxProperties properties) {
+        return registrar -> {
+            registrar.addFixedDelayTask(relay::relay, properties.getRelayInterval());
+            registrar.addFixedDelayTask(relay::compact, properties.getCompactionInterval());
+        };
+    }
+}
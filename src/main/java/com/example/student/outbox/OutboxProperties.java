@@ -0,0 +1,29 @@
+package com.example.student.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.outbox")
+public class OutboxProperties {
+
+    // Relay publishing change-log rows as StudentChangeEvents; rows are written either way
+    private boolean relayEnabled = true;
+    private int batchSize = 500;
+    private Duration relayInterval = Duration.ofSeconds(1);
+
+    // A missing sequence number is waited for this long before it is treated as a rolled-back insert
+    private Duration gapTimeout = Duration.ofSeconds(5);
+
+    // Skipped sequence numbers are still picked up if their transaction commits within this long;
+    // keep it above the longest transaction, including student.deadline.max-timeout
+    private Duration lateChangeWindow = Duration.ofMinutes(10);
+
+    // Relayed rows older than this are deleted
+    private Duration retention = Duration.ofDays(7);
+    private Duration compactionInterval = Duration.ofHours(1);
+}
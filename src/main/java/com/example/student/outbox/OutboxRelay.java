@@ -0,0 +1,171 @@
+package com.example.student.outbox;
+
+import com.example.student.model.Student;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Reads the change log in sequence order and publishes each row as a {@link StudentChangeEvent}.
+ *
+ * <p>Sequence numbers are assigned at insert but become visible at commit, so a lower number can
+ * appear after a higher one has been read. The relay therefore stops at a missing number and only
+ * skips it once the row after it is older than {@code gap-timeout}, at which point the missing
+ * insert has probably rolled back. Skipped numbers are still looked up on every run for
+ * {@code late-change-window}, so a transaction that was merely slow to commit is published late,
+ * out of sequence order, rather than lost. A late change is never older than a change of the same
+ * student that was already published, because the row lock orders the two.
+ *
+ * <p>The position is kept in memory, so after a restart all retained rows are published again;
+ * listeners must tolerate repeats.
+ */
+@Slf4j
+public class OutboxRelay {
+
+    // Bounds the skipped numbers tracked after a burst of rollbacks; the oldest are given up first
+    static final int MAX_SKIPPED = 10_000;
+
+    private final StudentChangeRepository changeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+    private final Clock clock;
+    private long position = -1;
+    // Sequence numbers passed over at a gap, with the time they were passed over
+    private final NavigableMap<Long, LocalDateTime> skipped = new TreeMap<>();
+
+    public OutboxRelay(StudentChangeRepository changeRepository, ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper, OutboxProperties properties) {
+        this(changeRepository, eventPublisher, objectMapper, properties, Clock.systemDefaultZone());
+    }
+
+    OutboxRelay(StudentChangeRepository changeRepository, ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper, OutboxProperties properties, Clock clock) {
+        this.changeRepository = changeRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Publishes everything that can be published now and returns the number of events.
+     */
+    public synchronized int relay() {
+        int published = relayLate();
+        while (true) {
+            List<StudentChange> batch = changeRepository.findBySequenceGreaterThanOrderBySequenceAsc(
+                    Math.max(position, 0), PageRequest.of(0, properties.getBatchSize()));
+            for (StudentChange change : batch) {
+                boolean gap = position >= 0 && change.getSequence() != position + 1;
+                if (gap && !gapExpired(change)) {
+                    return published;
+                }
+                try {
+                    eventPublisher.publishEvent(toEvent(change));
+                } catch (RuntimeException e) {
+                    log.warn("Listener failed for change {}, retrying on next run", change.getSequence(), e);
+                    return published;
+                }
+                if (gap) {
+                    skip(position + 1, change.getSequence());
+                }
+                position = change.getSequence();
+                published++;
+            }
+            if (batch.size() < properties.getBatchSize()) {
+                return published;
+            }
+        }
+    }
+
+    /**
+     * Deletes relayed rows older than the retention period and returns how many were removed.
+     * The last relayed row is always kept, so the log never becomes empty and
+     * {@link StudentChangeFeed} can tell compacted history apart from no history.
+     */
+    public int compact() {
+        long relayed = getPosition();
+        if (relayed <= 1) {
+            return 0;
+        }
+        int deleted = changeRepository.deleteRelayedBefore(relayed - 1,
+                LocalDateTime.now(clock).minus(properties.getRetention()));
+        if (deleted > 0) {
+            log.info("Compacted {} change-log rows up to sequence {}", deleted, relayed);
+        }
+        return deleted;
+    }
+
+    /**
+     * Publishes skipped changes whose transactions have committed since.
+     */
+    private int relayLate() {
+        LocalDateTime expired = LocalDateTime.now(clock).minus(properties.getLateChangeWindow());
+        skipped.values().removeIf(skippedAt -> skippedAt.isBefore(expired));
+        List<Long> sequences = new ArrayList<>(skipped.keySet());
+        int published = 0;
+        for (int from = 0; from < sequences.size(); from += properties.getBatchSize()) {
+            List<StudentChange> late = new ArrayList<>(changeRepository.findAllById(
+                    sequences.subList(from, Math.min(from + properties.getBatchSize(), sequences.size()))));
+            late.sort(Comparator.comparing(StudentChange::getSequence));
+            for (StudentChange change : late) {
+                try {
+                    eventPublisher.publishEvent(toEvent(change));
+                } catch (RuntimeException e) {
+                    log.warn("Listener failed for late change {}, retrying on next run", change.getSequence(), e);
+                    return published;
+                }
+                log.info("Published change {} that committed after its gap was skipped", change.getSequence());
+                skipped.remove(change.getSequence());
+                published++;
+            }
+        }
+        return published;
+    }
+
+    private void skip(long fromInclusive, long toExclusive) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (long sequence = Math.max(fromInclusive, toExclusive - MAX_SKIPPED); sequence < toExclusive; sequence++) {
+            skipped.put(sequence, now);
+        }
+        while (skipped.size() > MAX_SKIPPED) {
+            skipped.pollFirstEntry();
+        }
+    }
+
+    public synchronized int getSkippedCount() {
+        return skipped.size();
+    }
+
+    public synchronized long getPosition() {
+        return position;
+    }
+
+    private boolean gapExpired(StudentChange change) {
+        return change.getOccurredAt().isBefore(LocalDateTime.now(clock).minus(properties.getGapTimeout()));
+    }
+
+    private StudentChangeEvent toEvent(StudentChange change) {
+        return new StudentChangeEvent(change.getSequence(), change.getType(), change.getStudentId(),
+                change.getPayload() == null ? null : fromJson(change.getPayload()), change.getOccurredAt());
+    }
+
+    private Student fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, Student.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable change-log payload", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.student.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the student change log, written in the same transaction as the change itself.
+ * {@code sequence} is assigned by the database in insert order; the payload is the student as
+ * JSON after the change, or null for deletes.
+ */
+@Entity
+@Table(name = "student_changes", indexes = @Index(name = "idx_student_changes_occurred_at", columnList = "occurred_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long sequence;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeType type;
+
+    @Lob
+    private String payload;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
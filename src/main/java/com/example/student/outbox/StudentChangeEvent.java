@@ -0,0 +1,13 @@
+package com.example.student.outbox;
+
+import com.example.student.model.Student;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link OutboxRelay} for every change-log row, in sequence order. {@code student}
+ * is the state after the change and is null for deletes.
+ */
+public record StudentChangeEvent(long sequence, ChangeType type, Long studentId, Student student,
+        LocalDateTime occurredAt) {
+}
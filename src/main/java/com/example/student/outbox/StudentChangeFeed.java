@@ -0,0 +1,165 @@
+package com.example.student.outbox;
+
+import com.example.student.exception.ChangeTokenExpiredException;
+import com.example.student.exception.InvalidChangeTokenException;
+import com.example.student.model.StudentChanges;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the change log to pull-based consumers. A token is an opaque encoding of the last change
+ * sequence the caller has seen. Like {@link OutboxRelay}, a page stops before a missing sequence
+ * number younger than {@code gap-timeout}, and a number passed over after that stays in the token
+ * for {@code late-change-window}, so a change that commits even later is still returned.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StudentChangeFeed {
+
+    public static final int MAX_LIMIT = 1000;
+
+    // Skipped sequence numbers carried in a token; beyond that the oldest are given up
+    static final int MAX_SKIPPED = 64;
+
+    private final StudentChangeRepository changeRepository;
+    private final OutboxProperties properties;
+
+    /**
+     * Changes after {@code since}, at most {@code limit} rows. If a student changed more than once
+     * within the page only its latest change is returned. Without a token, returns no changes and
+     * a token for the current end of the log, for callers about to load all students.
+     *
+     * @throws ChangeTokenExpiredException if changes after the token have been compacted
+     */
+    public StudentChanges changesSince(String since, int limit) {
+        if (since == null) {
+            Long max = changeRepository.findMaxSequence();
+            return StudentChanges.builder()
+                    .changes(List.of())
+                    .nextToken(encode(new Position(max == null ? 0 : max, new TreeMap<>())))
+                    .build();
+        }
+        Position position = decode(since);
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Long min = changeRepository.findMinSequence();
+        if (min != null && position.last() < min - 1) {
+            throw new ChangeTokenExpiredException();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        NavigableMap<Long, LocalDateTime> skipped = position.skipped();
+        LocalDateTime expired = now.minus(properties.getLateChangeWindow());
+        skipped.values().removeIf(skippedAt -> skippedAt.isBefore(expired));
+        Map<Long, StudentChange> latest = new LinkedHashMap<>();
+        if (!skipped.isEmpty()) {
+            // Older than anything after the token, so they go first and newer rows replace them
+            changeRepository.findAllById(skipped.keySet()).stream()
+                    .sorted(Comparator.comparing(StudentChange::getSequence))
+                    .forEach(row -> {
+                        skipped.remove(row.getSequence());
+                        latest.put(row.getStudentId(), row);
+                    });
+        }
+
+        List<StudentChange> rows = changeRepository.findBySequenceGreaterThanOrderBySequenceAsc(
+                position.last(), PageRequest.of(0, pageSize + 1));
+        LocalDateTime gapCutoff = now.minus(properties.getGapTimeout());
+        long last = position.last();
+        boolean hasMore = false;
+        for (StudentChange row : rows) {
+            boolean gap = row.getSequence() != last + 1;
+            if (gap && !row.getOccurredAt().isBefore(gapCutoff)) {
+                break;
+            }
+            if (latest.size() >= pageSize && !latest.containsKey(row.getStudentId())) {
+                hasMore = true;
+                break;
+            }
+            if (gap) {
+                for (long sequence = Math.max(last + 1, row.getSequence() - MAX_SKIPPED); sequence < row.getSequence(); sequence++) {
+                    skipped.put(sequence, now);
+                }
+            }
+            latest.remove(row.getStudentId());
+            latest.put(row.getStudentId(), row);
+            last = row.getSequence();
+        }
+        while (skipped.size() > MAX_SKIPPED) {
+            skipped.pollFirstEntry();
+        }
+
+        List<StudentChanges.Change> changes = new ArrayList<>(latest.size());
+        for (StudentChange row : latest.values()) {
+            changes.add(StudentChanges.Change.builder()
+                    .sequence(row.getSequence())
+                    .type(row.getType().name())
+                    .studentId(row.getStudentId())
+                    .student(row.getPayload())
+                    .build());
+        }
+        return StudentChanges.builder()
+                .changes(changes)
+                .nextToken(encode(new Position(last, skipped)))
+                .hasMore(hasMore || rows.size() > pageSize)
+                .build();
+    }
+
+    /**
+     * The last sequence a caller has seen and the numbers skipped before it that may still commit.
+     */
+    record Position(long last, NavigableMap<Long, LocalDateTime> skipped) {
+    }
+
+    // "last" or "last:sequence@skippedAtEpochSecond,...", base64url encoded
+    static String encode(Position position) {
+        String value = Long.toString(position.last());
+        if (!position.skipped().isEmpty()) {
+            value += position.skipped().entrySet().stream()
+                    .map(entry -> entry.getKey() + "@" + entry.getValue().toEpochSecond(ZoneOffset.UTC))
+                    .collect(Collectors.joining(",", ":", ""));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static Position decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            String[] parts = value.split(":", 2);
+            long last = Long.parseLong(parts[0]);
+            NavigableMap<Long, LocalDateTime> skipped = new TreeMap<>();
+            if (parts.length > 1) {
+                for (String entry : parts[1].split(",")) {
+                    String[] fields = entry.split("@", 2);
+                    if (fields.length != 2) {
+                        throw new InvalidChangeTokenException(token);
+                    }
+                    skipped.put(Long.parseLong(fields[0]),
+                            LocalDateTime.ofEpochSecond(Long.parseLong(fields[1]), 0, ZoneOffset.UTC));
+                }
+            }
+            if (last < 0 || skipped.size() > MAX_SKIPPED) {
+                throw new InvalidChangeTokenException(token);
+            }
+            return new Position(last, skipped);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidChangeTokenException(token);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.student.outbox;
+
+import com.example.student.model.Student;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Appends change-log rows. Must be called inside the transaction that makes the change, so the
+ * row commits or rolls back together with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudentChangeLog {
+
+    private final StudentChangeRepository changeRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangeType type, Student student) {
+        append(type, student.getId(), toJson(student));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long studentId) {
+        append(ChangeType.DELETED, studentId, null);
+    }
+
+    private void append(ChangeType type, Long studentId, String payload) {
+        changeRepository.save(StudentChange.builder()
+                .studentId(studentId)
+                .type(type)
+                .payload(payload)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    private String toJson(Student student) {
+        try {
+            return objectMapper.writeValueAsString(student);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize student " + student.getId(), e);
+        }
+    }
+}
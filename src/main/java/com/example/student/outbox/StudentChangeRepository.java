@@ -0,0 +1,29 @@
+package com.example.student.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StudentChangeRepository extends JpaRepository<StudentChange, Long> {
+
+    List<StudentChange> findBySequenceGreaterThanOrderBySequenceAsc(Long sequence, Pageable pageable);
+
+    @Query("SELECT MIN(c.sequence) FROM StudentChange c")
+    Long findMinSequence();
+
+    @Query("SELECT MAX(c.sequence) FROM StudentChange c")
+    Long findMaxSequence();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StudentChange c WHERE c.sequence <= :sequence AND c.occurredAt < :before")
+    int deleteRelayedBefore(@Param("sequence") Long sequence, @Param("before") LocalDateTime before);
+}
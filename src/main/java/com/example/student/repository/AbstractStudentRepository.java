@@ -0,0 +1,317 @@
+package com.example.student.repository;
+
+import com.example.student.model.Student;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Base class for {@link StudentRepository} implementations that do not use JPA. Subclasses
+ * provide the storage primitives; the remaining {@code JpaRepository} surface is derived from
+ * them so the service layer can use any backend unchanged. Query-by-example is not supported.
+ */
+public abstract class AbstractStudentRepository implements StudentRepository {
+
+    @Override
+    public abstract <S extends Student> S save(S student);
+
+    @Override
+    public abstract Optional<Student> findById(Long id);
+
+    @Override
+    public abstract List<Student> findAll();
+
+    @Override
+    public abstract void deleteById(Long id);
+
+    @Override
+    public abstract Optional<Student> findByEmail(String email);
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return findByEmail(email).isPresent();
+    }
+
+    @Override
+    public long count() {
+        return findAll().size();
+    }
+
+    @Override
+    public List<Student> findByNameContainingIgnoreCase(String name) {
+        String needle = name.toLowerCase();
+        return findAll().stream().filter(s -> s.getName().toLowerCase().contains(needle)).toList();
+    }
+
+    @Override
+    public long countByNameContainingIgnoreCase(String name) {
+        return findByNameContainingIgnoreCase(name).size();
+    }
+
+    @Override
+    public List<Student> findByAgeBetween(Integer minAge, Integer maxAge) {
+        return findAll().stream().filter(s -> s.getAge() >= minAge && s.getAge() <= maxAge).toList();
+    }
+
+    @Override
+    public List<Student> findStudentsOlderThan(Integer minAge) {
+        return findAll().stream().filter(s -> s.getAge() >= minAge).toList();
+    }
+
+    // Backends without cursors stream the materialized query results
+
+    @Override
+    public Stream<Student> streamByNameContainingIgnoreCase(String name) {
+        return findByNameContainingIgnoreCase(name).stream();
+    }
+
+    @Override
+    public Stream<Student> streamByAgeBetween(Integer minAge, Integer maxAge) {
+        return findByAgeBetween(minAge, maxAge).stream();
+    }
+
+    @Override
+    public Stream<Student> streamStudentsOlderThan(Integer minAge) {
+        return findStudentsOlderThan(minAge).stream();
+    }
+
+    @Override
+    public Long countStudentsByAgeRange(Integer minAge, Integer maxAge) {
+        return (long) findByAgeBetween(minAge, maxAge).size();
+    }
+
+    @Override
+    public List<AgeBucketAggregate> aggregateByAgeBucket(LocalDateTime sinceDay, LocalDateTime sinceWeek,
+            LocalDateTime sinceMonth) {
+        TreeMap<Integer, AgeBucketAggregate> buckets = new TreeMap<>();
+        for (Student student : findAll()) {
+            int age = student.getAge();
+            LocalDateTime createdAt = student.getCreatedAt();
+            AgeBucketAggregate row = new AgeBucketAggregate(age / AgeBucketAggregate.BUCKET_WIDTH, 1L, age, age,
+                    (long) age, createdSince(createdAt, sinceDay), createdSince(createdAt, sinceWeek),
+                    createdSince(createdAt, sinceMonth));
+            buckets.merge(row.bucket(), row, AgeBucketAggregate::combine);
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    private static long createdSince(LocalDateTime createdAt, LocalDateTime since) {
+        return createdAt != null && !createdAt.isBefore(since) ? 1 : 0;
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public List<Student> findAllById(Iterable<Long> ids) {
+        List<Student> students = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(students::add));
+        return students;
+    }
+
+    /**
+     * Row by row through {@link #findByEmail} and {@link #save}, so only as atomic as the
+     * backend's single writes.
+     */
+    @Override
+    public List<StudentUpsert> upsertByEmail(List<Student> students) {
+        List<StudentUpsert> results = new ArrayList<>(students.size());
+        for (Student student : students) {
+            Optional<Student> existing = findByEmail(student.getEmail());
+            if (existing.isEmpty()) {
+                results.add(new StudentUpsert(StudentUpsert.Status.CREATED, save(Student.builder()
+                        .name(student.getName())
+                        .email(student.getEmail())
+                        .age(student.getAge())
+                        .address(student.getAddress())
+                        .build())));
+            } else if (Objects.equals(existing.get().getName(), student.getName())
+                    && Objects.equals(existing.get().getAge(), student.getAge())
+                    && Objects.equals(existing.get().getAddress(), student.getAddress())) {
+                results.add(new StudentUpsert(StudentUpsert.Status.UNCHANGED, existing.get()));
+            } else {
+                Student stored = existing.get();
+                stored.setName(student.getName());
+                stored.setAge(student.getAge());
+                stored.setAddress(student.getAddress());
+                results.add(new StudentUpsert(StudentUpsert.Status.UPDATED, save(stored)));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public <S extends Student> List<S> saveAll(Iterable<S> students) {
+        List<S> saved = new ArrayList<>();
+        students.forEach(student -> saved.add(save(student)));
+        return saved;
+    }
+
+    @Override
+    public List<Student> findAll(Sort sort) {
+        List<Student> students = new ArrayList<>(findAll());
+        students.sort(comparator(sort));
+        return students;
+    }
+
+    @Override
+    public Page<Student> findAll(Pageable pageable) {
+        List<Student> sorted = findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(sorted);
+        }
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return new PageImpl<>(sorted.subList(from, to), pageable, sorted.size());
+    }
+
+    @Override
+    public void delete(Student student) {
+        deleteById(student.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Student> students) {
+        students.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        findAll().forEach(this::delete);
+    }
+
+    @Override
+    public void flush() {
+        // Writes are applied immediately
+    }
+
+    @Override
+    public <S extends Student> S saveAndFlush(S student) {
+        return save(student);
+    }
+
+    @Override
+    public <S extends Student> List<S> saveAllAndFlush(Iterable<S> students) {
+        return saveAll(students);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<Student> students) {
+        deleteAll(students);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    @Deprecated
+    public Student getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public Student getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public Student getReferenceById(Long id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException("Student not found with id: " + id));
+    }
+
+    @Override
+    public <S extends Student> Optional<S> findOne(Example<S> example) {
+        throw queryByExampleNotSupported();
+    }
+
+    @Override
+    public <S extends Student> List<S> findAll(Example<S> example) {
+        throw queryByExampleNotSupported();
+    }
+
+    @Override
+    public <S extends Student> List<S> findAll(Example<S> example, Sort sort) {
+        throw queryByExampleNotSupported();
+    }
+
+    @Override
+    public <S extends Student> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw queryByExampleNotSupported();
+    }
+
+    @Override
+    public <S extends Student> long count(Example<S> example) {
+        throw queryByExampleNotSupported();
+    }
+
+    @Override
+    public <S extends Student> boolean exists(Example<S> example) {
+        throw queryByExampleNotSupported();
+    }
+
+    @Override
+    public <S extends Student, R> R findBy(Example<S> example,
+            Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw queryByExampleNotSupported();
+    }
+
+    /**
+     * Orders students by the given sort, falling back to id so results are deterministic.
+     */
+    protected static Comparator<Student> comparator(Sort sort) {
+        Comparator<Student> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Student> next = propertyComparator(order.getProperty());
+            next = order.isAscending() ? next : next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<Student> byId = propertyComparator("id");
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    private static Comparator<Student> propertyComparator(String property) {
+        return switch (property) {
+            case "id" -> Comparator.comparing(Student::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "name" -> Comparator.comparing(Student::getName, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "email" -> Comparator.comparing(Student::getEmail, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "age" -> Comparator.comparing(Student::getAge, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "address" -> Comparator.comparing(Student::getAddress, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "createdAt" -> Comparator.comparing(Student::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "updatedAt" -> Comparator.comparing(Student::getUpdatedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+            default -> throw new IllegalArgumentException("No sortable property '" + property + "' on Student");
+        };
+    }
+
+    private static UnsupportedOperationException queryByExampleNotSupported() {
+        return new UnsupportedOperationException("Query by example is only supported by the JPA repository");
+    }
+}
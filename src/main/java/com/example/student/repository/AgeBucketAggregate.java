@@ -0,0 +1,28 @@
+package com.example.student.repository;
+
+/**
+ * One row of {@link StudentRepository#aggregateByAgeBucket}: totals for the students whose age
+ * falls in {@code [bucket * 10, bucket * 10 + 9]}, plus how many of them signed up recently.
+ */
+public record AgeBucketAggregate(
+        Integer bucket,
+        Long count,
+        Integer minAge,
+        Integer maxAge,
+        Long ageSum,
+        Long createdSinceDay,
+        Long createdSinceWeek,
+        Long createdSinceMonth) {
+
+    public static final int BUCKET_WIDTH = 10;
+
+    /**
+     * Combines partial aggregates of the same bucket, e.g. from several shards.
+     */
+    public AgeBucketAggregate combine(AgeBucketAggregate other) {
+        return new AgeBucketAggregate(bucket, count + other.count,
+                Math.min(minAge, other.minAge), Math.max(maxAge, other.maxAge), ageSum + other.ageSum,
+                createdSinceDay + other.createdSinceDay, createdSinceWeek + other.createdSinceWeek,
+                createdSinceMonth + other.createdSinceMonth);
+    }
+}
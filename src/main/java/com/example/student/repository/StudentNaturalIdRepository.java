@@ -0,0 +1,14 @@
+package com.example.student.repository;
+
+import com.example.student.model.Student;
+
+import java.util.Optional;
+
+public interface StudentNaturalIdRepository {
+
+    /**
+     * Looks the student up by its natural id, so repeated lookups are served from the
+     * second-level cache instead of running a query.
+     */
+    Optional<Student> findByEmail(String email);
+}
@@ -0,0 +1,24 @@
+package com.example.student.repository;
+
+import com.example.student.model.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+class StudentNaturalIdRepositoryImpl implements StudentNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Like the built-in repository methods, so callers without a transaction get a live session
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Student> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Student.class)
+                .loadOptional(email);
+    }
+}
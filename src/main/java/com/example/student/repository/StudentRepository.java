@@ -3,26 +3,71 @@ package com.example.student.repository;
 import com.example.student.model.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
-    
-    Optional<Student> findByEmail(String email);
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentNaturalIdRepository,
+        StudentUpsertRepository {
     
     boolean existsByEmail(String email);
     
     List<Student> findByNameContainingIgnoreCase(String name);
     
+    long countByNameContainingIgnoreCase(String name);
+    
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "student-queries")})
     List<Student> findByAgeBetween(Integer minAge, Integer maxAge);
     
     @Query("SELECT s FROM Student s WHERE s.age >= :minAge")
     List<Student> findStudentsOlderThan(@Param("minAge") Integer minAge);
     
+    // Cursor variants of the queries above, for callers that handle one row at a time. They must
+    // be consumed and closed inside a transaction. Rows are read in batches of STREAM_FETCH_SIZE
+    // and bypass the second-level cache so large scans do not evict hot entries.
+    String STREAM_FETCH_SIZE = "500";
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")})
+    Stream<Student> streamByNameContainingIgnoreCase(String name);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")})
+    Stream<Student> streamByAgeBetween(Integer minAge, Integer maxAge);
+
+    @Query("SELECT s FROM Student s WHERE s.age >= :minAge")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")})
+    Stream<Student> streamStudentsOlderThan(@Param("minAge") Integer minAge);
+
     @Query("SELECT COUNT(s) FROM Student s WHERE s.age BETWEEN :minAge AND :maxAge")
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "student-queries")})
     Long countStudentsByAgeRange(@Param("minAge") Integer minAge, @Param("maxAge") Integer maxAge);
+
+    @Query("SELECT new com.example.student.repository.AgeBucketAggregate(s.age / 10, COUNT(s), MIN(s.age), MAX(s.age), " +
+            "SUM(s.age), " +
+            "SUM(CASE WHEN s.createdAt >= :sinceDay THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN s.createdAt >= :sinceWeek THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN s.createdAt >= :sinceMonth THEN 1 ELSE 0 END)) " +
+            "FROM Student s GROUP BY s.age / 10 ORDER BY s.age / 10")
+    List<AgeBucketAggregate> aggregateByAgeBucket(@Param("sinceDay") LocalDateTime sinceDay,
+            @Param("sinceWeek") LocalDateTime sinceWeek, @Param("sinceMonth") LocalDateTime sinceMonth);
 }
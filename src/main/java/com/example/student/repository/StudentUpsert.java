@@ -0,0 +1,16 @@
+package com.example.student.repository;
+
+import com.example.student.model.Student;
+
+/**
+ * Outcome of upserting one student: the row as stored afterwards and whether it was inserted,
+ * changed or already matched the input.
+ */
+public record StudentUpsert(Status status, Student student) {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        UNCHANGED
+    }
+}
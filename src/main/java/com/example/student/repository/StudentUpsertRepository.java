@@ -0,0 +1,14 @@
+package com.example.student.repository;
+
+import com.example.student.model.Student;
+
+import java.util.List;
+
+public interface StudentUpsertRepository {
+
+    /**
+     * Inserts the students whose email is not stored yet and updates name, age and address of the
+     * others. Returns one result per input, in input order. Emails must be unique within the call.
+     */
+    List<StudentUpsert> upsertByEmail(List<Student> students);
+}
@@ -0,0 +1,219 @@
+package com.example.student.repository;
+
+import com.example.student.model.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Upserts with an H2 {@code MERGE} per student, sent in JDBC batches on the connection of the
+ * current transaction, so a whole batch costs one round trip plus one lookup afterwards.
+ * A row whose values already match is left alone, which is how unchanged students are told
+ * apart from updated ones. Each call stamps its rows with a timestamp no other call uses, so a
+ * row whose {@code created_at} carries it was inserted by this call. The status therefore comes
+ * from the merge itself and not from a lookup that a concurrent transaction can make stale.
+ * A row that loses a race to insert the same email is merged once more, as an update.
+ *
+ * <p>The statements bypass Hibernate. The persistence context is flushed first, and students it
+ * already holds are not refreshed. Cached entities of updated students and all cached query
+ * results are evicted now and again after completion, so a concurrent reader cannot put the old
+ * state back into the cache before the commit.
+ */
+class StudentUpsertRepositoryImpl implements StudentUpsertRepository {
+
+    // Rows per JDBC batch and per IN list of the lookups
+    static final int BATCH_SIZE = 500;
+
+    private static final String MERGE = "MERGE INTO students t"
+            + " USING (VALUES (CAST(? AS VARCHAR(150)), CAST(? AS VARCHAR(100)), CAST(? AS INT),"
+            + " CAST(? AS VARCHAR(500)), CAST(? AS TIMESTAMP))) AS s (email, name, age, address, ts)"
+            + " ON t.email = s.email"
+            + " WHEN MATCHED AND (t.name <> s.name OR t.age <> s.age OR t.address IS DISTINCT FROM s.address)"
+            + " THEN UPDATE SET name = s.name, age = s.age, address = s.address, updated_at = s.ts"
+            + " WHEN NOT MATCHED THEN INSERT (email, name, age, address, created_at, updated_at)"
+            + " VALUES (s.email, s.name, s.age, s.address, s.ts, s.ts)";
+
+    private static final String COLUMNS = "id, name, email, age, address, created_at, updated_at";
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    // Microseconds since the epoch of the last timestamp handed out, the precision of the columns
+    private static final AtomicLong LAST_TIMESTAMP = new AtomicLong();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public List<StudentUpsert> upsertByEmail(List<Student> students) {
+        if (students.isEmpty()) {
+            return List.of();
+        }
+        entityManager.flush();
+        List<StudentUpsert> results = entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> upsert(connection, students));
+        evictCaches(results);
+        return results;
+    }
+
+    private static List<StudentUpsert> upsert(Connection connection, List<Student> students) throws SQLException {
+        List<String> emails = students.stream().map(Student::getEmail).toList();
+        LocalDateTime now = uniqueTimestamp();
+        int[] counts = merge(connection, students, Timestamp.valueOf(now));
+        Map<String, Student> stored = new HashMap<>();
+        select(connection, COLUMNS, emails, rs -> stored.put(rs.getString("email"), toStudent(rs)));
+
+        List<StudentUpsert> results = new ArrayList<>(students.size());
+        for (int i = 0; i < students.size(); i++) {
+            Student student = stored.get(emails.get(i));
+            StudentUpsert.Status status = now.equals(student.getCreatedAt()) ? StudentUpsert.Status.CREATED
+                    : counts[i] == 0 ? StudentUpsert.Status.UNCHANGED : StudentUpsert.Status.UPDATED;
+            results.add(new StudentUpsert(status, student));
+        }
+        return results;
+    }
+
+    private static LocalDateTime uniqueTimestamp() {
+        LocalDateTime now = LocalDateTime.now();
+        long micros = TimeUnit.SECONDS.toMicros(now.toEpochSecond(ZoneOffset.UTC))
+                + TimeUnit.NANOSECONDS.toMicros(now.getNano());
+        long unique = LAST_TIMESTAMP.updateAndGet(last -> Math.max(last + 1, micros));
+        return LocalDateTime.ofEpochSecond(TimeUnit.MICROSECONDS.toSeconds(unique),
+                (int) TimeUnit.MICROSECONDS.toNanos(unique % 1_000_000), ZoneOffset.UTC);
+    }
+
+    private static int[] merge(Connection connection, List<Student> students, Timestamp now) throws SQLException {
+        int[] counts = new int[students.size()];
+        try (PreparedStatement statement = connection.prepareStatement(MERGE)) {
+            for (int from = 0; from < students.size(); from += BATCH_SIZE) {
+                int to = Math.min(students.size(), from + BATCH_SIZE);
+                for (Student student : students.subList(from, to)) {
+                    bind(statement, student, now);
+                    statement.addBatch();
+                }
+                System.arraycopy(executeBatch(statement), 0, counts, from, to - from);
+            }
+            // The competing insert has committed by now, so the retry matches it
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == Statement.EXECUTE_FAILED) {
+                    bind(statement, students.get(i), now);
+                    counts[i] = statement.executeUpdate();
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static void bind(PreparedStatement statement, Student student, Timestamp now) throws SQLException {
+        statement.setString(1, student.getEmail());
+        statement.setString(2, student.getName());
+        statement.setInt(3, student.getAge());
+        statement.setString(4, student.getAddress());
+        statement.setTimestamp(5, now);
+    }
+
+    /**
+     * Runs the batch, marking rows whose insert collided with a concurrent one as failed instead
+     * of throwing. Any other failure is rethrown.
+     */
+    private static int[] executeBatch(PreparedStatement statement) throws SQLException {
+        try {
+            return statement.executeBatch();
+        } catch (BatchUpdateException e) {
+            for (SQLException cause = e; cause != null; cause = cause.getNextException()) {
+                if (!UNIQUE_VIOLATION.equals(cause.getSQLState())) {
+                    throw e;
+                }
+            }
+            return e.getUpdateCounts();
+        }
+    }
+
+    private static void select(Connection connection, String columns, List<String> emails, RowCallback callback)
+            throws SQLException {
+        for (int from = 0; from < emails.size(); from += BATCH_SIZE) {
+            List<String> chunk = emails.subList(from, Math.min(emails.size(), from + BATCH_SIZE));
+            String sql = "SELECT " + columns + " FROM students WHERE email IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setString(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        callback.accept(rs);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Student toStudent(ResultSet rs) throws SQLException {
+        return Student.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .email(rs.getString("email"))
+                .age(rs.getInt("age"))
+                .address(rs.getString("address"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private void evictCaches(List<StudentUpsert> results) {
+        if (results.stream().allMatch(result -> result.status() == StudentUpsert.Status.UNCHANGED)) {
+            return;
+        }
+        // New rows cannot be cached yet and emails do not change, so the natural-id cache stays valid
+        List<Long> updated = results.stream()
+                .filter(result -> result.status() == StudentUpsert.Status.UPDATED)
+                .map(result -> result.student().getId())
+                .toList();
+        Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        Runnable evict = () -> {
+            updated.forEach(id -> cache.evictEntityData(Student.class, id));
+            cache.evictQueryRegions();
+        };
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowCallback {
+
+        void accept(ResultSet rs) throws SQLException;
+    }
+}
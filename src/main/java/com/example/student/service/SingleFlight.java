@@ -0,0 +1,74 @@
+package com.example.student.service;
+
+import com.example.student.deadline.RequestDeadline;
+import com.example.student.exception.DeadlineExceededException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Collapses concurrent calls for the same key into one execution. The first caller runs the
+ * loader, callers arriving while it is still running wait for and share its result (or its
+ * exception). Nothing is cached once the call completes. A waiting caller gives up at its own
+ * request deadline.
+ * <p>
+ * Mutable results are passed through {@code copier}: the leader shares a copy of its result, so
+ * it may go on using its own, and every waiter gets its own copy of that.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final UnaryOperator<V> copier;
+
+    public SingleFlight() {
+        this(UnaryOperator.identity());
+    }
+
+    public SingleFlight(UnaryOperator<V> copier) {
+        this.copier = copier;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return copier.apply(await(existing));
+        }
+        try {
+            V value = loader.get();
+            call.complete(copier.apply(value));
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private V await(CompletableFuture<V> call) {
+        try {
+            return RequestDeadline.isBound()
+                    ? call.get(RequestDeadline.remainingNanos(), TimeUnit.NANOSECONDS)
+                    : call.get();
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Request deadline passed while waiting for a shared read");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared read", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
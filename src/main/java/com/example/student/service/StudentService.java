@@ -1,22 +1,62 @@
 package com.example.student.service;
 
+import com.example.student.analytics.StudentColumnStore;
+import com.example.student.datasource.ReadYourWritesTracker;
+import com.example.student.deadline.RequestDeadline;
+import com.example.student.exception.DeadlineExceededException;
 import com.example.student.exception.DuplicateEmailException;
+import com.example.student.exception.InvalidBatchException;
 import com.example.student.exception.StudentNotFoundException;
 import com.example.student.model.Student;
+import com.example.student.model.StudentStatistics;
+import com.example.student.outbox.ChangeType;
+import com.example.student.outbox.StudentChangeLog;
+import com.example.student.repository.AgeBucketAggregate;
 import com.example.student.repository.StudentRepository;
+import com.example.student.repository.StudentUpsert;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class StudentService {
 
+    // Largest number of ids or students accepted by one multi-get or bulk upsert
+    public static final int MAX_BATCH_SIZE = 1000;
+    // Ids per findAllById call, so no single IN list grows with the request
+    static final int IDS_PER_QUERY = 128;
+
     private final StudentRepository studentRepository;
+    private final StudentChangeLog changeLog;
+    private final EntityManager entityManager;
+    private final ObjectProvider<StudentColumnStore> columnStore;
+    private final ObjectProvider<ReadYourWritesTracker> readYourWrites;
+
+    // Concurrent identical reads share one in-flight query, see coalesce(). Entities belong to
+    // the persistence context of the request that loaded them, so the others get detached copies
+    private final SingleFlight<Long, Optional<Student>> studentsById = new SingleFlight<>(StudentService::copyOf);
+    private final SingleFlight<String, Optional<Student>> studentsByEmail = new SingleFlight<>(StudentService::copyOf);
+    private final SingleFlight<List<Integer>, Long> ageRangeCounts = new SingleFlight<>();
 
     @Transactional(readOnly = true)
     public List<Student> getAllStudents() {
@@ -25,20 +65,84 @@ public class StudentService {
 
     @Transactional(readOnly = true)
     public Student getStudentById(Long id) {
-        return studentRepository.findById(id)
-                .orElseThrow(() -> new StudentNotFoundException(id));
+        return findStudentById(id).orElseThrow(() -> new StudentNotFoundException(id));
+    }
+
+    /**
+     * Miss-friendly variant of {@link #getStudentById(Long)} for callers that expect absent ids.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Student> findStudentById(Long id) {
+        return coalesce(studentsById, id, () -> studentRepository.findById(id));
+    }
+
+    /**
+     * The students with the given ids that exist, in the order the ids were given. Repeated ids
+     * are returned once.
+     */
+    @Transactional(readOnly = true)
+    public List<Student> getStudentsByIds(List<Long> ids) {
+        checkBatchSize(ids.size());
+        List<Long> distinct = ids.stream().distinct().toList();
+        Map<Long, Student> found = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += IDS_PER_QUERY) {
+            studentRepository.findAllById(distinct.subList(from, Math.min(distinct.size(), from + IDS_PER_QUERY)))
+                    .forEach(student -> found.put(student.getId(), student));
+        }
+        return distinct.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public boolean studentExists(Long id) {
+        return findStudentById(id).isPresent();
     }
 
     @Transactional(readOnly = true)
     public Optional<Student> getStudentByEmail(String email) {
-        return studentRepository.findByEmail(email);
+        return coalesce(studentsByEmail, email, () -> studentRepository.findByEmail(email));
     }
 
     public Student createStudent(Student student) {
         if (studentRepository.existsByEmail(student.getEmail())) {
             throw new DuplicateEmailException(student.getEmail());
         }
-        return studentRepository.save(student);
+        Student saved = studentRepository.save(student);
+        changeLog.record(ChangeType.CREATED, saved);
+        return saved;
+    }
+
+    /**
+     * Inserts all students in one transaction. Callers are expected to have checked emails
+     * already; a duplicate fails the whole call through the unique constraint.
+     */
+    public List<Student> createStudents(List<Student> students) {
+        List<Student> saved = studentRepository.saveAll(students);
+        saved.forEach(student -> changeLog.record(ChangeType.CREATED, student));
+        return saved;
+    }
+
+    /**
+     * Creates or updates each student by email in one transaction and records a change for every
+     * student that was created or changed.
+     */
+    public List<StudentUpsert> upsertStudents(List<Student> students) {
+        checkBatchSize(students.size());
+        Set<String> emails = new HashSet<>();
+        for (Student student : students) {
+            if (!emails.add(student.getEmail())) {
+                throw new InvalidBatchException("Email appears more than once in the batch: " + student.getEmail());
+            }
+        }
+        List<StudentUpsert> results = studentRepository.upsertByEmail(students);
+        for (StudentUpsert result : results) {
+            switch (result.status()) {
+                case CREATED -> changeLog.record(ChangeType.CREATED, result.student());
+                case UPDATED -> changeLog.record(ChangeType.UPDATED, result.student());
+                case UNCHANGED -> {
+                }
+            }
+        }
+        return results;
     }
 
     public Student updateStudent(Long id, Student studentDetails) {
@@ -55,7 +159,10 @@ public class StudentService {
         existingStudent.setAge(studentDetails.getAge());
         existingStudent.setAddress(studentDetails.getAddress());
 
-        return studentRepository.save(existingStudent);
+        // Flush so the change log sees the updated timestamp
+        Student saved = studentRepository.saveAndFlush(existingStudent);
+        changeLog.record(ChangeType.UPDATED, saved);
+        return saved;
     }
 
     public void deleteStudent(Long id) {
@@ -63,6 +170,7 @@ public class StudentService {
             throw new StudentNotFoundException(id);
         }
         studentRepository.deleteById(id);
+        changeLog.recordDeleted(id);
     }
 
     @Transactional(readOnly = true)
@@ -80,8 +188,157 @@ public class StudentService {
         return studentRepository.findStudentsOlderThan(minAge);
     }
 
+    /**
+     * Cursor-backed variants of the list queries above: each student is passed to {@code action}
+     * while the transaction is open and detached afterwards, so memory does not grow with the
+     * number of matches.
+     */
+    @Transactional(readOnly = true)
+    public void forEachStudentByName(String name, Consumer<Student> action) {
+        forEachDetached(studentRepository.streamByNameContainingIgnoreCase(name), action);
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachStudentByAgeRange(Integer minAge, Integer maxAge, Consumer<Student> action) {
+        forEachDetached(studentRepository.streamByAgeBetween(minAge, maxAge), action);
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachStudentOlderThan(Integer minAge, Consumer<Student> action) {
+        forEachDetached(studentRepository.streamStudentsOlderThan(minAge), action);
+    }
+
     @Transactional(readOnly = true)
     public Long countStudentsByAgeRange(Integer minAge, Integer maxAge) {
-        return studentRepository.countStudentsByAgeRange(minAge, maxAge);
+        StudentColumnStore store = readyColumnStore();
+        if (store != null) {
+            return store.countByAgeBetween(minAge, maxAge);
+        }
+        return coalesce(ageRangeCounts, Arrays.asList(minAge, maxAge),
+                () -> studentRepository.countStudentsByAgeRange(minAge, maxAge));
+    }
+
+    @Transactional(readOnly = true)
+    public Long countStudentsByName(String name) {
+        StudentColumnStore store = readyColumnStore();
+        return store != null ? store.countByNameContaining(name) : studentRepository.countByNameContainingIgnoreCase(name);
+    }
+
+    /**
+     * Dashboard totals computed by a single GROUP BY over age buckets, so the response size does
+     * not depend on the number of students.
+     */
+    @Transactional(readOnly = true)
+    public StudentStatistics getStatistics() {
+        LocalDateTime now = LocalDateTime.now();
+        StudentColumnStore store = readyColumnStore();
+        List<AgeBucketAggregate> rows = store != null
+                ? store.aggregateByAgeBucket(now.minusDays(1), now.minusDays(7), now.minusDays(30))
+                : studentRepository.aggregateByAgeBucket(now.minusDays(1), now.minusDays(7), now.minusDays(30));
+
+        long count = 0;
+        long ageSum = 0;
+        long lastDay = 0;
+        long lastWeek = 0;
+        long lastMonth = 0;
+        Integer minAge = null;
+        Integer maxAge = null;
+        List<StudentStatistics.AgeBucket> histogram = new ArrayList<>(rows.size());
+        for (AgeBucketAggregate row : rows) {
+            count += row.count();
+            ageSum += row.ageSum();
+            lastDay += row.createdSinceDay();
+            lastWeek += row.createdSinceWeek();
+            lastMonth += row.createdSinceMonth();
+            minAge = minAge == null ? row.minAge() : Math.min(minAge, row.minAge());
+            maxAge = maxAge == null ? row.maxAge() : Math.max(maxAge, row.maxAge());
+            int fromAge = row.bucket() * AgeBucketAggregate.BUCKET_WIDTH;
+            histogram.add(StudentStatistics.AgeBucket.builder()
+                    .fromAge(fromAge)
+                    .toAge(fromAge + AgeBucketAggregate.BUCKET_WIDTH - 1)
+                    .count(row.count())
+                    .build());
+        }
+
+        return StudentStatistics.builder()
+                .count(count)
+                .minAge(minAge)
+                .maxAge(maxAge)
+                .averageAge(count > 0 ? (double) ageSum / count : null)
+                .ageHistogram(histogram)
+                .recentSignups(StudentStatistics.RecentSignups.builder()
+                        .last24Hours(lastDay)
+                        .last7Days(lastWeek)
+                        .last30Days(lastMonth)
+                        .build())
+                .build();
+    }
+
+    private static void checkBatchSize(int size) {
+        if (size > MAX_BATCH_SIZE) {
+            throw new InvalidBatchException("At most " + MAX_BATCH_SIZE + " items per request, got " + size);
+        }
+    }
+
+    private void forEachDetached(Stream<Student> students, Consumer<Student> action) {
+        try (students) {
+            students.forEach(student -> {
+                action.accept(student);
+                entityManager.detach(student);
+            });
+        }
+    }
+
+    /**
+     * The columnar read model when enabled and loaded. Its answers trail committed writes by up to
+     * the outbox relay interval, so it only serves aggregate reads.
+     */
+    private StudentColumnStore readyColumnStore() {
+        StudentColumnStore store = columnStore.getIfAvailable();
+        return store != null && store.isReady() ? store : null;
+    }
+
+    /**
+     * Only reads running in their own read-only transaction are shared. Inside a read-write
+     * transaction (e.g. getStudentById called from updateStudent) the caller may have pending
+     * changes that another transaction must not see, so those always query directly.
+     *
+     * <p>Clients that wrote recently read from the primary under replica routing, while a shared
+     * read may be running on a replica that has not caught up with their write, so they query
+     * directly as well.
+     *
+     * <p>A shared read that times out at the deadline of the request running it is retried by
+     * callers whose own deadline has not passed yet.
+     */
+    private <K, V> V coalesce(SingleFlight<K, V> flight, K key, Supplier<V> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !pinnedToPrimary()) {
+            try {
+                return flight.execute(key, loader);
+            } catch (DeadlineExceededException | QueryTimeoutException e) {
+                if (RequestDeadline.isExpired()) {
+                    throw e;
+                }
+            }
+        }
+        return loader.get();
+    }
+
+    private boolean pinnedToPrimary() {
+        ReadYourWritesTracker tracker = readYourWrites.getIfAvailable();
+        return tracker != null && tracker.wroteRecently();
+    }
+
+    private static Optional<Student> copyOf(Optional<Student> student) {
+        return student.map(s -> Student.builder()
+                .id(s.getId())
+                .name(s.getName())
+                .email(s.getEmail())
+                .age(s.getAge())
+                .address(s.getAddress())
+                .createdAt(s.getCreatedAt())
+                .updatedAt(s.getUpdatedAt())
+                .build());
     }
 }
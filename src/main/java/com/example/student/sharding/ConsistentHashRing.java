@@ -0,0 +1,60 @@
+package com.example.student.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maps student ids onto shards. Every shard owns {@code virtualNodes} points on a 64-bit ring and
+ * an id belongs to the first point at or after its hash. Shard {@code i} always gets the same
+ * points, so adding a shard only moves the ids that now fall on the new shard's points.
+ */
+public class ConsistentHashRing {
+
+    private final TreeMap<Long, Integer> ring = new TreeMap<>();
+    private final int shardCount;
+
+    public ConsistentHashRing(int shardCount, int virtualNodes) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shardCount = shardCount;
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(pointFor("shard-" + shard + "#" + node), shard);
+            }
+        }
+    }
+
+    public int shardFor(long id) {
+        Map.Entry<Long, Integer> entry = ring.ceilingEntry(mix(id));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    // SplitMix64 finalizer, spreads sequential ids evenly around the ring
+    private static long mix(long id) {
+        long z = id + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long pointFor(String node) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(node.getBytes(StandardCharsets.UTF_8));
+            long point = 0;
+            for (int i = 0; i < 8; i++) {
+                point = (point << 8) | (digest[i] & 0xFF);
+            }
+            return point;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
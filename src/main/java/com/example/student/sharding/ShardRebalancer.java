@@ -0,0 +1,66 @@
+package com.example.student.sharding;
+
+import com.example.student.model.Student;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves rows to the shard that owns them on the current ring, which is needed after appending a
+ * shard to the configuration. Each row is copied with an idempotent MERGE before it is deleted
+ * from its old shard, so an interrupted run can simply be repeated.
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ShardedStudentRepository repository;
+
+    public ShardRebalancer(ShardedStudentRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * @return the number of rows that were moved
+     */
+    public int rebalance() {
+        List<JdbcTemplate> shards = repository.getShards();
+        ConsistentHashRing ring = repository.getRing();
+        int moved = 0;
+        for (int source = 0; source < shards.size(); source++) {
+            JdbcTemplate from = shards.get(source);
+            long lastId = Long.MIN_VALUE;
+            List<Student> batch;
+            do {
+                batch = from.query("SELECT " + ShardedStudentRepository.COLUMNS
+                                + " FROM students WHERE id > ? ORDER BY id LIMIT " + BATCH_SIZE,
+                        ShardedStudentRepository.ROW_MAPPER, lastId);
+                for (Student student : batch) {
+                    int owner = ring.shardFor(student.getId());
+                    if (owner != source) {
+                        copy(student, shards.get(owner));
+                        from.update("DELETE FROM students WHERE id = ?", student.getId());
+                        moved++;
+                    }
+                    lastId = student.getId();
+                }
+            } while (batch.size() == BATCH_SIZE);
+        }
+        log.info("Shard rebalancing moved {} students across {} shards", moved, shards.size());
+        return moved;
+    }
+
+    private static void copy(Student student, JdbcTemplate to) {
+        to.update("MERGE INTO students (" + ShardedStudentRepository.COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                student.getId(), student.getName(), student.getEmail(), student.getAge(), student.getAddress(),
+                toTimestamp(student.getCreatedAt()), toTimestamp(student.getUpdatedAt()));
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
@@ -0,0 +1,370 @@
+package com.example.student.sharding;
+
+import com.example.student.exception.StudentNotFoundException;
+import com.example.student.model.Student;
+import com.example.student.repository.AbstractStudentRepository;
+import com.example.student.repository.AgeBucketAggregate;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Stores students across several databases. Rows live on the shard that owns their id on a
+ * {@link ConsistentHashRing}; the index database holds the id sequence and a global email index
+ * that enforces uniqueness and answers email lookups. Queries that are not keyed by id run on all
+ * shards in parallel and the sorted partial results are merged.
+ * <p>
+ * Writes are not atomic across databases and do not take part in Spring transactions; a failed
+ * row insert or update removes the email it reserved. The service's change-log row is written to
+ * the main database after the shard write, so a failure between the two leaves a change that is
+ * stored but never appears in the change feed.
+ */
+public class ShardedStudentRepository extends AbstractStudentRepository implements DisposableBean {
+
+    static final String COLUMNS = "id, name, email, age, address, created_at, updated_at";
+
+    static final RowMapper<Student> ROW_MAPPER = (rs, rowNum) -> Student.builder()
+            .id(rs.getLong("id"))
+            .name(rs.getString("name"))
+            .email(rs.getString("email"))
+            .age(rs.getInt("age"))
+            .address(rs.getString("address"))
+            .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+            .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+            .build();
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id", "name", "name", "email", "email", "age", "age",
+            "address", "address", "createdAt", "created_at", "updatedAt", "updated_at");
+
+    private final List<JdbcTemplate> shards;
+    private final JdbcTemplate index;
+    private final ConsistentHashRing ring;
+    private final ExecutorService scatterExecutor;
+
+    public ShardedStudentRepository(List<DataSource> shardDataSources, DataSource indexDataSource, int virtualNodes) {
+        this.shards = shardDataSources.stream().map(JdbcTemplate::new).toList();
+        this.index = new JdbcTemplate(indexDataSource);
+        this.ring = new ConsistentHashRing(shards.size(), virtualNodes);
+        this.scatterExecutor = Executors.newFixedThreadPool(shards.size(), runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        initializeSchema();
+    }
+
+    private void initializeSchema() {
+        for (JdbcTemplate shard : shards) {
+            shard.execute("CREATE TABLE IF NOT EXISTS students ("
+                    + "id BIGINT PRIMARY KEY, name VARCHAR(100) NOT NULL, email VARCHAR(150) NOT NULL, "
+                    + "age INT NOT NULL, address VARCHAR(500), created_at TIMESTAMP, updated_at TIMESTAMP)");
+            shard.execute("CREATE INDEX IF NOT EXISTS idx_students_age ON students (age)");
+        }
+        index.execute("CREATE SEQUENCE IF NOT EXISTS student_id_seq");
+        index.execute("CREATE TABLE IF NOT EXISTS student_email_index ("
+                + "email VARCHAR(150) PRIMARY KEY, student_id BIGINT NOT NULL)");
+    }
+
+    /**
+     * Inserts a student without an id under a new one. A student with an id must still exist;
+     * if it does not, or is deleted before the update lands, nothing is written and
+     * {@link StudentNotFoundException} is thrown.
+     */
+    @Override
+    public <S extends Student> S save(S student) {
+        LocalDateTime now = LocalDateTime.now();
+        if (student.getId() == null) {
+            insert(student, now);
+        } else {
+            Student existing = findById(student.getId())
+                    .orElseThrow(() -> new StudentNotFoundException(student.getId()));
+            update(student, existing, now);
+        }
+        return student;
+    }
+
+    private void insert(Student student, LocalDateTime now) {
+        long id = index.queryForObject("SELECT NEXT VALUE FOR student_id_seq", Long.class);
+        // Reserving the email first makes a duplicate fail before anything is written to a shard
+        index.update("INSERT INTO student_email_index (email, student_id) VALUES (?, ?)", student.getEmail(), id);
+        try {
+            student.setId(id);
+            student.setCreatedAt(now);
+            student.setUpdatedAt(now);
+            shardFor(id).update("INSERT INTO students (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    id, student.getName(), student.getEmail(), student.getAge(), student.getAddress(),
+                    Timestamp.valueOf(now), Timestamp.valueOf(now));
+        } catch (RuntimeException e) {
+            index.update("DELETE FROM student_email_index WHERE email = ?", student.getEmail());
+            throw e;
+        }
+    }
+
+    void update(Student student, Student existing, LocalDateTime now) {
+        boolean emailChanged = !existing.getEmail().equals(student.getEmail());
+        if (emailChanged) {
+            index.update("INSERT INTO student_email_index (email, student_id) VALUES (?, ?)",
+                    student.getEmail(), student.getId());
+        }
+        try {
+            int updated = shardFor(student.getId()).update(
+                    "UPDATE students SET name = ?, email = ?, age = ?, address = ?, updated_at = ? WHERE id = ?",
+                    student.getName(), student.getEmail(), student.getAge(), student.getAddress(),
+                    Timestamp.valueOf(now), student.getId());
+            if (updated == 0) {
+                throw new StudentNotFoundException(student.getId());
+            }
+        } catch (RuntimeException e) {
+            if (emailChanged) {
+                index.update("DELETE FROM student_email_index WHERE email = ?", student.getEmail());
+            }
+            throw e;
+        }
+        student.setCreatedAt(existing.getCreatedAt());
+        student.setUpdatedAt(now);
+        if (emailChanged) {
+            index.update("DELETE FROM student_email_index WHERE email = ?", existing.getEmail());
+        }
+    }
+
+    @Override
+    public Optional<Student> findById(Long id) {
+        return shardFor(id).query("SELECT " + COLUMNS + " FROM students WHERE id = ?", ROW_MAPPER, id)
+                .stream().findFirst();
+    }
+
+    @Override
+    public List<Student> findAllById(Iterable<Long> ids) {
+        Map<Integer, List<Long>> idsByShard = new HashMap<>();
+        ids.forEach(id -> idsByShard.computeIfAbsent(ring.shardFor(id), shard -> new ArrayList<>()).add(id));
+        List<CompletableFuture<List<Student>>> futures = idsByShard.entrySet().stream()
+                .map(entry -> CompletableFuture.supplyAsync(() -> new NamedParameterJdbcTemplate(shards.get(entry.getKey()))
+                        .query("SELECT " + COLUMNS + " FROM students WHERE id IN (:ids)",
+                                new MapSqlParameterSource("ids", entry.getValue()), ROW_MAPPER), scatterExecutor))
+                .toList();
+        return mergeSorted(join(futures), comparator(Sort.unsorted()));
+    }
+
+    @Override
+    public List<Student> findAll() {
+        return findAll(Sort.unsorted());
+    }
+
+    @Override
+    public List<Student> findAll(Sort sort) {
+        String sql = "SELECT " + COLUMNS + " FROM students" + orderBy(sort);
+        return mergeSorted(scatter(shard -> shard.query(sql, ROW_MAPPER)), comparator(sort));
+    }
+
+    @Override
+    public Page<Student> findAll(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(findAll(pageable.getSort()));
+        }
+        // Each shard returns its first offset + size rows; the merged page is exact
+        long limit = pageable.getOffset() + pageable.getPageSize();
+        String sql = "SELECT " + COLUMNS + " FROM students" + orderBy(pageable.getSort()) + " LIMIT " + limit;
+        List<Student> merged = mergeSorted(scatter(shard -> shard.query(sql, ROW_MAPPER)),
+                comparator(pageable.getSort()));
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(merged.subList(from, to), pageable, count());
+    }
+
+    @Override
+    public Optional<Student> findByEmail(String email) {
+        return index.queryForList("SELECT student_id FROM student_email_index WHERE email = ?", Long.class, email)
+                .stream().findFirst().flatMap(this::findById);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return index.queryForObject("SELECT COUNT(*) FROM student_email_index WHERE email = ?",
+                Long.class, email) > 0;
+    }
+
+    @Override
+    public List<Student> findByNameContainingIgnoreCase(String name) {
+        return scatterSorted("WHERE LOWER(name) LIKE ? ESCAPE '\\'", containsPattern(name));
+    }
+
+    @Override
+    public long countByNameContainingIgnoreCase(String name) {
+        return scatter(shard -> shard.queryForObject("SELECT COUNT(*) FROM students WHERE LOWER(name) LIKE ? ESCAPE '\\'",
+                Long.class, containsPattern(name))).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public List<Student> findByAgeBetween(Integer minAge, Integer maxAge) {
+        return scatterSorted("WHERE age BETWEEN ? AND ?", minAge, maxAge);
+    }
+
+    @Override
+    public List<Student> findStudentsOlderThan(Integer minAge) {
+        return scatterSorted("WHERE age >= ?", minAge);
+    }
+
+    @Override
+    public Long countStudentsByAgeRange(Integer minAge, Integer maxAge) {
+        return scatter(shard -> shard.queryForObject("SELECT COUNT(*) FROM students WHERE age BETWEEN ? AND ?",
+                Long.class, minAge, maxAge)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public List<AgeBucketAggregate> aggregateByAgeBucket(LocalDateTime sinceDay, LocalDateTime sinceWeek,
+            LocalDateTime sinceMonth) {
+        String sql = "SELECT age / 10 AS bucket, COUNT(*) AS cnt, MIN(age) AS min_age, MAX(age) AS max_age, "
+                + "SUM(age) AS age_sum, "
+                + "SUM(CASE WHEN created_at >= ? THEN 1 ELSE 0 END) AS since_day, "
+                + "SUM(CASE WHEN created_at >= ? THEN 1 ELSE 0 END) AS since_week, "
+                + "SUM(CASE WHEN created_at >= ? THEN 1 ELSE 0 END) AS since_month "
+                + "FROM students GROUP BY age / 10";
+        RowMapper<AgeBucketAggregate> rowMapper = (rs, rowNum) -> new AgeBucketAggregate(rs.getInt("bucket"),
+                rs.getLong("cnt"), rs.getInt("min_age"), rs.getInt("max_age"), rs.getLong("age_sum"),
+                rs.getLong("since_day"), rs.getLong("since_week"), rs.getLong("since_month"));
+        TreeMap<Integer, AgeBucketAggregate> buckets = new TreeMap<>();
+        scatter(shard -> shard.query(sql, rowMapper, Timestamp.valueOf(sinceDay), Timestamp.valueOf(sinceWeek),
+                Timestamp.valueOf(sinceMonth)))
+                .forEach(rows -> rows.forEach(row -> buckets.merge(row.bucket(), row, AgeBucketAggregate::combine)));
+        return new ArrayList<>(buckets.values());
+    }
+
+    @Override
+    public long count() {
+        return scatter(shard -> shard.queryForObject("SELECT COUNT(*) FROM students", Long.class))
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return shardFor(id).queryForObject("SELECT COUNT(*) FROM students WHERE id = ?", Long.class, id) > 0;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        findById(id).ifPresent(student -> {
+            shardFor(id).update("DELETE FROM students WHERE id = ?", id);
+            index.update("DELETE FROM student_email_index WHERE email = ?", student.getEmail());
+        });
+    }
+
+    @Override
+    public void deleteAll() {
+        scatter(shard -> shard.update("DELETE FROM students"));
+        index.update("DELETE FROM student_email_index");
+    }
+
+    @Override
+    public void destroy() {
+        scatterExecutor.shutdownNow();
+    }
+
+    List<JdbcTemplate> getShards() {
+        return shards;
+    }
+
+    ConsistentHashRing getRing() {
+        return ring;
+    }
+
+    private JdbcTemplate shardFor(long id) {
+        return shards.get(ring.shardFor(id));
+    }
+
+    private List<Student> scatterSorted(String where, Object... args) {
+        String sql = "SELECT " + COLUMNS + " FROM students " + where + " ORDER BY id";
+        return mergeSorted(scatter(shard -> shard.query(sql, ROW_MAPPER, args)), comparator(Sort.unsorted()));
+    }
+
+    private <T> List<T> scatter(Function<JdbcTemplate, T> query) {
+        return join(shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), scatterExecutor))
+                .toList());
+    }
+
+    private static <T> List<T> join(Collection<CompletableFuture<T>> futures) {
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * K-way merge of per-shard results that are already sorted by {@code comparator}.
+     */
+    static List<Student> mergeSorted(List<List<Student>> parts, Comparator<Student> comparator) {
+        record Cursor(List<Student> rows, int position) {
+            Student current() {
+                return rows.get(position);
+            }
+        }
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Comparator.comparing(Cursor::current, comparator));
+        int total = 0;
+        for (List<Student> part : parts) {
+            total += part.size();
+            if (!part.isEmpty()) {
+                heads.add(new Cursor(part, 0));
+            }
+        }
+        List<Student> merged = new ArrayList<>(total);
+        while (!heads.isEmpty()) {
+            Cursor head = heads.poll();
+            merged.add(head.current());
+            if (head.position() + 1 < head.rows().size()) {
+                heads.add(new Cursor(head.rows(), head.position() + 1));
+            }
+        }
+        return merged;
+    }
+
+    private static String orderBy(Sort sort) {
+        String columns = sort.stream()
+                .map(order -> {
+                    String column = SORT_COLUMNS.get(order.getProperty());
+                    if (column == null) {
+                        throw new IllegalArgumentException("No sortable property '" + order.getProperty() + "' on Student");
+                    }
+                    return column + (order.isAscending() ? " ASC" : " DESC");
+                })
+                .collect(Collectors.joining(", "));
+        return " ORDER BY " + (columns.isEmpty() ? "id" : columns + ", id");
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static String containsPattern(String name) {
+        return "%" + name.toLowerCase().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
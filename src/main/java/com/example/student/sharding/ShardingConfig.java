@@ -0,0 +1,52 @@
+package com.example.student.sharding;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Replaces the JPA repository with {@link ShardedStudentRepository} when
+ * {@code student.sharding.enabled=true}. The JPA repository keeps existing but is no longer
+ * the one injected into the service.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "student.sharding", name = "enabled")
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public ShardedStudentRepository shardedStudentRepository(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("student.sharding.shards must list at least one database");
+        }
+        List<DataSource> shards = properties.getShards().stream().map(ShardingConfig::dataSource).toList();
+        DataSource index = properties.getIndex() != null ? dataSource(properties.getIndex()) : shards.get(0);
+        return new ShardedStudentRepository(shards, index, properties.getVirtualNodes());
+    }
+
+    // Before the warm-up runner, which samples a committed student
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @ConditionalOnProperty(prefix = "student.sharding", name = "rebalance-on-startup")
+    public ApplicationRunner shardRebalancer(ShardedStudentRepository repository) {
+        return args -> new ShardRebalancer(repository).rebalance();
+    }
+
+    private static DataSource dataSource(ShardingProperties.Database database) {
+        return DataSourceBuilder.create()
+                .url(database.getUrl())
+                .username(database.getUsername())
+                .password(database.getPassword())
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.student.sharding;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    // Order matters: shard i keeps its ring positions, so only append new shards
+    private List<Database> shards = new ArrayList<>();
+
+    // Holds the global email index and id sequence, defaults to the first shard
+    private Database index;
+
+    private int virtualNodes = 128;
+
+    private boolean rebalanceOnStartup = false;
+
+    @Getter
+    @Setter
+    public static class Database {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
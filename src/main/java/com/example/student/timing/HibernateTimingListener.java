@@ -0,0 +1,71 @@
+package com.example.student.timing;
+
+import com.example.student.timing.RequestTiming.Phase;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Attributes Hibernate's JDBC and flush work to the current request. Hibernate creates one
+ * instance per session, see {@link ServerTimingConfig}.
+ */
+public class HibernateTimingListener implements SessionEventListener {
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        RequestTiming.start(Phase.CONNECTION);
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestTiming.stop(Phase.CONNECTION);
+    }
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        RequestTiming.start(Phase.DB);
+    }
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        RequestTiming.stop(Phase.DB);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        RequestTiming.start(Phase.DB);
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTiming.stop(Phase.DB);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        RequestTiming.start(Phase.DB);
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTiming.stop(Phase.DB);
+    }
+
+    @Override
+    public void flushStart() {
+        RequestTiming.start(Phase.FLUSH);
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        RequestTiming.stop(Phase.FLUSH);
+    }
+
+    @Override
+    public void partialFlushStart() {
+        RequestTiming.start(Phase.FLUSH);
+    }
+
+    @Override
+    public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+        RequestTiming.stop(Phase.FLUSH);
+    }
+}
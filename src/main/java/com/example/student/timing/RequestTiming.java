@@ -0,0 +1,117 @@
+package com.example.student.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time spent per phase by the request running on the current thread. {@link ServerTimingFilter}
+ * binds one instance per request; the hooks in this package call {@link #start} and
+ * {@link #stop} around their phase and do nothing on threads without a request.
+ *
+ * <p>Phases nest (db time is also repository time, which is also service time), and re-entering
+ * a phase that is already running, e.g. a service method calling another one through the proxy,
+ * is only counted once.
+ */
+public final class RequestTiming {
+
+    public enum Phase {
+        VALIDATE("validate", "Bean validation"),
+        SERVICE("service", "StudentService"),
+        REPOSITORY("repo", "Repository calls"),
+        CONNECTION("conn", "JDBC connection acquisition"),
+        DB("db", "JDBC statements"),
+        FLUSH("flush", "Hibernate flush"),
+        SERIALIZE("serialize", "Response body writing");
+
+        private final String metricName;
+        private final String description;
+
+        Phase(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+
+        public String description() {
+            return description;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] elapsed = new long[PHASES.length];
+    private final long[] startedAt = new long[PHASES.length];
+    private final int[] depth = new int[PHASES.length];
+
+    static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static void start(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.depth[phase.ordinal()]++ == 0) {
+            timing.startedAt[phase.ordinal()] = System.nanoTime();
+        }
+    }
+
+    static void stop(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.depth[phase.ordinal()] > 0 && --timing.depth[phase.ordinal()] == 0) {
+            timing.elapsed[phase.ordinal()] += System.nanoTime() - timing.startedAt[phase.ordinal()];
+        }
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Milliseconds per phase that has been entered, including phases still running.
+     */
+    Map<String, Double> phaseMillis() {
+        long now = System.nanoTime();
+        Map<String, Double> millis = new LinkedHashMap<>();
+        for (Phase phase : PHASES) {
+            int i = phase.ordinal();
+            long nanos = elapsed[i] + (depth[i] > 0 ? now - startedAt[i] : 0);
+            if (nanos > 0) {
+                millis.put(phase.metricName(), toMillis(nanos));
+            }
+        }
+        return millis;
+    }
+
+    /**
+     * Phases so far as a {@code Server-Timing} value, ending with the total time up to now.
+     */
+    String toHeaderValue() {
+        long now = System.nanoTime();
+        StringBuilder header = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            int i = phase.ordinal();
+            long nanos = elapsed[i] + (depth[i] > 0 ? now - startedAt[i] : 0);
+            if (nanos > 0) {
+                header.append(phase.metricName()).append(";desc=\"").append(phase.description())
+                        .append("\";dur=").append(toMillis(nanos)).append(", ");
+            }
+        }
+        return header.append("app;dur=").append(toMillis(now - startNanos)).toString();
+    }
+
+    static double toMillis(long nanos) {
+        // Three decimals are plenty and keep the header short
+        return Math.round(nanos / (double) TimeUnit.MICROSECONDS.toNanos(1)) / 1000.0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.student.timing;
+
+import com.example.student.timing.RequestTiming.Phase;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Starts the serialize phase just before a response body is handed to its message converter.
+ * {@link SerializationTimingInterceptor} stops it once the converter has written the body.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "student.server-timing", name = "enabled", matchIfMissing = true)
+class SerializationTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        RequestTiming.start(Phase.SERIALIZE);
+        return body;
+    }
+}
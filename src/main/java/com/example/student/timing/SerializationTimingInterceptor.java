@@ -0,0 +1,27 @@
+package com.example.student.timing;
+
+import com.example.student.timing.RequestTiming.Phase;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Stops the serialize phase started by {@link SerializationTimingAdvice}. Response bodies are
+ * written inside the handler call, so by {@code postHandle} the converter has finished;
+ * {@code afterCompletion} covers error bodies written by exception handlers.
+ */
+class SerializationTimingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+            ModelAndView modelAndView) {
+        RequestTiming.stop(Phase.SERIALIZE);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        RequestTiming.stop(Phase.SERIALIZE);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.student.timing;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Per-request phase timing for {@code /api/*}, reported in a {@code Server-Timing} header and,
+ * for slow requests, through the {@code slowrequests} actuator endpoint. On by default; disable
+ * with {@code student.server-timing.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(ServerTimingProperties.class)
+@ConditionalOnProperty(prefix = "student.server-timing", name = "enabled", matchIfMissing = true)
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<LocalValidatorFactoryBean> validators;
+
+    public ServerTimingConfig(ObjectProvider<LocalValidatorFactoryBean> validators) {
+        this.validators = validators;
+    }
+
+    @Bean
+    public SlowRequestLog slowRequestLog(ServerTimingProperties properties) {
+        return new SlowRequestLog(properties.getSlowThreshold().toNanos(), properties.getSlowRequestCapacity());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(SlowRequestLog slowRequestLog) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(slowRequestLog));
+        registration.addUrlPatterns("/api/*");
+        // Outside load shedding, so shed requests are timed too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public SlowRequestEndpoint slowRequestEndpoint(SlowRequestLog slowRequestLog) {
+        return new SlowRequestEndpoint(slowRequestLog);
+    }
+
+    @Bean
+    public TimingAspect timingAspect() {
+        return new TimingAspect();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateTimingListener() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                HibernateTimingListener.class.getName());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SerializationTimingInterceptor()).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public Validator getValidator() {
+        LocalValidatorFactoryBean validator = validators.getIfAvailable();
+        return validator == null ? null : new TimedValidator(validator);
+    }
+}
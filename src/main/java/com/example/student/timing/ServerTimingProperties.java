@@ -0,0 +1,21 @@
+package com.example.student.timing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.server-timing")
+public class ServerTimingProperties {
+
+    private boolean enabled = true;
+
+    // Requests at least this slow are kept for the slowrequests actuator endpoint
+    private Duration slowThreshold = Duration.ofMillis(200);
+
+    // How many slow requests are kept; the oldest is overwritten first
+    private int slowRequestCapacity = 128;
+}
@@ -0,0 +1,12 @@
+package com.example.student.timing;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A request that took at least {@code student.server-timing.slow-threshold}. {@code phases} holds
+ * milliseconds per phase, which nest and so do not add up to {@code totalMillis}.
+ */
+public record SlowRequest(Instant finishedAt, String method, String uri, int status, double totalMillis,
+        Map<String, Double> phases) {
+}
@@ -0,0 +1,31 @@
+package com.example.student.timing;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+
+import java.util.List;
+
+/**
+ * Operator view of the slowest requests with their phase breakdown. An actuator endpoint, so it
+ * is only reachable once exposed with {@code management.endpoints.web.exposure.include}.
+ */
+@WebEndpoint(id = "slowrequests")
+public class SlowRequestEndpoint {
+
+    private final SlowRequestLog slowRequestLog;
+
+    public SlowRequestEndpoint(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @ReadOperation
+    public List<SlowRequest> slowRequests() {
+        return slowRequestLog.slowest();
+    }
+
+    @DeleteOperation
+    public void clearSlowRequests() {
+        slowRequestLog.clear();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.student.timing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The slowest requests seen since the last {@link #clear}, up to {@code capacity} of them, kept in
+ * a min-heap on duration so a new request only displaces one that was faster. Requests under the
+ * threshold, or faster than every kept request once the heap is full, are rejected on a volatile
+ * read without taking the lock.
+ */
+public class SlowRequestLog {
+
+    private record Entry(long nanos, SlowRequest request) {
+    }
+
+    private final long thresholdNanos;
+    private final int capacity;
+    private final PriorityQueue<Entry> entries = new PriorityQueue<>(Comparator.comparingLong(Entry::nanos));
+    private volatile long floorNanos;
+
+    public SlowRequestLog(long thresholdNanos, int capacity) {
+        this.thresholdNanos = thresholdNanos;
+        this.capacity = capacity;
+        this.floorNanos = thresholdNanos;
+    }
+
+    void record(String method, String uri, int status, RequestTiming timing) {
+        long nanos = timing.elapsedNanos();
+        if (nanos < floorNanos) {
+            return;
+        }
+        record(nanos, new SlowRequest(Instant.now(), method, uri, status, RequestTiming.toMillis(nanos),
+                timing.phaseMillis()));
+    }
+
+    synchronized void record(long nanos, SlowRequest request) {
+        if (nanos < thresholdNanos || capacity <= 0) {
+            return;
+        }
+        if (entries.size() >= capacity) {
+            if (nanos <= entries.peek().nanos()) {
+                return;
+            }
+            entries.poll();
+        }
+        entries.add(new Entry(nanos, request));
+        if (entries.size() >= capacity) {
+            floorNanos = entries.peek().nanos();
+        }
+    }
+
+    /**
+     * The kept requests, slowest first.
+     */
+    public synchronized List<SlowRequest> slowest() {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingLong(Entry::nanos).reversed());
+        List<SlowRequest> requests = new ArrayList<>(sorted.size());
+        sorted.forEach(entry -> requests.add(entry.request()));
+        return requests;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        floorNanos = thresholdNanos;
+    }
+}
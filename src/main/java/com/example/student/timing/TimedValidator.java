@@ -0,0 +1,48 @@
+package com.example.student.timing;
+
+import com.example.student.timing.RequestTiming.Phase;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * Times {@code @Valid} request body validation by wrapping the application's validator.
+ */
+class TimedValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+
+    TimedValidator(SmartValidator delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        RequestTiming.start(Phase.VALIDATE);
+        try {
+            delegate.validate(target, errors);
+        } finally {
+            RequestTiming.stop(Phase.VALIDATE);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        RequestTiming.start(Phase.VALIDATE);
+        try {
+            delegate.validate(target, errors, validationHints);
+        } finally {
+            RequestTiming.stop(Phase.VALIDATE);
+        }
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors,
+            Object... validationHints) {
+        delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+    }
+}
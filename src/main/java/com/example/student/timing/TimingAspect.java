@@ -0,0 +1,36 @@
+package com.example.student.timing;
+
+import com.example.student.timing.RequestTiming.Phase;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Times service and repository calls. Runs outside the transaction interceptor so service time
+ * includes commit.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TimingAspect {
+
+    @Around("within(com.example.student.service.StudentService)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Phase.SERVICE, joinPoint);
+    }
+
+    @Around("execution(* com.example.student.repository.StudentRepository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Phase.REPOSITORY, joinPoint);
+    }
+
+    private static Object time(Phase phase, ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTiming.start(phase);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestTiming.stop(phase);
+        }
+    }
+}
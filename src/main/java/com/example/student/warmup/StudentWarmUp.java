@@ -0,0 +1,237 @@
+package com.example.student.warmup;
+
+import com.example.student.controller.StudentController;
+import com.example.student.controller.StudentStream;
+import com.example.student.model.Student;
+import com.example.student.outbox.StudentChangeRepository;
+import com.example.student.repository.AbstractStudentRepository;
+import com.example.student.repository.StudentRepository;
+import com.example.student.service.StudentService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the main request paths in-process before the application reports itself ready, so the
+ * first real requests do not pay for JIT compilation, Hibernate query translation and lazily
+ * initialized infrastructure.
+ *
+ * <p>Each round runs the point lookups and counts against a committed student, if there is one,
+ * which warms the read-only transaction, coalescing and second-level cache paths, and the list
+ * queries with values that match few real students. Response bodies are serialized with the
+ * application's {@link ObjectMapper} and discarded.
+ *
+ * <p>With {@code write-rounds} each round also creates a scratch student, reads it back, then
+ * updates and deletes it, all in one transaction that is rolled back. Rolled-back inserts still use
+ * up student ids and change-log sequence numbers, so this is off by default: every round would
+ * leave gaps the outbox relay waits out and delta-sync tokens carry.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StudentWarmUp {
+
+    static final String SCRATCH_NAME = "Warm-up Student";
+    static final String SCRATCH_EMAIL_DOMAIN = "@warm-up.invalid";
+    // Oldest age the model allows, so the list queries of the scratch round match few real students
+    private static final int SCRATCH_AGE = 150;
+    private static final int STATISTICS_EVERY = 16;
+    private static final List<Class<?>> QUERY_REPOSITORIES = List.of(StudentRepository.class, StudentChangeRepository.class);
+
+    // Stands in for a committed student when the table is empty, so the reads take the miss paths
+    private static final Student ABSENT = Student.builder()
+            .id(-1L)
+            .name(SCRATCH_NAME)
+            .email("absent" + SCRATCH_EMAIL_DOMAIN)
+            .age(SCRATCH_AGE)
+            .build();
+
+    private final StudentController controller;
+    private final StudentService service;
+    private final StudentRepository repository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final WarmUpProperties properties;
+
+    private volatile int completedRounds;
+
+    /**
+     * Runs up to {@code iterations} rounds, stopping early at {@code max-duration}.
+     *
+     * @return the number of rounds run
+     */
+    public int run() {
+        long start = System.nanoTime();
+        long deadline = start + properties.getMaxDuration().toNanos();
+        int prepared = prepareQueries();
+
+        // Writes to other backends do not take part in the JPA transaction and would not roll back
+        boolean writes = properties.isWriteRounds() && !(repository instanceof AbstractStudentRepository);
+        if (properties.isWriteRounds() && !writes) {
+            log.info("Warm-up skips the write paths, {} cannot roll them back", repository.getClass().getSimpleName());
+        }
+        Student committed = repository.findAll(PageRequest.of(0, 1)).stream().findFirst().orElse(ABSENT);
+        TransactionTemplate rolledBack = new TransactionTemplate(transactionManager);
+
+        int round = 0;
+        while (round < properties.getIterations() && System.nanoTime() < deadline) {
+            if (writes) {
+                int scratch = round;
+                rolledBack.executeWithoutResult(status -> {
+                    status.setRollbackOnly();
+                    scratchRound(scratch);
+                });
+            }
+            pointReads(committed);
+            listReads();
+            serialize(controller.getChanges(null, 1).getBody());
+            if (round % STATISTICS_EVERY == 0) {
+                serialize(controller.getStatistics().getBody());
+            }
+            completedRounds = ++round;
+        }
+        log.info("Warm-up prepared {} queries and ran {} of {} rounds in {} ms", prepared, round,
+                properties.getIterations(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return round;
+    }
+
+    public int completedRounds() {
+        return completedRounds;
+    }
+
+    /**
+     * Runs every JPQL select declared with {@code @Query} once, so Hibernate has parsed it and
+     * cached its SQL translation before a request needs it. Parameters are bound to values that
+     * match few or no rows.
+     */
+    private int prepareQueries() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            int prepared = 0;
+            for (Class<?> repositoryType : QUERY_REPOSITORIES) {
+                for (Method method : repositoryType.getMethods()) {
+                    Query declared = method.getAnnotation(Query.class);
+                    if (declared == null || declared.nativeQuery()
+                            || !declared.value().stripLeading().regionMatches(true, 0, "SELECT", 0, 6)) {
+                        continue;
+                    }
+                    jakarta.persistence.Query query = entityManager.createQuery(declared.value());
+                    for (Parameter parameter : method.getParameters()) {
+                        Param name = parameter.getAnnotation(Param.class);
+                        query.setParameter(name != null ? name.value() : parameter.getName(), placeholder(parameter.getType()));
+                    }
+                    query.getResultList();
+                    prepared++;
+                }
+            }
+            return prepared;
+        });
+    }
+
+    // Goes through the service for the create: with write-behind enabled the controller would
+    // queue it and commit it outside this transaction
+    private void scratchRound(int round) {
+        Student created = service.createStudent(validated(Student.builder()
+                .name(SCRATCH_NAME)
+                .email("student-" + round + SCRATCH_EMAIL_DOMAIN)
+                .age(SCRATCH_AGE)
+                .address("Scratch row, rolled back")
+                .build()));
+        serialize(created);
+        pointReads(created);
+        listReads();
+        serialize(controller.updateStudent(created.getId(), validated(Student.builder()
+                .name(SCRATCH_NAME)
+                .email(created.getEmail())
+                .age(SCRATCH_AGE - 1)
+                .build())).getBody());
+        controller.deleteStudent(created.getId());
+    }
+
+    private void pointReads(Student student) {
+        serialize(controller.getStudentById(student.getId()).getBody());
+        serialize(controller.getStudentsByIds(List.of(student.getId())).getBody());
+        controller.studentExists(student.getId());
+        serialize(controller.getStudentByEmail(student.getEmail()).getBody());
+        serialize(controller.countStudentsByAgeRange(student.getAge(), student.getAge()).getBody());
+        serialize(controller.countStudentsByName(student.getName()).getBody());
+    }
+
+    private void listReads() {
+        serialize(controller.searchStudentsByName(SCRATCH_NAME).getBody());
+        serialize(controller.getStudentsByAgeRange(SCRATCH_AGE, SCRATCH_AGE).getBody());
+        serialize(controller.getStudentsOlderThan(SCRATCH_AGE).getBody());
+    }
+
+    private Student validated(Student student) {
+        Set<ConstraintViolation<Student>> violations = validator.validate(student);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Invalid warm-up student: " + violations);
+        }
+        return student;
+    }
+
+    private void serialize(Object body) {
+        if (body == null) {
+            return;
+        }
+        try {
+            if (body instanceof StudentStream students) {
+                try (JsonGenerator generator = objectMapper.createGenerator(OutputStream.nullOutputStream())) {
+                    generator.writeStartArray();
+                    students.forEach(student -> write(generator, student));
+                    generator.writeEndArray();
+                }
+            } else {
+                objectMapper.writeValue(OutputStream.nullOutputStream(), body);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(JsonGenerator generator, Student student) {
+        try {
+            objectMapper.writeValue(generator, student);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Object placeholder(Class<?> type) {
+        if (type == Integer.class || type == int.class) {
+            return Integer.MAX_VALUE;
+        }
+        if (type == Long.class || type == long.class) {
+            return Long.MAX_VALUE;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == String.class) {
+            return "";
+        }
+        throw new IllegalArgumentException("No placeholder value for query parameters of type " + type.getName());
+    }
+}
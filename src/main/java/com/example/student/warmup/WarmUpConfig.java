@@ -0,0 +1,42 @@
+package com.example.student.warmup;
+
+import com.example.student.controller.StudentController;
+import com.example.student.repository.StudentRepository;
+import com.example.student.service.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Runs {@link StudentWarmUp} at startup when {@code student.warm-up.enabled=true}. Spring Boot
+ * reports readiness ({@code /actuator/health/readiness}) only after all application runners have
+ * returned, so instances are not sent traffic until the warm-up is done.
+ */
+@Configuration
+@EnableConfigurationProperties(WarmUpProperties.class)
+@ConditionalOnProperty(prefix = "student.warm-up", name = "enabled", matchIfMissing = true)
+public class WarmUpConfig {
+
+    @Bean
+    public StudentWarmUp studentWarmUp(StudentController controller, StudentService service,
+            StudentRepository repository, EntityManager entityManager, PlatformTransactionManager transactionManager,
+            Validator validator, ObjectMapper objectMapper, WarmUpProperties properties) {
+        return new StudentWarmUp(controller, service, repository, entityManager, transactionManager, validator,
+                objectMapper, properties);
+    }
+
+    // Last, so data loaded by other runners is in place
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public ApplicationRunner studentWarmUpRunner(StudentWarmUp warmUp) {
+        return args -> warmUp.run();
+    }
+}
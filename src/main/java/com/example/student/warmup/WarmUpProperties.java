@@ -0,0 +1,26 @@
+package com.example.student.warmup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.warm-up")
+public class WarmUpProperties {
+
+    private boolean enabled = true;
+
+    // Rounds of the workload; each round calls every read endpoint once
+    private int iterations = 1000;
+
+    // Also create, update and delete a scratch student per round in a rolled-back transaction.
+    // Off by default: each rollback still uses up change-log sequence numbers, which the outbox
+    // relay and delta-sync tokens then have to treat as gaps
+    private boolean writeRounds = false;
+
+    // Readiness is reported after this long even if not all rounds have run
+    private Duration maxDuration = Duration.ofSeconds(30);
+}
@@ -58,7 +58,7 @@ class StudentApp {
             const students = await response.json();
             this.currentStudents = students;
             this.displayStudents(students);
-            this.updateStatistics(students);
+            this.updateStatistics();
             this.hideNoResults();
         } catch (error) {
             console.error('Error loading students:', error);
@@ -86,7 +86,7 @@ class StudentApp {
             const newStudent = await response.json();
             this.currentStudents.push(newStudent);
             this.displayStudents(this.currentStudents);
-            this.updateStatistics(this.currentStudents);
+            this.updateStatistics();
             this.showSuccess('Öğrenci başarıyla eklendi!');
             this.studentModal.hide();
             this.clearForm();
@@ -120,7 +120,7 @@ class StudentApp {
             }
             
             this.displayStudents(this.currentStudents);
-            this.updateStatistics(this.currentStudents);
+            this.updateStatistics();
             this.showSuccess('Öğrenci başarıyla güncellendi!');
             this.studentModal.hide();
             this.clearForm();
@@ -166,7 +166,7 @@ class StudentApp {
             
             // Update UI
             this.displayStudents(this.currentStudents);
-            this.updateStatistics(this.currentStudents);
+            this.updateStatistics();
             
             // Show success message
             this.showSuccess('Öğrenci başarıyla silindi!');
@@ -297,15 +297,20 @@ class StudentApp {
         });
     }
 
-    updateStatistics(students) {
-        document.getElementById('totalStudents').textContent = students.length;
-        
-        if (students.length > 0) {
-            const totalAge = students.reduce((sum, student) => sum + student.age, 0);
-            const avgAge = Math.round(totalAge / students.length);
-            document.getElementById('avgAge').textContent = avgAge;
-        } else {
-            document.getElementById('avgAge').textContent = '0';
+    async updateStatistics() {
+        try {
+            const response = await fetch(`${this.apiBaseUrl}/stats`);
+
+            if (!response.ok) {
+                throw new Error(`HTTP error! status: ${response.status}`);
+            }
+
+            const stats = await response.json();
+            document.getElementById('totalStudents').textContent = stats.count;
+            document.getElementById('avgAge').textContent =
+                stats.averageAge !== null ? Math.round(stats.averageAge) : '0';
+        } catch (error) {
+            console.error('Error loading statistics:', error);
         }
     }
 
@@ -2,12 +2,15 @@ package com.example.student;
 
 import com.example.student.model.Student;
 import com.example.student.repository.StudentRepository;
+import com.example.student.support.SqlStatementRecorder;
+import com.example.student.support.SqlStatementRecorder.Recording;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -15,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
+import static com.example.student.support.SqlStatementRecorder.Kind.SELECT;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -22,6 +26,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@Import(SqlStatementRecorder.Config.class)
 @Transactional
 class StudentCrudApplicationIntegrationTest {
 
@@ -134,12 +139,18 @@ class StudentCrudApplicationIntegrationTest {
                 .age(25)
                 .build());
 
+        studentRepository.flush();
+
         // When & Then
-        mockMvc.perform(get("/api/students"))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].name", is("Alice Johnson")))
-                .andExpect(jsonPath("$[1].name", is("Bob Wilson")));
+        try (Recording sql = SqlStatementRecorder.start()) {
+            mockMvc.perform(get("/api/students"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].name", is("Alice Johnson")))
+                    .andExpect(jsonPath("$[1].name", is("Bob Wilson")));
+            sql.assertStatements(SELECT);
+            sql.assertNoNPlusOne();
+        }
     }
 
     @Test
@@ -157,12 +168,17 @@ class StudentCrudApplicationIntegrationTest {
                 .age(25)
                 .build());
 
+        studentRepository.flush();
+
         // When & Then
-        mockMvc.perform(get("/api/students/search")
-                .param("name", "john"))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].name", is("Alice Johnson")));
+        try (Recording sql = SqlStatementRecorder.start()) {
+            mockMvc.perform(get("/api/students/search")
+                    .param("name", "john"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].name", is("Alice Johnson")));
+            sql.assertStatements(SELECT);
+        }
     }
 
     @Test
@@ -274,4 +290,41 @@ class StudentCrudApplicationIntegrationTest {
         mockMvc.perform(get("/api/students/email/nonexistent@example.com"))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void getStatistics_ShouldAggregateAllStudents() throws Exception {
+        // Given
+        studentRepository.save(Student.builder().name("Alice Johnson").email("alice@example.com").age(19).build());
+        studentRepository.save(Student.builder().name("Bob Wilson").email("bob@example.com").age(25).build());
+        studentRepository.save(Student.builder().name("Carol White").email("carol@example.com").age(28).build());
+
+        // When & Then
+        mockMvc.perform(get("/api/students/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count", is(3)))
+                .andExpect(jsonPath("$.minAge", is(19)))
+                .andExpect(jsonPath("$.maxAge", is(28)))
+                .andExpect(jsonPath("$.averageAge", is(24.0)))
+                .andExpect(jsonPath("$.ageHistogram", hasSize(2)))
+                .andExpect(jsonPath("$.ageHistogram[1].count", is(2)))
+                .andExpect(jsonPath("$.recentSignups.last24Hours", is(3)));
+    }
+
+    @Test
+    void operatorEndpoints_ShouldNotBeExposedByDefault() throws Exception {
+        mockMvc.perform(post("/actuator/recording")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/recording"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/hotkeys"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/internal/hot-keys"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/slowrequests"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/internal/slow-requests"))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,96 @@
+package com.example.student.analytics;
+
+import com.example.student.model.Student;
+import com.example.student.model.StudentStatistics;
+import com.example.student.outbox.OutboxRelay;
+import com.example.student.repository.AgeBucketAggregate;
+import com.example.student.repository.StudentRepository;
+import com.example.student.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "student.columnar.enabled=true",
+        "student.outbox.relay-interval=1h",
+        "student.outbox.gap-timeout=0s"
+})
+@ActiveProfiles("test")
+class ColumnarReadModelIntegrationTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentColumnStore store;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        relay.relay();
+        store.load(studentRepository::findAll);
+    }
+
+    @Test
+    void serviceWrites_ShouldReachStoreThroughRelay() {
+        // Given
+        Student john = studentService.createStudent(student("John Doe", "john.doe@example.com", 25));
+        Student jane = studentService.createStudent(student("Jane Smith", "jane.smith@example.com", 22));
+        studentService.updateStudent(john.getId(), student("John Doe", "john.doe@example.com", 35));
+        studentService.deleteStudent(jane.getId());
+        assertEquals(0, store.size());
+
+        // When
+        relay.relay();
+
+        // Then
+        assertEquals(1, store.size());
+        assertEquals(1, store.countByAgeBetween(30, 40));
+        assertEquals(0, store.countByAgeBetween(20, 29));
+    }
+
+    @Test
+    void statisticsAndCounts_ShouldMatchDatabase() {
+        // Given
+        studentService.createStudent(student("John Doe", "john.doe@example.com", 25));
+        studentService.createStudent(student("Jane Smith", "jane.smith@example.com", 22));
+        studentService.createStudent(student("Bob Johnson", "bob.johnson@example.com", 41));
+        relay.relay();
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        List<AgeBucketAggregate> fromStore = store.aggregateByAgeBucket(now.minusDays(1), now.minusDays(7),
+                now.minusDays(30));
+        StudentStatistics statistics = studentService.getStatistics();
+
+        // Then
+        assertEquals(studentRepository.aggregateByAgeBucket(now.minusDays(1), now.minusDays(7), now.minusDays(30)),
+                fromStore);
+        assertEquals(3, statistics.getCount());
+        assertEquals(3, statistics.getRecentSignups().getLast24Hours());
+        assertEquals(studentRepository.countByNameContainingIgnoreCase("john"),
+                studentService.countStudentsByName("john"));
+        assertEquals(studentRepository.countStudentsByAgeRange(20, 30), studentService.countStudentsByAgeRange(20, 30));
+    }
+
+    private static Student student(String name, String email, int age) {
+        return Student.builder()
+                .name(name)
+                .email(email)
+                .age(age)
+                .build();
+    }
+}
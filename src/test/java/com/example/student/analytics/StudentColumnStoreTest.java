@@ -0,0 +1,145 @@
+package com.example.student.analytics;
+
+import com.example.student.model.Student;
+import com.example.student.outbox.ChangeType;
+import com.example.student.outbox.StudentChangeEvent;
+import com.example.student.repository.AgeBucketAggregate;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentColumnStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private long sequence;
+
+    @Test
+    void load_ShouldMakeStoreReady() {
+        // Given
+        StudentColumnStore store = new StudentColumnStore(16, Integer.MAX_VALUE);
+        assertFalse(store.isReady());
+
+        // When
+        store.load(() -> List.of(student(1, "John Doe", 25, NOW), student(2, "Jane Smith", 22, NOW)));
+
+        // Then
+        assertTrue(store.isReady());
+        assertEquals(2, store.size());
+        assertEquals(1, store.countByAgeBetween(23, 30));
+    }
+
+    @Test
+    void changeEvents_ShouldUpsertAndDeleteIdempotently() {
+        // Given
+        StudentColumnStore store = new StudentColumnStore(16, Integer.MAX_VALUE);
+        store.load(List::of);
+
+        // When
+        store.onChange(upsert(student(1, "John Doe", 25, NOW)));
+        store.onChange(upsert(student(2, "Jane Smith", 22, NOW)));
+        store.onChange(upsert(student(3, "Bob Johnson", 40, NOW)));
+        store.onChange(upsert(student(1, "John Doe", 31, NOW)));
+        store.onChange(deleted(2));
+        store.onChange(deleted(2));
+        store.onChange(upsert(student(3, "Bob Johnson", 40, NOW)));
+
+        // Then
+        assertEquals(2, store.size());
+        assertEquals(0, store.countByAgeBetween(20, 30));
+        assertEquals(2, store.countByAgeBetween(31, 40));
+        assertEquals(1, store.countByNameContaining("JOHN D"));
+        assertEquals(0, store.countByNameContaining("jane"));
+    }
+
+    @Test
+    void countByAgeBetween_WithExtremeBounds_ShouldNotOverflow() {
+        // Given
+        StudentColumnStore store = new StudentColumnStore(16, Integer.MAX_VALUE);
+        store.load(() -> List.of(student(1, "John Doe", 25, NOW)));
+
+        // When & Then
+        assertEquals(1, store.countByAgeBetween(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(0, store.countByAgeBetween(Integer.MAX_VALUE, Integer.MIN_VALUE));
+    }
+
+    @Test
+    void aggregateByAgeBucket_InParallelChunks_ShouldMatchRowByRowTotals() {
+        // Given
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            LocalDateTime createdAt = i % 7 == 0 ? null : NOW.minusHours(i % 1000);
+            students.add(student(i + 1, "Student " + i % 300, 1 + i % 150, createdAt));
+        }
+        StudentColumnStore store = new StudentColumnStore(16, 1_000);
+        store.load(() -> students);
+        LocalDateTime sinceDay = NOW.minusDays(1);
+        LocalDateTime sinceWeek = NOW.minusDays(7);
+        LocalDateTime sinceMonth = NOW.minusDays(30);
+
+        // When
+        List<AgeBucketAggregate> buckets = store.aggregateByAgeBucket(sinceDay, sinceWeek, sinceMonth);
+
+        // Then
+        TreeMap<Integer, AgeBucketAggregate> expected = new TreeMap<>();
+        for (Student student : students) {
+            int age = student.getAge();
+            LocalDateTime createdAt = student.getCreatedAt();
+            expected.merge(age / 10, new AgeBucketAggregate(age / 10, 1L, age, age, (long) age,
+                    since(createdAt, sinceDay), since(createdAt, sinceWeek), since(createdAt, sinceMonth)),
+                    AgeBucketAggregate::combine);
+        }
+        assertEquals(new ArrayList<>(expected.values()), buckets);
+        assertEquals(students.stream().filter(s -> s.getAge() >= 18 && s.getAge() <= 30).count(),
+                store.countByAgeBetween(18, 30));
+        assertEquals(students.stream().filter(s -> s.getName().contains("Student 12")).count(),
+                store.countByNameContaining("student 12"));
+    }
+
+    @Test
+    void nameDictionary_ShouldReuseCodesOfNamesNoLongerUsed() {
+        // Given
+        NameDictionary dictionary = new NameDictionary();
+        int john = dictionary.acquire("John Doe");
+        dictionary.acquire("John Doe");
+        dictionary.acquire("Jane Smith");
+
+        // When
+        dictionary.release(john);
+        assertEquals(2, dictionary.size());
+        dictionary.release(john);
+        int bob = dictionary.acquire("Bob Johnson");
+
+        // Then
+        assertEquals(john, bob);
+        assertEquals(2, dictionary.size());
+        assertArrayEquals(new byte[] {1, 0}, dictionary.matchContaining("JOHNSON"));
+    }
+
+    private static long since(LocalDateTime createdAt, LocalDateTime since) {
+        return createdAt != null && !createdAt.isBefore(since) ? 1 : 0;
+    }
+
+    private StudentChangeEvent upsert(Student student) {
+        return new StudentChangeEvent(++sequence, ChangeType.UPDATED, student.getId(), student, NOW);
+    }
+
+    private StudentChangeEvent deleted(long id) {
+        return new StudentChangeEvent(++sequence, ChangeType.DELETED, id, null, NOW);
+    }
+
+    private static Student student(long id, String name, int age, LocalDateTime createdAt) {
+        return Student.builder()
+                .id(id)
+                .name(name)
+                .email("student" + id + "@example.com")
+                .age(age)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.student.assets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against the assets the build wrote to {@code target/classes/static}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StaticAssetsIntegrationTest {
+
+    private static final Pattern SCRIPT = Pattern.compile("src=\"(js/student-app\\.[0-9a-f]{12}\\.js)\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void index_ShouldBeRevalidatedWithETag() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/index.html"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        // When & Then
+        mockMvc.perform(get("/index.html").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void script_ShouldBeFingerprintedAndCachedAsImmutable() throws Exception {
+        // Given
+        String script = scriptPath();
+
+        // When & Then
+        mockMvc.perform(get("/" + script))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=31536000")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")));
+        mockMvc.perform(get("/js/student-app.js"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void assets_WhenClientAcceptsGzip_ShouldServePrecompressedFile() throws Exception {
+        for (String path : new String[]{"/index.html", "/" + scriptPath()}) {
+            // Given
+            byte[] plain = mockMvc.perform(get(path)).andReturn().getResponse().getContentAsByteArray();
+
+            // When
+            MockHttpServletResponse response = mockMvc.perform(get(path).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                    .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                    .andReturn().getResponse();
+
+            // Then
+            byte[] compressed = response.getContentAsByteArray();
+            assertTrue(compressed.length < plain.length / 2, path + ": " + compressed.length + " of " + plain.length + " bytes");
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                assertArrayEquals(plain, in.readAllBytes());
+            }
+        }
+    }
+
+    private String scriptPath() throws Exception {
+        String index = mockMvc.perform(get("/index.html")).andReturn().getResponse().getContentAsString();
+        Matcher matcher = SCRIPT.matcher(index);
+        assertTrue(matcher.find(), "index.html does not reference a fingerprinted script");
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.student.benchmark;
+
+import com.example.student.model.Student;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares payload size and encode/decode time of a list of students in JSON, CBOR and Smile,
+ * using mappers configured the way BinaryFormatConfig builds them. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class BinaryFormatBenchmark {
+
+    private static final int STUDENTS = 1_000;
+    private static final int WARMUP = 300;
+    private static final int ITERATIONS = 1_000;
+    private static final TypeReference<List<Student>> STUDENT_LIST = new TypeReference<>() {
+    };
+
+    @Test
+    void studentList_ShouldBeSmallerInBinaryFormats() throws Exception {
+        List<Student> students = students();
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", Jackson2ObjectMapperBuilder.json().build());
+        mappers.put("cbor", Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+        mappers.put("smile", Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+
+        System.out.printf("[BinaryFormatBenchmark] %d students, %d iterations%n", STUDENTS, ITERATIONS);
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            ObjectMapper mapper = entry.getValue();
+            byte[] payload = mapper.writeValueAsBytes(students);
+            assertEquals(STUDENTS, mapper.readValue(payload, STUDENT_LIST).size());
+            for (int i = 0; i < WARMUP; i++) {
+                mapper.readValue(mapper.writeValueAsBytes(students), STUDENT_LIST);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                mapper.writeValueAsBytes(students);
+            }
+            double encodeMicros = (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                mapper.readValue(payload, STUDENT_LIST);
+            }
+            double decodeMicros = (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+
+            sizes.put(entry.getKey(), payload.length);
+            System.out.printf("[BinaryFormatBenchmark]   %-5s %8d bytes  encode %8.1f us  decode %8.1f us%n",
+                    entry.getKey(), payload.length, encodeMicros, decodeMicros);
+        }
+        assertTrue(sizes.get("cbor") < sizes.get("json"));
+        assertTrue(sizes.get("smile") < sizes.get("json"));
+    }
+
+    private static List<Student> students() {
+        List<Student> students = new ArrayList<>(STUDENTS);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(Student.builder()
+                    .id((long) i + 1)
+                    .name("Student " + i)
+                    .email("student" + i + "@example.com")
+                    .age(18 + i % 40)
+                    .address(i + " Main Street, Springfield")
+                    .createdAt(now.minusMinutes(i))
+                    .updatedAt(now)
+                    .build());
+        }
+        return students;
+    }
+}
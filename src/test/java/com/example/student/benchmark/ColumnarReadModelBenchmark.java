@@ -0,0 +1,103 @@
+package com.example.student.benchmark;
+
+import com.example.student.analytics.StudentColumnStore;
+import com.example.student.repository.AgeBucketAggregate;
+import com.example.student.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the statistics aggregate and an age-range count answered by H2 with the same queries
+ * answered by {@link StudentColumnStore}, serially and with parallel chunked scans. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "student.columnar.enabled=true",
+        "student.load-shedding.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class ColumnarReadModelBenchmark {
+
+    private static final int STUDENTS = 200_000;
+    private static final int WARMUP = 20;
+    private static final int RUNS = 50;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            rows.add(new Object[] {"Student " + i % 5000, "bench" + i + "@example.com", 1 + i % 100,
+                    Timestamp.valueOf(now.minusHours(i % 2000)), Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO students (name, email, age, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                rows);
+    }
+
+    @Test
+    void analyticalReads_ShouldBeFasterFromColumnStore() {
+        LocalDateTime now = LocalDateTime.now();
+        StudentColumnStore serial = new StudentColumnStore(STUDENTS, Integer.MAX_VALUE);
+        StudentColumnStore parallel = new StudentColumnStore(STUDENTS, 1);
+        serial.load(studentRepository::findAll);
+        parallel.load(studentRepository::findAll);
+
+        List<AgeBucketAggregate> expected = studentRepository.aggregateByAgeBucket(now.minusDays(1), now.minusDays(7),
+                now.minusDays(30));
+        assertEquals(expected, serial.aggregateByAgeBucket(now.minusDays(1), now.minusDays(7), now.minusDays(30)));
+        assertEquals(expected, parallel.aggregateByAgeBucket(now.minusDays(1), now.minusDays(7), now.minusDays(30)));
+
+        System.out.printf("[ColumnarReadModelBenchmark] %d students, %d processors (microseconds per call)%n",
+                STUDENTS, Runtime.getRuntime().availableProcessors());
+        double database = time(() -> studentRepository.aggregateByAgeBucket(now.minusDays(1), now.minusDays(7),
+                now.minusDays(30)));
+        double serialScan = time(() -> serial.aggregateByAgeBucket(now.minusDays(1), now.minusDays(7), now.minusDays(30)));
+        double parallelScan = time(() -> parallel.aggregateByAgeBucket(now.minusDays(1), now.minusDays(7),
+                now.minusDays(30)));
+        print("stats: H2 GROUP BY", database);
+        print("stats: column scan", serialScan);
+        print("stats: parallel column scan", parallelScan);
+        print("age-range count: H2", time(() -> studentRepository.countStudentsByAgeRange(20, 40)));
+        print("age-range count: column scan", time(() -> serial.countByAgeBetween(20, 40)));
+        print("name count: H2", time(() -> studentRepository.countByNameContainingIgnoreCase("student 12")));
+        print("name count: column scan", time(() -> serial.countByNameContaining("student 12")));
+        assertTrue(serialScan < database);
+    }
+
+    private static double time(Supplier<?> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - start) / 1000.0 / RUNS;
+    }
+
+    private static void print(String variant, double micros) {
+        System.out.printf("[ColumnarReadModelBenchmark]   %-30s %10.1f us%n", variant, micros);
+    }
+}
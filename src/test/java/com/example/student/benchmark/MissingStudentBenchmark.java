@@ -0,0 +1,141 @@
+package com.example.student.benchmark;
+
+import com.example.student.controller.ErrorResponse;
+import com.example.student.service.StudentService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+
+/**
+ * Measures allocated bytes and time per request for lookups of ids that do not exist. The
+ * "exception with stack trace" variant reproduces the previous behaviour, where every miss threw
+ * an exception capturing the full stack. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "student.load-shedding.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MissingStudentBenchmark {
+
+    private static final int WARMUP = 5_000;
+    private static final int REQUESTS = 20_000;
+    private static final long FIRST_MISSING_ID = 1_000_000L;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    static class LegacyStudentNotFoundException extends RuntimeException {
+
+        LegacyStudentNotFoundException(Long id) {
+            super("Student not found with id: " + id);
+        }
+    }
+
+    @TestConfiguration
+    static class LegacyMissPathConfig {
+
+        @RestController
+        static class LegacyController {
+
+            private final StudentService studentService;
+
+            LegacyController(StudentService studentService) {
+                this.studentService = studentService;
+            }
+
+            @GetMapping("/api/benchmark/legacy/{id}")
+            ResponseEntity<?> get(@PathVariable Long id) {
+                return ResponseEntity.ok(studentService.findStudentById(id)
+                        .orElseThrow(() -> new LegacyStudentNotFoundException(id)));
+            }
+
+            @GetMapping("/api/benchmark/stackless/{id}")
+            ResponseEntity<?> getThrowing(@PathVariable Long id) {
+                return ResponseEntity.ok(studentService.getStudentById(id));
+            }
+        }
+
+        @RestControllerAdvice
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        static class LegacyHandler {
+
+            @ExceptionHandler(LegacyStudentNotFoundException.class)
+            ResponseEntity<ErrorResponse> handle(LegacyStudentNotFoundException ex) {
+                ErrorResponse error = ErrorResponse.builder()
+                        .timestamp(LocalDateTime.now())
+                        .status(HttpStatus.NOT_FOUND.value())
+                        .error("Not Found")
+                        .message(ex.getMessage())
+                        .build();
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+            }
+        }
+    }
+
+    @Test
+    void missingIds_ShouldAllocateLessWithoutStackTraces() throws Exception {
+        double[] legacy = measure(id -> get("/api/benchmark/legacy/{id}", id));
+        double[] stackless = measure(id -> get("/api/benchmark/stackless/{id}", id));
+        double[] optional = measure(id -> get("/api/students/{id}", id));
+        double[] probe = measure(id -> head("/api/students/{id}", id));
+
+        System.out.printf("[MissingStudentBenchmark] %d misses per variant (bytes allocated / microseconds per request)%n", REQUESTS);
+        print("exception with stack trace", legacy);
+        print("stackless exception", stackless);
+        print("Optional, GET", optional);
+        print("Optional, HEAD", probe);
+        assertTrue(optional[0] < legacy[0]);
+        assertTrue(probe[0] < optional[0]);
+    }
+
+    private double[] measure(LongFunction<RequestBuilder> request) throws Exception {
+        long id = FIRST_MISSING_ID;
+        for (int i = 0; i < WARMUP; i++) {
+            expectNotFound(request.apply(id++));
+        }
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            expectNotFound(request.apply(id++));
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new double[] {(double) allocated / REQUESTS, elapsed / 1000.0 / REQUESTS};
+    }
+
+    private void expectNotFound(RequestBuilder request) throws Exception {
+        int status = mockMvc.perform(request).andReturn().getResponse().getStatus();
+        assertEquals(404, status);
+    }
+
+    private static void print(String variant, double[] result) {
+        System.out.printf("[MissingStudentBenchmark]   %-28s %8.0f B  %8.1f us%n", variant, result[0], result[1]);
+    }
+}
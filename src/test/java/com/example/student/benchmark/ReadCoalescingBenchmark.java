@@ -0,0 +1,139 @@
+package com.example.student.benchmark;
+
+import com.example.student.model.Student;
+import com.example.student.repository.StudentRepository;
+import com.example.student.service.StudentService;
+import com.example.student.support.LatencyInjectingDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the number of SQL statements issued for skewed concurrent getStudentById traffic
+ * with and without single-flight coalescing. Every statement is delayed by 1ms to stand in
+ * for a remote database. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "student.load-shedding.enabled=false",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@ActiveProfiles("test")
+class ReadCoalescingBenchmark {
+
+    private static final int STUDENTS = 200;
+    private static final int THREADS = 32;
+    private static final int READS_PER_THREAD = 200;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @TestConfiguration
+    static class SlowDatabaseConfig {
+
+        @Bean
+        static BeanPostProcessor latencyInjectingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource
+                            ? new LatencyInjectingDataSource(dataSource, Duration.ofMillis(1))
+                            : bean;
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        ids.clear();
+        for (int i = 0; i < STUDENTS; i++) {
+            ids.add(studentRepository.save(Student.builder()
+                    .name("Student " + i)
+                    .email("student" + i + "@example.com")
+                    .age(18 + i % 40)
+                    .build()).getId());
+        }
+    }
+
+    @Test
+    void skewedConcurrentReads_ShouldIssueFewerQueriesWithCoalescing() throws Exception {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long direct = countStatements(id -> readOnly.executeWithoutResult(
+                status -> studentRepository.findById(id)));
+        long coalesced = countStatements(studentService::getStudentById);
+
+        System.out.printf("[ReadCoalescingBenchmark] %d reads: direct=%d statements, coalesced=%d statements (%.1f%% fewer)%n",
+                THREADS * READS_PER_THREAD, direct, coalesced, 100d * (direct - coalesced) / direct);
+        assertTrue(coalesced <= direct);
+    }
+
+    private long countStatements(LongConsumer read) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < READS_PER_THREAD; i++) {
+                        read.accept(ids.get(skewedIndex()));
+                    }
+                    return null;
+                });
+            }
+            for (var future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Roughly Zipfian: most reads hit the first few ids
+    private static int skewedIndex() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        return Math.min(STUDENTS - 1, (int) Math.floor(Math.pow(STUDENTS, u)) - 1);
+    }
+}
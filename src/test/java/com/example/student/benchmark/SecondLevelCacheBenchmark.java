@@ -0,0 +1,136 @@
+package com.example.student.benchmark;
+
+import com.example.student.model.Student;
+import com.example.student.repository.StudentRepository;
+import com.example.student.service.StudentService;
+import com.example.student.support.LatencyInjectingDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replays the same skewed mix of id, email and age-range reads with the second-level and query
+ * caches in normal use and with {@link CacheMode#IGNORE}, and compares statements and wall time.
+ * Every statement is delayed by 1ms to stand in for a remote database. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "student.load-shedding.enabled=false"
+})
+@ActiveProfiles("test")
+class SecondLevelCacheBenchmark {
+
+    private static final int STUDENTS = 200;
+    private static final int READS = 5_000;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Student> students = new ArrayList<>();
+
+    @TestConfiguration
+    static class SlowDatabaseConfig {
+
+        @Bean
+        static BeanPostProcessor latencyInjectingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource
+                            ? new LatencyInjectingDataSource(dataSource, Duration.ofMillis(1))
+                            : bean;
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        students.clear();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(studentRepository.save(Student.builder()
+                    .name("Student " + i)
+                    .email("student" + i + "@example.com")
+                    .age(18 + i % 40)
+                    .build()));
+        }
+    }
+
+    @Test
+    void skewedReads_ShouldIssueFewerQueriesWithCache() {
+        long[] uncached = run(CacheMode.IGNORE);
+        long[] cached = run(CacheMode.NORMAL);
+
+        System.out.printf("[SecondLevelCacheBenchmark] %d reads: uncached=%d statements in %dms, cached=%d statements in %dms%n",
+                READS, uncached[0], uncached[1], cached[0], cached[1]);
+        assertTrue(cached[0] < uncached[0]);
+    }
+
+    private long[] run(CacheMode cacheMode) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        // Cache mode is per session, so open the transaction here and let the service join it
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        long start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            Student student = students.get(skewedIndex());
+            int kind = i % 3;
+            readOnly.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setCacheMode(cacheMode);
+                switch (kind) {
+                    case 0 -> studentService.getStudentById(student.getId());
+                    case 1 -> studentService.getStudentByEmail(student.getEmail());
+                    default -> studentService.getStudentsByAgeRange(student.getAge(), student.getAge() + 5);
+                }
+            });
+        }
+        return new long[] {statistics.getPrepareStatementCount(), Duration.ofNanos(System.nanoTime() - start).toMillis()};
+    }
+
+    // Roughly Zipfian: most reads hit the first few students
+    private static int skewedIndex() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        return Math.min(STUDENTS - 1, (int) Math.floor(Math.pow(STUDENTS, u)) - 1);
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.student.controller;
+
+import com.example.student.exception.StreamAbortedException;
+import com.example.student.exception.StudentNotFoundException;
+import com.example.student.model.Student;
+import com.example.student.service.StudentService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BinaryContentNegotiationTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StudentService studentService;
+
+    private final ObjectMapper cborMapper = CBORMapper.builder().findAndAddModules().build();
+    private final ObjectMapper smileMapper = SmileMapper.builder().findAndAddModules().build();
+
+    private Student testStudent;
+
+    @BeforeEach
+    void setUp() {
+        testStudent = Student.builder()
+                .id(1L)
+                .name("John Doe")
+                .email("john.doe@example.com")
+                .age(25)
+                .address("123 Main St")
+                .createdAt(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .build();
+    }
+
+    @Test
+    void getAllStudents_WithCborAccept_ShouldReturnCbor() throws Exception {
+        // Given
+        when(studentService.getAllStudents()).thenReturn(List.of(testStudent));
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/students").accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode students = cborMapper.readTree(body);
+        assertEquals("John Doe", students.get(0).get("name").asText());
+        assertEquals("2024-01-01T10:00:00", students.get(0).get("createdAt").asText());
+    }
+
+    @Test
+    void getAllStudents_WithAnyAccept_ShouldStillReturnJson() throws Exception {
+        // Given
+        when(studentService.getAllStudents()).thenReturn(List.of(testStudent));
+
+        // When & Then
+        mockMvc.perform(get("/api/students").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void createStudent_WithSmileBody_ShouldReturnCreatedStudent() throws Exception {
+        // Given
+        when(studentService.createStudent(any(Student.class))).thenReturn(testStudent);
+        Student newStudent = Student.builder()
+                .name("John Doe")
+                .email("john.doe@example.com")
+                .age(25)
+                .build();
+
+        // When
+        byte[] body = mockMvc.perform(post("/api/students")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smileMapper.writeValueAsBytes(newStudent)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        assertEquals(1L, smileMapper.readTree(body).get("id").asLong());
+    }
+
+    @Test
+    void createStudent_WithInvalidCborBody_ShouldReturnCborValidationErrors() throws Exception {
+        // Given
+        Student invalidStudent = Student.builder()
+                .name("")
+                .email("invalid-email")
+                .age(-5)
+                .build();
+
+        // When
+        byte[] body = mockMvc.perform(post("/api/students")
+                        .contentType(CBOR)
+                        .accept(CBOR)
+                        .content(cborMapper.writeValueAsBytes(invalidStudent)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode error = cborMapper.readTree(body);
+        assertEquals("Validation failed", error.get("message").asText());
+        assertTrue(error.get("details").has("email"));
+        verify(studentService, never()).createStudent(any(Student.class));
+    }
+
+    @Test
+    void updateStudent_WhenStudentDoesNotExist_ShouldReturnCborError() throws Exception {
+        // Given
+        when(studentService.updateStudent(eq(999L), any(Student.class))).thenThrow(new StudentNotFoundException(999L));
+
+        // When
+        byte[] body = mockMvc.perform(put("/api/students/999")
+                        .contentType(CBOR)
+                        .accept(CBOR)
+                        .content(cborMapper.writeValueAsBytes(testStudent)))
+                .andExpect(status().isNotFound())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        assertEquals(404, cborMapper.readTree(body).get("status").asInt());
+    }
+
+    @Test
+    void getStudentById_WhenMissing_ShouldReturnSmileError() throws Exception {
+        // Given
+        when(studentService.findStudentById(999L)).thenReturn(Optional.empty());
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/students/999").accept(SMILE))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        assertEquals("Not Found", smileMapper.readTree(body).get("error").asText());
+    }
+
+    @Test
+    void getStudentsByAgeRange_WithCborAccept_ShouldStreamCborArray() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<Student> action = invocation.getArgument(2);
+            action.accept(testStudent);
+            return null;
+        }).when(studentService).forEachStudentByAgeRange(eq(20), eq(30), any());
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/students/age-range")
+                        .param("minAge", "20")
+                        .param("maxAge", "30")
+                        .accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode students = cborMapper.readTree(body);
+        assertEquals(1, students.size());
+        assertEquals("john.doe@example.com", students.get(0).get("email").asText());
+    }
+
+    @Test
+    void getStudentsOlderThan_WhenCursorFailsBeforeResponseIsCommitted_ShouldReturnError() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<Student> action = invocation.getArgument(1);
+            action.accept(testStudent);
+            throw new DataAccessResourceFailureException("connection lost");
+        }).when(studentService).forEachStudentOlderThan(eq(18), any());
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/students/older-than").param("minAge", "18").accept(CBOR))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then - only the error, not the start of the array
+        assertEquals(500, cborMapper.readTree(body).get("status").asInt());
+    }
+
+    @Test
+    void getStudentsOlderThan_WhenCursorFailsAfterResponseIsCommitted_ShouldAbortResponse() {
+        // Given - enough rows to fill the response buffer before the failure
+        doAnswer(invocation -> {
+            Consumer<Student> action = invocation.getArgument(1);
+            for (int i = 0; i < 500; i++) {
+                action.accept(testStudent);
+            }
+            throw new DataAccessResourceFailureException("connection lost");
+        }).when(studentService).forEachStudentOlderThan(eq(18), any());
+
+        // When
+        Exception failure = assertThrows(Exception.class,
+                () -> mockMvc.perform(get("/api/students/older-than").param("minAge", "18")));
+
+        // Then - left to the container, which closes the connection
+        assertInstanceOf(StreamAbortedException.class, failure.getCause());
+        assertInstanceOf(DataAccessResourceFailureException.class, failure.getCause().getCause());
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.student.controller;
+
+import com.example.student.model.Student;
+import com.example.student.outbox.StudentChangeRepository;
+import com.example.student.repository.StudentRepository;
+import com.example.student.support.SqlStatementRecorder;
+import com.example.student.support.SqlStatementRecorder.Recording;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.example.student.support.SqlStatementRecorder.Kind.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number and kind of SQL statements behind each {@link StudentController} endpoint, so
+ * a change that adds a query fails here. The second-level cache is emptied before each request,
+ * so the counts are those of a cold cache unless a test says otherwise.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SqlStatementRecorder.Config.class)
+class StudentControllerSqlIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentChangeRepository changeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Student john;
+    private Student jane;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        john = studentRepository.save(Student.builder().name("John Doe").email("john.sql@example.com").age(25).build());
+        jane = studentRepository.save(Student.builder().name("Jane Smith").email("jane.sql@example.com").age(22).build());
+    }
+
+    @Test
+    void createStudent_ShouldCheckEmailInsertAndLogChange() throws Exception {
+        String body = json(Map.of("name", "Bob Johnson", "email", "bob.sql@example.com", "age", 28));
+
+        try (Recording sql = perform(post("/api/students").contentType(MediaType.APPLICATION_JSON).content(body),
+                status().isCreated())) {
+            sql.assertStatements(SELECT, INSERT, INSERT);
+        }
+    }
+
+    @Test
+    void getStudentById_ShouldSelectOnceThenServeFromCache() throws Exception {
+        try (Recording sql = perform(get("/api/students/{id}", john.getId()), status().isOk())) {
+            sql.assertStatements(SELECT);
+        }
+        try (Recording sql = performWarm(get("/api/students/{id}", john.getId()), status().isOk())) {
+            sql.assertStatements();
+        }
+    }
+
+    @Test
+    void studentExists_ShouldSelectOnce() throws Exception {
+        try (Recording sql = perform(head("/api/students/{id}", john.getId()), status().isOk())) {
+            sql.assertStatements(SELECT);
+        }
+    }
+
+    @Test
+    void getStudentByEmail_ShouldSelectOnce() throws Exception {
+        try (Recording sql = perform(get("/api/students/email/{email}", john.getEmail()), status().isOk())) {
+            sql.assertStatements(SELECT);
+        }
+    }
+
+    @Test
+    void getAllStudents_ShouldSelectOnceWithoutNPlusOne() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            studentRepository.save(Student.builder().name("Student " + i).email("student" + i + ".sql@example.com").age(20 + i).build());
+        }
+
+        try (Recording sql = perform(get("/api/students"), status().isOk())) {
+            sql.assertStatements(SELECT);
+            sql.assertNoNPlusOne();
+        }
+    }
+
+    @Test
+    void getStudentsByIds_ShouldSelectOnce() throws Exception {
+        try (Recording sql = perform(get("/api/students").param("ids", john.getId() + "," + jane.getId()),
+                status().isOk())) {
+            sql.assertStatements(SELECT);
+        }
+    }
+
+    @Test
+    void updateStudent_ShouldLoadUpdateAndLogChange() throws Exception {
+        String body = json(Map.of("name", "John Updated", "email", john.getEmail(), "age", 26));
+
+        try (Recording sql = perform(put("/api/students/{id}", john.getId()).contentType(MediaType.APPLICATION_JSON).content(body),
+                status().isOk())) {
+            sql.assertStatements(SELECT, UPDATE, INSERT);
+        }
+    }
+
+    @Test
+    void upsertStudents_ShouldMergeInOneBatch() throws Exception {
+        String body = objectMapper.writeValueAsString(List.of(
+                Map.of("name", "John Updated", "email", john.getEmail(), "age", 26),
+                Map.of("name", "Bob Johnson", "email", "bob.sql@example.com", "age", 28)));
+
+        try (Recording sql = perform(put("/api/students/bulk").contentType(MediaType.APPLICATION_JSON).content(body),
+                status().isOk())) {
+            sql.assertStatements(MERGE, SELECT, INSERT, INSERT);
+        }
+    }
+
+    @Test
+    void deleteStudent_ShouldCheckDeleteAndLogTombstone() throws Exception {
+        try (Recording sql = perform(delete("/api/students/{id}", john.getId()), status().isNoContent())) {
+            sql.assertStatements(SELECT, SELECT, DELETE, INSERT);
+        }
+    }
+
+    @Test
+    void listQueries_ShouldSelectOnceEach() throws Exception {
+        List<RequestBuilder> requests = List.of(
+                get("/api/students/search").param("name", "o"),
+                get("/api/students/age-range").param("minAge", "18").param("maxAge", "30"),
+                get("/api/students/older-than").param("minAge", "18"),
+                get("/api/students/count/search").param("name", "o"),
+                get("/api/students/count/age-range").param("minAge", "18").param("maxAge", "30"),
+                get("/api/students/stats"));
+
+        for (RequestBuilder request : requests) {
+            try (Recording sql = perform(request, status().isOk())) {
+                sql.assertStatements(SELECT);
+            }
+        }
+    }
+
+    @Test
+    void getChanges_ShouldSelectOnce() throws Exception {
+        try (Recording sql = perform(get("/api/students/changes"), status().isOk())) {
+            sql.assertStatements(SELECT);
+        }
+    }
+
+    private Recording perform(RequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        return performWarm(request, expectedStatus);
+    }
+
+    private Recording performWarm(RequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        Recording recording = SqlStatementRecorder.start();
+        try {
+            mockMvc.perform(request).andExpect(expectedStatus);
+            return recording;
+        } catch (Exception | Error e) {
+            recording.close();
+            throw e;
+        }
+    }
+
+    private String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+}
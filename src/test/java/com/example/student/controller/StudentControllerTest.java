@@ -3,6 +3,8 @@ package com.example.student.controller;
 import com.example.student.exception.DuplicateEmailException;
 import com.example.student.exception.StudentNotFoundException;
 import com.example.student.model.Student;
+import com.example.student.model.StudentStatistics;
+import com.example.student.repository.StudentUpsert;
 import com.example.student.service.StudentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,11 +16,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.mockito.stubbing.Stubber;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -110,7 +114,7 @@ class StudentControllerTest {
         @Test
         void getStudentById_WhenStudentExists_ShouldReturnStudent() throws Exception {
                 // Given
-                when(studentService.getStudentById(1L)).thenReturn(testStudent);
+                when(studentService.findStudentById(1L)).thenReturn(Optional.of(testStudent));
 
                 // When & Then
                 mockMvc.perform(get("/api/students/1"))
@@ -120,20 +124,45 @@ class StudentControllerTest {
                                 .andExpect(jsonPath("$.email", is("john.doe@example.com")))
                                 .andExpect(jsonPath("$.age", is(25)));
 
-                verify(studentService).getStudentById(1L);
+                verify(studentService).findStudentById(1L);
         }
 
         @Test
         void getStudentById_WhenStudentDoesNotExist_ShouldReturnNotFound() throws Exception {
                 // Given
-                when(studentService.getStudentById(999L)).thenThrow(new StudentNotFoundException(999L));
+                when(studentService.findStudentById(999L)).thenReturn(Optional.empty());
 
                 // When & Then
                 mockMvc.perform(get("/api/students/999"))
                                 .andExpect(status().isNotFound())
-                                .andExpect(jsonPath("$.message", containsString("not found")));
+                                .andExpect(jsonPath("$.message", containsString("not found")))
+                                .andExpect(jsonPath("$.timestamp").doesNotExist());
+
+                verify(studentService).findStudentById(999L);
+        }
+
+        @Test
+        void headStudent_WhenStudentExists_ShouldReturnOk() throws Exception {
+                // Given
+                when(studentService.studentExists(1L)).thenReturn(true);
+
+                // When & Then
+                mockMvc.perform(head("/api/students/1"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string(""));
+        }
+
+        @Test
+        void headStudent_WhenStudentDoesNotExist_ShouldReturnNotFound() throws Exception {
+                // Given
+                when(studentService.studentExists(999L)).thenReturn(false);
+
+                // When & Then
+                mockMvc.perform(head("/api/students/999"))
+                                .andExpect(status().isNotFound())
+                                .andExpect(content().string(""));
 
-                verify(studentService).getStudentById(999L);
+                verify(studentService, never()).getStudentById(anyLong());
         }
 
         @Test
@@ -262,8 +291,7 @@ class StudentControllerTest {
         @Test
         void searchStudentsByName_ShouldReturnMatchingStudents() throws Exception {
                 // Given
-                List<Student> matchingStudents = Arrays.asList(testStudent);
-                when(studentService.searchStudentsByName("John")).thenReturn(matchingStudents);
+                streamStudents(testStudent).when(studentService).forEachStudentByName(eq("John"), any());
 
                 // When & Then
                 mockMvc.perform(get("/api/students/search")
@@ -272,14 +300,14 @@ class StudentControllerTest {
                                 .andExpect(jsonPath("$", hasSize(1)))
                                 .andExpect(jsonPath("$[0].name", is("John Doe")));
 
-                verify(studentService).searchStudentsByName("John");
+                verify(studentService).forEachStudentByName(eq("John"), any());
         }
 
         @Test
         void getStudentsByAgeRange_ShouldReturnStudentsInRange() throws Exception {
                 // Given
-                List<Student> studentsInRange = Arrays.asList(testStudent, testStudent2);
-                when(studentService.getStudentsByAgeRange(20, 30)).thenReturn(studentsInRange);
+                streamStudents(testStudent, testStudent2).when(studentService)
+                                .forEachStudentByAgeRange(eq(20), eq(30), any());
 
                 // When & Then
                 mockMvc.perform(get("/api/students/age-range")
@@ -288,14 +316,13 @@ class StudentControllerTest {
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$", hasSize(2)));
 
-                verify(studentService).getStudentsByAgeRange(20, 30);
+                verify(studentService).forEachStudentByAgeRange(eq(20), eq(30), any());
         }
 
         @Test
         void getStudentsOlderThan_ShouldReturnOlderStudents() throws Exception {
                 // Given
-                List<Student> olderStudents = Arrays.asList(testStudent);
-                when(studentService.getStudentsOlderThan(20)).thenReturn(olderStudents);
+                streamStudents(testStudent).when(studentService).forEachStudentOlderThan(eq(20), any());
 
                 // When & Then
                 mockMvc.perform(get("/api/students/older-than")
@@ -303,7 +330,7 @@ class StudentControllerTest {
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$", hasSize(1)));
 
-                verify(studentService).getStudentsOlderThan(20);
+                verify(studentService).forEachStudentOlderThan(eq(20), any());
         }
 
         @Test
@@ -320,4 +347,102 @@ class StudentControllerTest {
 
                 verify(studentService).countStudentsByAgeRange(20, 30);
         }
+
+        @Test
+        void countStudentsByName_ShouldReturnCount() throws Exception {
+                // Given
+                when(studentService.countStudentsByName("john")).thenReturn(3L);
+
+                // When & Then
+                mockMvc.perform(get("/api/students/count/search")
+                                .param("name", "john"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string("3"));
+
+                verify(studentService).countStudentsByName("john");
+        }
+
+        @Test
+        void getStatistics_ShouldReturnAggregates() throws Exception {
+                // Given
+                StudentStatistics statistics = StudentStatistics.builder()
+                                .count(2)
+                                .minAge(22)
+                                .maxAge(25)
+                                .averageAge(23.5)
+                                .ageHistogram(List.of(StudentStatistics.AgeBucket.builder()
+                                                .fromAge(20).toAge(29).count(2).build()))
+                                .recentSignups(StudentStatistics.RecentSignups.builder()
+                                                .last24Hours(1).last7Days(2).last30Days(2).build())
+                                .build();
+                when(studentService.getStatistics()).thenReturn(statistics);
+
+                // When & Then
+                mockMvc.perform(get("/api/students/stats"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.count", is(2)))
+                                .andExpect(jsonPath("$.averageAge", is(23.5)))
+                                .andExpect(jsonPath("$.ageHistogram[0].fromAge", is(20)))
+                                .andExpect(jsonPath("$.recentSignups.last24Hours", is(1)));
+
+                verify(studentService).getStatistics();
+        }
+
+        /**
+         * Stubs a StudentService callback method to pass the given students to its last argument.
+         */
+        private static Stubber streamStudents(Student... students) {
+                return doAnswer(invocation -> {
+                        Consumer<Student> action = invocation.getArgument(invocation.getArguments().length - 1);
+                        Arrays.stream(students).forEach(action);
+                        return null;
+                });
+        }
+
+        @Test
+        void getStudentsByIds_ShouldReturnStudentsFromService() throws Exception {
+                // Given
+                when(studentService.getStudentsByIds(List.of(2L, 1L))).thenReturn(List.of(testStudent2, testStudent));
+
+                // When & Then
+                mockMvc.perform(get("/api/students").param("ids", "2,1"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$", hasSize(2)))
+                                .andExpect(jsonPath("$[0].id", is(2)))
+                                .andExpect(jsonPath("$[1].id", is(1)));
+
+                verify(studentService).getStudentsByIds(List.of(2L, 1L));
+        }
+
+        @Test
+        void upsertStudents_ShouldReturnStatusPerStudent() throws Exception {
+                // Given
+                when(studentService.upsertStudents(anyList())).thenReturn(List.of(
+                                new StudentUpsert(StudentUpsert.Status.CREATED, testStudent),
+                                new StudentUpsert(StudentUpsert.Status.UNCHANGED, testStudent2)));
+
+                // When & Then
+                mockMvc.perform(put("/api/students/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(testStudent, testStudent2))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                                .andExpect(jsonPath("$[0].student.email", is("john.doe@example.com")))
+                                .andExpect(jsonPath("$[1].status", is("UNCHANGED")));
+        }
+
+        @Test
+        void upsertStudents_WhenStudentInvalid_ShouldReturnBadRequest() throws Exception {
+                // Given
+                Student invalid = Student.builder().name("").email("invalid-email").age(0).build();
+
+                // When & Then
+                mockMvc.perform(put("/api/students/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(testStudent, invalid))))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.details['[1].email']", is("Email should be valid")));
+
+                verify(studentService, never()).upsertStudents(anyList());
+        }
 }
@@ -0,0 +1,166 @@
+package com.example.student.datasource;
+
+import com.example.student.datasource.ReplicaRoutingProperties.ReplicaSelection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private ReadWriteRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clock.set(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (routingDataSource != null) {
+            routingDataSource.destroy();
+        }
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldRoundRobinAcrossReplicas() {
+        // Given
+        TransactionTemplate readOnly = readOnly(routing(ReplicaSelection.ROUND_ROBIN,
+                node("replica-a"), node("replica-b")));
+
+        // When
+        String first = readOnly.execute(status -> whoAmI());
+        String second = readOnly.execute(status -> whoAmI());
+        String third = readOnly.execute(status -> whoAmI());
+
+        // Then
+        assertEquals("replica-a", first);
+        assertEquals("replica-b", second);
+        assertEquals("replica-a", third);
+    }
+
+    @Test
+    void readWriteTransactions_ShouldUsePrimary() {
+        // Given
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager(
+                routing(ReplicaSelection.ROUND_ROBIN, node("replica-a"), node("replica-b"))));
+
+        // When & Then
+        assertEquals("primary", readWrite.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void readAfterWrite_ShouldStickToPrimaryWithinWindow() {
+        // Given
+        DataSource dataSource = routing(ReplicaSelection.ROUND_ROBIN, node("replica-a"));
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager(dataSource));
+        TransactionTemplate readOnly = readOnly(dataSource);
+
+        // When
+        readWrite.executeWithoutResult(status -> whoAmI());
+        String readRightAfterWrite = readOnly.execute(status -> whoAmI());
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        String readAfterWindow = readOnly.execute(status -> whoAmI());
+
+        // Then
+        assertEquals("primary", readRightAfterWrite);
+        assertEquals("replica-a", readAfterWindow);
+    }
+
+    @Test
+    void leastLoaded_ShouldPickReplicaWithFewestActiveConnections() throws Exception {
+        // Given
+        ReplicaNode busy = node("replica-a");
+        ReplicaNode idle = node("replica-b");
+        routing(ReplicaSelection.LEAST_LOADED, busy, idle);
+
+        // When
+        try (var held = busy.getConnection()) {
+            // Then
+            assertEquals(1, busy.getActiveConnections());
+            assertSame(idle, routingDataSource.selectReplica());
+        }
+        assertEquals(0, busy.getActiveConnections());
+    }
+
+    @Test
+    void unhealthyReplicas_ShouldFallBackToPrimary() {
+        // Given
+        ReplicaNode broken = new ReplicaNode("broken", new DriverManagerDataSource("jdbc:unknown:nowhere"));
+        TransactionTemplate readOnly = readOnly(routing(ReplicaSelection.ROUND_ROBIN, broken));
+
+        // When
+        String node = readOnly.execute(status -> whoAmI());
+
+        // Then
+        assertEquals("primary", node);
+        assertFalse(broken.isHealthy());
+    }
+
+    @Test
+    void healthCheck_ShouldRestoreRecoveredReplica() {
+        // Given
+        ReplicaNode replica = new ReplicaNode("replica-a", new DriverManagerDataSource("jdbc:unknown:nowhere"));
+        TransactionTemplate readOnly = readOnly(routing(ReplicaSelection.ROUND_ROBIN, replica));
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+
+        // When
+        replica.setTargetDataSource(h2("replica-a"));
+        routingDataSource.checkReplicas();
+
+        // Then
+        assertTrue(replica.isHealthy());
+        assertEquals("replica-a", readOnly.execute(status -> whoAmI()));
+    }
+
+    private DataSource routing(ReplicaSelection selection, ReplicaNode... replicas) {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), () -> "client-1", clock::get);
+        routingDataSource = new ReadWriteRoutingDataSource(h2("primary"), List.of(replicas), selection,
+                tracker, Duration.ofHours(1));
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private TransactionTemplate readOnly(DataSource dataSource) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager(dataSource));
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private DataSourceTransactionManager transactionManager(DataSource dataSource) {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        return new DataSourceTransactionManager(dataSource);
+    }
+
+    private static ReplicaNode node(String name) {
+        return new ReplicaNode(name, h2(name));
+    }
+
+    // Each H2 instance knows its own name, which tells us where a query was routed
+    private static DataSource h2(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing_" + name.replace('-', '_') + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(32))");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.student.deadline;
+
+import com.example.student.model.Student;
+import com.example.student.repository.StudentRepository;
+import com.example.student.support.LatencyInjectingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "student.deadline.endpoints[/api/students/search]=300ms",
+        "student.load-shedding.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DeadlineIntegrationTest {
+
+    private static final Duration STUCK = Duration.ofSeconds(30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private LatencyInjectingDataSource latency;
+
+    @TestConfiguration
+    static class SlowDatabaseConfig {
+
+        // Declared as the concrete type so it is known to be PriorityOrdered and wraps the data
+        // source before the deadline wrapper does; cancels then reach the injected delay
+        @Bean
+        static LatencyPostProcessor latencyInjectingDataSource() {
+            return new LatencyPostProcessor();
+        }
+    }
+
+    static class LatencyPostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return bean instanceof DataSource target && "dataSource".equals(beanName)
+                    ? new LatencyInjectingDataSource(target, Duration.ZERO)
+                    : bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        latency = dataSource.unwrap(LatencyInjectingDataSource.class);
+        latency.setLatency(Duration.ZERO);
+        studentRepository.deleteAll();
+        studentRepository.save(Student.builder().name("John Doe").email("john.deadline@example.com").age(25).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        latency.setLatency(Duration.ZERO);
+    }
+
+    @Test
+    void search_WhenQueryOutlivesEndpointDeadline_ShouldCancelItAndReturn504() throws Exception {
+        // Given
+        latency.setLatency(STUCK);
+
+        // When
+        long start = System.nanoTime();
+        mockMvc.perform(get("/api/students/search").param("name", "John"))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.message").value("Request deadline exceeded"));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then - the statement was cancelled, not waited out, and its connection is usable again
+        assertTrue(elapsedMillis < 5_000, "took " + elapsedMillis + " ms");
+        latency.setLatency(Duration.ZERO);
+        mockMvc.perform(get("/api/students/search").param("name", "John"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email").value("john.deadline@example.com"));
+    }
+
+    @Test
+    void search_WhenHeaderAllowsMoreTime_ShouldOverrideEndpointDefault() throws Exception {
+        // Given
+        latency.setLatency(Duration.ofMillis(500));
+
+        // When & Then
+        mockMvc.perform(get("/api/students/search").param("name", "John").header(DeadlineFilter.HEADER, "5s"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/search").param("name", "John").header(DeadlineFilter.HEADER, "soon"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void search_WithSlowTail_ShouldBoundResponseTimeByDeadline() throws Exception {
+        // Given - every fourth statement would stall for 30s
+        AtomicInteger statements = new AtomicInteger();
+        latency.setLatency(() -> statements.incrementAndGet() % 4 == 0 ? STUCK : Duration.ZERO);
+        int ok = 0;
+        int timedOut = 0;
+        long slowestMillis = 0;
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            long start = System.nanoTime();
+            int status = mockMvc.perform(get("/api/students/search").param("name", "John")
+                            .header(DeadlineFilter.HEADER, "200"))
+                    .andReturn().getResponse().getStatus();
+            slowestMillis = Math.max(slowestMillis, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            if (status == 200) {
+                ok++;
+            } else if (status == 504) {
+                timedOut++;
+            }
+        }
+
+        // Then - the tail is cut at the deadline instead of following the database
+        assertEquals(20, ok + timedOut);
+        assertTrue(ok > 0 && timedOut > 0, ok + " ok, " + timedOut + " timed out");
+        assertTrue(slowestMillis < 5_000, "slowest took " + slowestMillis + " ms");
+    }
+}
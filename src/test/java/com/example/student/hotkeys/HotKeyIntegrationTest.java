@@ -0,0 +1,126 @@
+package com.example.student.hotkeys;
+
+import com.example.student.model.Student;
+import com.example.student.repository.StudentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,hotkeys")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HotKeyIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private HotKeyTracker tracker;
+
+    @Autowired
+    private HotKeyCacheWarmer warmer;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Student john;
+    private Student jane;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        tracker.clear();
+        john = studentRepository.save(Student.builder().name("John Doe").email("john.hot@example.com").age(25).build());
+        jane = studentRepository.save(Student.builder().name("Jane Smith").email("jane.hot@example.com").age(22).build());
+    }
+
+    @Test
+    void getHotKeys_ShouldRankRequestedIdsEmailsAndSearchTerms() throws Exception {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/students/{id}", john.getId())).andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/students").param("ids", john.getId() + "," + jane.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/email/{email}", jane.getEmail())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/search").param("name", " JOHN ")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/count/search").param("name", "john")).andExpect(status().isOk());
+        mockMvc.perform(put("/api/students/{id}", jane.getId()).contentType("application/json")
+                .content("{\"name\":\"Jane Smith\",\"email\":\"jane.hot@example.com\",\"age\":23}"));
+
+        // When & Then
+        String body = mockMvc.perform(get("/actuator/hotkeys"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ids[0].key").value(john.getId().toString()))
+                .andExpect(jsonPath("$.ids[0].count").value(6))
+                .andExpect(jsonPath("$.ids[1].key").value(jane.getId().toString()))
+                .andExpect(jsonPath("$.ids[1].count").value(1))
+                .andExpect(jsonPath("$.emails[0].key").value(HotKeyEndpoint.hash(jane.getEmail())))
+                .andExpect(jsonPath("$.searches[0].key").value(HotKeyEndpoint.hash("john")))
+                .andExpect(jsonPath("$.searches[0].count").value(2))
+                .andReturn().getResponse().getContentAsString();
+        assertFalse(body.contains(jane.getEmail()));
+    }
+
+    @Test
+    void warmIfInvalidated_AfterCacheIsCleared_ShouldReloadHotStudents() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/students/{id}", john.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/{id}", jane.getId())).andExpect(status().isOk());
+        tracker.record(HotKeyType.ID, "999999");
+        assertFalse(warmer.warmIfInvalidated());
+
+        // When
+        entityManagerFactory.getCache().evictAll();
+        boolean warmed = warmer.warmIfInvalidated();
+
+        // Then - the missing id 999999 does not keep triggering warms
+        assertTrue(warmed);
+        assertTrue(entityManagerFactory.getCache().contains(Student.class, john.getId()));
+        assertTrue(entityManagerFactory.getCache().contains(Student.class, jane.getId()));
+        assertFalse(warmer.warmIfInvalidated());
+    }
+
+    @Test
+    void snapshot_AfterRestart_ShouldPreWarmPreviouslyHotStudents(@TempDir Path dir) throws Exception {
+        // Given - a snapshot saved by the previous run
+        Path file = dir.resolve("hot-keys.json");
+        mockMvc.perform(get("/api/students/{id}", john.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/email/{email}", jane.getEmail())).andExpect(status().isOk());
+        new HotKeySnapshotStore(tracker, objectMapper, file, 100).save();
+        tracker.clear();
+        entityManagerFactory.getCache().evictAll();
+
+        // When
+        boolean restored = new HotKeySnapshotStore(tracker, objectMapper, file, 100).restore();
+        int loaded = warmer.warm();
+
+        // Then
+        assertTrue(restored);
+        assertEquals(2, loaded);
+        assertEquals(List.of(new HotKey(john.getId().toString(), 1)), tracker.top(HotKeyType.ID, 10));
+        assertTrue(entityManagerFactory.getCache().contains(Student.class, john.getId()));
+        assertTrue(entityManagerFactory.getCache().contains(Student.class, jane.getId()));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.student.hotkeys;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeyTrackerTest {
+
+    @Test
+    void record_WithSkewedTraffic_ShouldFindHeavyHittersWithinSketchError() {
+        // Given - ten hot ids take half of 200,000 requests, the rest spread over 50,000 ids
+        HotKeyTracker tracker = new HotKeyTracker(2048, 4, 20);
+        Random random = new Random(42);
+        Map<String, Long> actual = new HashMap<>();
+        int requests = 200_000;
+
+        // When
+        for (int i = 0; i < requests; i++) {
+            String id = Integer.toString(random.nextBoolean() ? random.nextInt(10) : 10 + random.nextInt(50_000));
+            actual.merge(id, 1L, Long::sum);
+            tracker.record(HotKeyType.ID, id);
+        }
+
+        // Then
+        List<HotKey> top = tracker.top(HotKeyType.ID, 10);
+        assertEquals(Set.of("0", "1", "2", "3", "4", "5", "6", "7", "8", "9"),
+                top.stream().map(HotKey::key).collect(Collectors.toSet()));
+        double maxError = Math.E / 2048 * requests;
+        for (Map.Entry<String, Long> entry : actual.entrySet()) {
+            long estimate = tracker.estimate(HotKeyType.ID, entry.getKey());
+            assertTrue(estimate >= entry.getValue(), "undercounted " + entry.getKey());
+        }
+        for (HotKey hot : top) {
+            assertTrue(hot.count() - actual.get(hot.key()) <= maxError, hot + " vs " + actual.get(hot.key()));
+        }
+    }
+
+    @Test
+    void record_WhenColderKeyHeatsUp_ShouldDisplaceColdestTrackedKey() {
+        // Given
+        HotKeyTracker tracker = new HotKeyTracker(1024, 4, 2);
+        record(tracker, "a", 5);
+        record(tracker, "b", 3);
+
+        // When
+        record(tracker, "c", 4);
+
+        // Then
+        assertEquals(List.of(new HotKey("a", 5), new HotKey("c", 4)), tracker.top(HotKeyType.SEARCH, 10));
+    }
+
+    @Test
+    void decay_ShouldHalveCountsSoNewTrafficTakesOver() {
+        // Given
+        HotKeyTracker tracker = new HotKeyTracker(1024, 4, 1);
+        record(tracker, "old", 100);
+
+        // When
+        tracker.decay();
+        tracker.decay();
+        record(tracker, "new", 30);
+
+        // Then
+        assertEquals(25, tracker.estimate(HotKeyType.SEARCH, "old"));
+        assertEquals(List.of(new HotKey("new", 30)), tracker.top(HotKeyType.SEARCH, 10));
+    }
+
+    @Test
+    void restore_ShouldAddSnapshotCounts() {
+        // Given
+        HotKeyTracker before = new HotKeyTracker(1024, 4, 10);
+        record(before, "john", 7);
+        HotKeyTracker after = new HotKeyTracker(1024, 4, 10);
+
+        // When
+        after.restore(before.snapshot(10));
+        after.record(HotKeyType.SEARCH, "john");
+
+        // Then
+        assertEquals(List.of(new HotKey("john", 8)), after.top(HotKeyType.SEARCH, 10));
+        assertTrue(after.top(HotKeyType.ID, 10).isEmpty());
+    }
+
+    private static void record(HotKeyTracker tracker, String term, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(HotKeyType.SEARCH, term);
+        }
+    }
+}
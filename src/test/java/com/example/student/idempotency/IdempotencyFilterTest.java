@@ -0,0 +1,249 @@
+package com.example.student.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyProperties properties;
+
+    // Echoes the request body with 201, like a create
+    private final FilterChain created = (req, res) -> {
+        executions.incrementAndGet();
+        byte[] body = StreamUtils.copyToByteArray(req.getInputStream());
+        HttpServletResponse response = (HttpServletResponse) res;
+        response.setStatus(201);
+        response.setHeader("Location", "/api/students/" + executions.get());
+        response.setContentType("application/json");
+        response.getOutputStream().write(body);
+    };
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        properties.setWaitTimeout(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void doFilter_WhenKeyRepeats_ShouldReplayStoredResponseWithoutRunningAgain() throws Exception {
+        // Given
+        IdempotencyFilter filter = new IdempotencyFilter(properties, objectMapper, clock::get);
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "key-1", "{\"name\":\"John\"}"), first, created);
+
+        // When
+        MockHttpServletResponse replayed = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "key-1", "{\"name\":\"John\"}"), replayed, created);
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(201, first.getStatus());
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(201, replayed.getStatus());
+        assertEquals("true", replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("/api/students/1", replayed.getHeader("Location"));
+        assertEquals("application/json", replayed.getContentType());
+        assertEquals("{\"name\":\"John\"}", replayed.getContentAsString());
+    }
+
+    @Test
+    void doFilter_WhenKeyReusedWithDifferentBody_ShouldReturnUnprocessableEntity() throws Exception {
+        // Given
+        IdempotencyFilter filter = new IdempotencyFilter(properties, objectMapper, clock::get);
+        filter.doFilter(request("POST", "key-1", "{\"name\":\"John\"}"), new MockHttpServletResponse(), created);
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "key-1", "{\"name\":\"Jane\"}"), response, created);
+
+        // Then
+        assertEquals(422, response.getStatus());
+        assertTrue(response.getContentAsString().contains("different request body"));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void doFilter_WhenDuplicateArrivesWhileOriginalRuns_ShouldWaitAndReplay() throws Exception {
+        // Given
+        IdempotencyFilter filter = new IdempotencyFilter(properties, objectMapper, clock::get);
+        CountDownLatch originalStarted = new CountDownLatch(1);
+        CountDownLatch releaseOriginal = new CountDownLatch(1);
+        FilterChain slow = (req, res) -> {
+            originalStarted.countDown();
+            try {
+                assertTrue(releaseOriginal.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            created.doFilter(req, res);
+        };
+        CompletableFuture<Void> original = CompletableFuture.runAsync(() -> run(filter, new MockHttpServletResponse(), slow));
+        assertTrue(originalStarted.await(5, TimeUnit.SECONDS));
+
+        // When
+        MockHttpServletResponse duplicate = new MockHttpServletResponse();
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> run(filter, duplicate, created));
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+        releaseOriginal.countDown();
+        original.get(5, TimeUnit.SECONDS);
+        waiting.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(201, duplicate.getStatus());
+        assertEquals("true", duplicate.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void doFilter_WhenOriginalStillRunsAfterWaitTimeout_ShouldReturnConflict() throws Exception {
+        // Given
+        properties.setWaitTimeout(Duration.ZERO);
+        IdempotencyFilter filter = new IdempotencyFilter(properties, objectMapper, clock::get);
+        MockHttpServletResponse duplicate = new MockHttpServletResponse();
+
+        // When - the duplicate arrives while the original is still inside the chain
+        filter.doFilter(request("POST", "key-1", "{}"), new MockHttpServletResponse(),
+                (req, res) -> filter.doFilter(request("POST", "key-1", "{}"), duplicate, created));
+
+        // Then
+        assertEquals(409, duplicate.getStatus());
+        assertEquals("1", duplicate.getHeader("Retry-After"));
+    }
+
+    @Test
+    void doFilter_WhenOriginalFailedWithServerError_ShouldRunRetry() throws Exception {
+        // Given
+        IdempotencyFilter filter = new IdempotencyFilter(properties, objectMapper, clock::get);
+        filter.doFilter(request("POST", "key-1", "{}"), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(503));
+
+        // When
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "key-1", "{}"), retry, created);
+
+        // Then
+        assertEquals(201, retry.getStatus());
+        assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void doFilter_WhenStoredResponseExpiredOrEvicted_ShouldRunAgain() throws Exception {
+        // Given
+        properties.setTtl(Duration.ofMinutes(1));
+        properties.setMaxEntries(2);
+        IdempotencyFilter filter = new IdempotencyFilter(properties, objectMapper, clock::get);
+        filter.doFilter(request("POST", "key-1", "{}"), new MockHttpServletResponse(), created);
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+        filter.doFilter(request("POST", "key-1", "{}"), new MockHttpServletResponse(), created);
+
+        // When - two newer keys push key-1 out
+        filter.doFilter(request("POST", "key-2", "{}"), new MockHttpServletResponse(), created);
+        filter.doFilter(request("POST", "key-3", "{}"), new MockHttpServletResponse(), created);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "key-1", "{}"), response, created);
+
+        // Then
+        assertEquals(5, executions.get());
+        assertNull(response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(2, filter.storedKeys());
+    }
+
+    @Test
+    void doFilter_WhenStoreIsFullOfInFlightKeys_ShouldRefuseNewKeysWithoutEvictingThem() throws Exception {
+        // Given
+        properties.setMaxEntries(1);
+        properties.setWaitTimeout(Duration.ZERO);
+        IdempotencyFilter filter = new IdempotencyFilter(properties, objectMapper, clock::get);
+        filter.doFilter(request("POST", "key-0", "{}"), new MockHttpServletResponse(), created);
+        MockHttpServletResponse otherKey = new MockHttpServletResponse();
+        MockHttpServletResponse duplicate = new MockHttpServletResponse();
+
+        // When - key-1 pushes out the stored key-0, then stays in flight while the others arrive
+        filter.doFilter(request("POST", "key-1", "{}"), new MockHttpServletResponse(), (req, res) -> {
+            filter.doFilter(request("POST", "key-2", "{}"), otherKey, created);
+            filter.doFilter(request("POST", "key-1", "{}"), duplicate, created);
+            created.doFilter(req, res);
+        });
+
+        // Then
+        assertEquals(503, otherKey.getStatus());
+        assertEquals("1", otherKey.getHeader("Retry-After"));
+        assertEquals(409, duplicate.getStatus());
+        assertEquals(2, executions.get());
+        assertEquals(1, filter.storedKeys());
+    }
+
+    @Test
+    void doFilter_WhenResponseIsLargerThanMaxSize_ShouldNotStoreIt() throws Exception {
+        // Given
+        properties.setMaxSize(DataSize.ofBytes(8));
+        IdempotencyFilter filter = new IdempotencyFilter(properties, objectMapper, clock::get);
+        filter.doFilter(request("POST", "key-1", "{\"name\":\"John\"}"), new MockHttpServletResponse(), created);
+
+        // When
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "key-1", "{\"name\":\"John\"}"), retry, created);
+
+        // Then
+        assertEquals(2, executions.get());
+        assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(0, filter.storedKeys());
+    }
+
+    @Test
+    void doFilter_WithoutKeyOrForOtherMethods_ShouldPassThrough() throws Exception {
+        // Given
+        IdempotencyFilter filter = new IdempotencyFilter(properties, objectMapper, clock::get);
+
+        // When
+        filter.doFilter(request("POST", null, "{}"), new MockHttpServletResponse(), created);
+        filter.doFilter(request("POST", null, "{}"), new MockHttpServletResponse(), created);
+        filter.doFilter(request("DELETE", "key-1", ""), new MockHttpServletResponse(), created);
+        filter.doFilter(request("DELETE", "key-1", ""), new MockHttpServletResponse(), created);
+
+        // Then
+        assertEquals(4, executions.get());
+        assertEquals(0, filter.storedKeys());
+    }
+
+    private static void run(IdempotencyFilter filter, MockHttpServletResponse response, FilterChain chain) {
+        try {
+            filter.doFilter(request("POST", "key-1", "{}"), response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MockHttpServletRequest request(String method, String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/students");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
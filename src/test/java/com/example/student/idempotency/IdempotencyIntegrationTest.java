@@ -0,0 +1,91 @@
+package com.example.student.idempotency;
+
+import com.example.student.repository.StudentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+    }
+
+    @Test
+    void createStudent_WhenRetriedWithSameKey_ShouldCreateOnceAndReplay() throws Exception {
+        // Given
+        String body = objectMapper.writeValueAsString(Map.of("name", "John Doe", "email", "john.idem@example.com", "age", 25));
+        MvcResult first = mockMvc.perform(post("/api/students").header(IdempotencyFilter.HEADER, "create-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        // When
+        MvcResult retry = mockMvc.perform(post("/api/students").header(IdempotencyFilter.HEADER, "create-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        // Then - without the key the retry would have been a 409 for the duplicate email
+        assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+        assertEquals(1, studentRepository.count());
+        mockMvc.perform(post("/api/students").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void updateStudent_WhenKeyReusedForAnotherStudent_ShouldRunBoth() throws Exception {
+        // Given
+        String john = objectMapper.writeValueAsString(Map.of("name", "John Doe", "email", "john.idem@example.com", "age", 25));
+        String jane = objectMapper.writeValueAsString(Map.of("name", "Jane Smith", "email", "jane.idem@example.com", "age", 22));
+        long johnId = id(mockMvc.perform(post("/api/students").contentType(MediaType.APPLICATION_JSON).content(john)).andReturn());
+        long janeId = id(mockMvc.perform(post("/api/students").contentType(MediaType.APPLICATION_JSON).content(jane)).andReturn());
+        String older = objectMapper.writeValueAsString(Map.of("name", "Same Name", "email", "same@example.com", "age", 40));
+
+        // When - keys are scoped to method and path
+        mockMvc.perform(put("/api/students/{id}", johnId).header(IdempotencyFilter.HEADER, "update-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(older))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/students/{id}", janeId).header(IdempotencyFilter.HEADER, "update-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(older.replace("same@", "other@")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+
+        // Then
+        assertEquals(40, studentRepository.findById(johnId).orElseThrow().getAge());
+        assertEquals(40, studentRepository.findById(janeId).orElseThrow().getAge());
+    }
+
+    private long id(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+}
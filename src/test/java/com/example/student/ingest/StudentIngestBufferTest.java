@@ -0,0 +1,201 @@
+package com.example.student.ingest;
+
+import com.example.student.deadline.DeadlineFilter;
+import com.example.student.deadline.DeadlineProperties;
+import com.example.student.exception.DeadlineExceededException;
+import com.example.student.exception.DuplicateEmailException;
+import com.example.student.exception.IngestQueueFullException;
+import com.example.student.model.Student;
+import com.example.student.repository.StudentRepository;
+import com.example.student.service.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudentIngestBufferTest {
+
+    @Mock
+    private StudentService studentService;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    private final WriteBehindProperties properties = new WriteBehindProperties();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private StudentIngestBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(50);
+        properties.setFlushInterval(Duration.ofMillis(100));
+        lenient().when(studentRepository.existsByEmail(anyString())).thenReturn(false);
+        lenient().when(studentService.createStudents(anyList())).thenAnswer(invocation -> {
+            List<Student> students = invocation.getArgument(0);
+            students.forEach(student -> student.setId(nextId.getAndIncrement()));
+            return students;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (buffer != null) {
+            buffer.destroy();
+        }
+    }
+
+    @Test
+    void submit_ShouldCommitConcurrentCreatesAsOneBatch() throws Exception {
+        // Given
+        buffer = new StudentIngestBuffer(studentService, studentRepository, properties);
+
+        // When
+        List<CompletableFuture<Student>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(buffer.submit(student("student" + i + "@example.com")));
+        }
+
+        // Then
+        for (CompletableFuture<Student> result : results) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS).getId());
+        }
+        verify(studentService, times(1)).createStudents(argThat(students -> students.size() == 10));
+    }
+
+    @Test
+    void submit_WhenEmailIsPending_ShouldThrowException() {
+        // Given
+        properties.setFlushInterval(Duration.ofSeconds(1));
+        buffer = new StudentIngestBuffer(studentService, studentRepository, properties);
+        buffer.submit(student("john.doe@example.com"));
+
+        // When & Then
+        assertThrows(DuplicateEmailException.class, () -> buffer.submit(student("john.doe@example.com")));
+    }
+
+    @Test
+    void submit_WhenEmailExists_ShouldThrowException() {
+        // Given
+        buffer = new StudentIngestBuffer(studentService, studentRepository, properties);
+        when(studentRepository.existsByEmail("john.doe@example.com")).thenReturn(true);
+
+        // When & Then
+        assertThrows(DuplicateEmailException.class, () -> buffer.submit(student("john.doe@example.com")));
+        verifyNoInteractions(studentService);
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldThrowException() throws Exception {
+        // Given
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(studentService.createStudents(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return invocation.getArgument(0);
+        });
+        properties.setQueueCapacity(2);
+        properties.setBatchSize(1);
+        buffer = new StudentIngestBuffer(studentService, studentRepository, properties);
+        buffer.submit(student("first@example.com"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        buffer.submit(student("second@example.com"));
+        CompletableFuture<Student> third = buffer.submit(student("third@example.com"));
+
+        // When & Then
+        assertThrows(IngestQueueFullException.class, () -> buffer.submit(student("fourth@example.com")));
+        release.countDown();
+        third.get(5, TimeUnit.SECONDS);
+        assertNotNull(buffer.submit(student("fourth@example.com")).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_WhenBatchConflicts_ShouldFailOnlyConflictingCreate() throws Exception {
+        // Given
+        properties.setFlushInterval(Duration.ofMillis(200));
+        when(studentService.createStudents(anyList())).thenThrow(new DataIntegrityViolationException("uk_student_email"));
+        when(studentService.createStudent(any(Student.class))).thenAnswer(invocation -> {
+            Student student = invocation.getArgument(0);
+            if (student.getEmail().equals("taken@example.com")) {
+                throw new DataIntegrityViolationException("uk_student_email");
+            }
+            student.setId(nextId.getAndIncrement());
+            return student;
+        });
+        buffer = new StudentIngestBuffer(studentService, studentRepository, properties);
+
+        // When
+        CompletableFuture<Student> ok = buffer.submit(student("free@example.com"));
+        CompletableFuture<Student> conflicting = buffer.submit(student("taken@example.com"));
+
+        // Then
+        assertNotNull(ok.get(5, TimeUnit.SECONDS).getId());
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> conflicting.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DuplicateEmailException.class, failure.getCause());
+    }
+
+    @Test
+    void createDurably_WhenCreateFails_ShouldRethrowCause() {
+        // Given
+        when(studentService.createStudents(anyList())).thenThrow(new DataIntegrityViolationException("uk_student_email"));
+        when(studentService.createStudent(any(Student.class))).thenThrow(new DuplicateEmailException("john.doe@example.com"));
+        buffer = new StudentIngestBuffer(studentService, studentRepository, properties);
+
+        // When & Then
+        assertThrows(DuplicateEmailException.class, () -> buffer.createDurably(student("john.doe@example.com")));
+    }
+
+    @Test
+    void createDurably_WhenRequestDeadlinePassesBeforeCommit_ShouldThrowDeadlineExceeded() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(studentService.createStudents(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return invocation.getArgument(0);
+        });
+        buffer = new StudentIngestBuffer(studentService, studentRepository, properties);
+        DeadlineFilter deadlineFilter = new DeadlineFilter(new DeadlineProperties(), new ObjectMapper());
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/students");
+        request.addHeader(DeadlineFilter.HEADER, "200");
+
+        // When & Then
+        long start = System.nanoTime();
+        try {
+            assertThrows(DeadlineExceededException.class, () -> deadlineFilter.doFilter(request,
+                    new MockHttpServletResponse(), (req, res) -> buffer.createDurably(student("john.doe@example.com"))));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static Student student(String email) {
+        return Student.builder()
+                .name("John Doe")
+                .email(email)
+                .age(25)
+                .build();
+    }
+}
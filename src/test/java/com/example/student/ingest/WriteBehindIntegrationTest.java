@@ -0,0 +1,134 @@
+package com.example.student.ingest;
+
+import com.example.student.model.Student;
+import com.example.student.exception.DuplicateEmailException;
+import com.example.student.repository.StudentRepository;
+import com.example.student.service.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "student.write-behind.enabled=true",
+        "student.write-behind.flush-interval=20ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class WriteBehindIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentService studentService;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+    }
+
+    @Test
+    void createStudent_ShouldReturnCreatedAfterCommit() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/students")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(student("john.doe@example.com"))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", notNullValue()));
+
+        assertTrue(studentRepository.findByEmail("john.doe@example.com").isPresent());
+    }
+
+    @Test
+    void createStudent_WithRespondAsync_ShouldReturnAcceptedAndWriteLater() throws Exception {
+        // When
+        mockMvc.perform(post("/api/students")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(student("jane.smith@example.com"))))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"));
+
+        // Then
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (studentRepository.findByEmail("jane.smith@example.com").isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(studentRepository.findByEmail("jane.smith@example.com").isPresent());
+    }
+
+    @Test
+    void createStudent_WithDuplicateEmail_ShouldReturnConflict() throws Exception {
+        // Given
+        studentRepository.save(student("john.doe@example.com"));
+
+        // When & Then
+        mockMvc.perform(post("/api/students")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(student("john.doe@example.com"))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void submit_WhenGroupHitsUniqueConstraint_ShouldRetryFreshCopiesOneByOne() throws Exception {
+        // Given - a buffer that holds both creates in one group
+        WriteBehindProperties properties = new WriteBehindProperties();
+        properties.setBatchSize(10);
+        properties.setFlushInterval(Duration.ofMillis(500));
+        StudentIngestBuffer buffer = new StudentIngestBuffer(studentService, studentRepository, properties);
+        Student first = student("first@example.com");
+        Student second = student("second@example.com");
+
+        try {
+            // When - a conflicting row commits after the emails were checked
+            CompletableFuture<Student> firstResult = buffer.submit(first);
+            CompletableFuture<Student> secondResult = buffer.submit(second);
+            Student conflicting = studentRepository.save(student("second@example.com"));
+
+            // Then
+            Student saved = firstResult.get(5, TimeUnit.SECONDS);
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> secondResult.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(DuplicateEmailException.class, failure.getCause());
+            assertEquals("first@example.com", studentRepository.findById(saved.getId()).orElseThrow().getEmail());
+            assertEquals(conflicting.getId(), studentRepository.findByEmail("second@example.com").orElseThrow().getId());
+            assertEquals(2, studentRepository.count());
+            assertNull(first.getId());
+            assertNull(second.getId());
+        } finally {
+            buffer.destroy();
+        }
+    }
+
+    private static Student student(String email) {
+        return Student.builder()
+                .name("John Doe")
+                .email(email)
+                .age(25)
+                .address("123 Main St")
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.student.jfr;
+
+import com.example.student.model.Student;
+import com.example.student.repository.StudentRepository;
+import com.jayway.jsonpath.JsonPath;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "student.flight-recorder.max-duration=5m",
+        "management.endpoints.web.exposure.include=health,recording"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FlightRecordingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private FlightRecordings recordings;
+
+    private Student john;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        john = studentRepository.save(Student.builder().name("John Doe").email("john.jfr@example.com").age(25).build());
+        studentRepository.save(Student.builder().name("Johnny Cash").email("johnny.jfr@example.com").age(31).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        recordings.close();
+    }
+
+    @Test
+    void recording_ShouldCaptureServiceAndRepositoryCallEvents(@TempDir Path dir) throws Exception {
+        // Given
+        String started = mockMvc.perform(start("{\"duration\": \"2m\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.settings").value("default"))
+                .andReturn().getResponse().getContentAsString();
+        long id = JsonPath.parse(started).read("$.id", Long.class);
+
+        // When
+        mockMvc.perform(get("/api/students/{id}", john.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/count/search").param("name", "john")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/email/{email}", "nobody@example.com")).andExpect(status().isNotFound());
+        mockMvc.perform(delete("/actuator/recording"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("STOPPED"));
+        mockMvc.perform(get("/actuator/recording/{id}", id + 1))
+                .andExpect(status().isNotFound());
+        byte[] file = mockMvc.perform(get("/actuator/recording/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        Path jfr = Files.write(dir.resolve("recording.jfr"), file);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(jfr);
+        RecordedEvent getById = event(events, "com.example.student.ServiceCall", "findStudentById");
+        assertEquals("Long", getById.getString("arguments"));
+        assertEquals(1, getById.getLong("rowCount"));
+        assertFalse(getById.getDuration().isNegative());
+        RecordedEvent count = event(events, "com.example.student.RepositoryCall", "countByNameContainingIgnoreCase");
+        assertEquals("String", count.getString("arguments"));
+        assertEquals(-1, count.getLong("rowCount"));
+        RecordedEvent byEmail = event(events, "com.example.student.RepositoryCall", "findByEmail");
+        assertEquals("String", byEmail.getString("arguments"));
+        assertEquals(0, byEmail.getLong("rowCount"));
+        assertTrue(events.stream().noneMatch(event -> event.hasField("arguments")
+                && event.getString("arguments") != null && event.getString("arguments").contains("john")));
+    }
+
+    @Test
+    void startRecording_WhenOneIsRunningOrRequestIsInvalid_ShouldReject() throws Exception {
+        mockMvc.perform(get("/actuator/recording"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(start("{\"duration\": \"soon\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(start("{\"settings\": \"no-such-settings\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/actuator/recording"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(start("{\"duration\": \"1h\", \"settings\": \"profile\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.duration").value("PT5M"));
+        mockMvc.perform(start("{}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/actuator/recording"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.settings").value("profile"));
+    }
+
+    private static MockHttpServletRequestBuilder start(String body) {
+        return post("/actuator/recording").contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private static RecordedEvent event(List<RecordedEvent> events, String type, String method) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(type))
+                .filter(event -> method.equals(event.getString("method")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + type + " event for " + method));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.student.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadSheddingFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final AtomicLong clock = new AtomicLong();
+    private LoadSheddingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoadSheddingProperties();
+        properties.setInitialLimit(2);
+        properties.setMinLimit(1);
+        properties.setMaxLimit(10);
+        properties.setReadShare(0.5);
+        properties.setLatencyThreshold(Duration.ofMillis(100));
+        properties.setClientRatePerSecond(1);
+        properties.setClientBurst(5);
+    }
+
+    @Test
+    void doFilter_WhenClientExceedsRate_ShouldReturnTooManyRequestsWithRetryAfter() throws Exception {
+        // Given
+        properties.setClientBurst(1);
+        LoadSheddingFilter filter = new LoadSheddingFilter(properties, objectMapper, clock::get);
+        filter.doFilter(request("GET"), new MockHttpServletResponse(), (req, res) -> { });
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("GET"), response, (req, res) -> fail("should have been rejected"));
+
+        // Then
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("rate limit"));
+    }
+
+    @Test
+    void doFilter_WhenConcurrencyLimitReached_ShouldShedReadsButAdmitWrites() throws Exception {
+        // Given
+        LoadSheddingFilter filter = new LoadSheddingFilter(properties, objectMapper, clock::get);
+        MockHttpServletResponse nestedRead = new MockHttpServletResponse();
+        MockHttpServletResponse nestedWrite = new MockHttpServletResponse();
+
+        // When - a read is in flight, so with limit 2 and read share 0.5 another read is shed
+        FilterChain holdingChain = (req, res) -> {
+            filter.doFilter(request("GET"), nestedRead, (r, s) -> fail("read should have been shed"));
+            filter.doFilter(request("POST"), nestedWrite, (r, s) -> { });
+        };
+        filter.doFilter(request("GET"), new MockHttpServletResponse(), holdingChain);
+
+        // Then
+        assertEquals(503, nestedRead.getStatus());
+        assertEquals("1", nestedRead.getHeader("Retry-After"));
+        assertEquals(200, nestedWrite.getStatus());
+        assertEquals(0, filter.getLimit().getInFlight());
+    }
+
+    @Test
+    void doFilter_WhenResponsesAreSlow_ShouldDecreaseLimit() throws Exception {
+        // Given
+        properties.setInitialLimit(8);
+        LoadSheddingFilter filter = new LoadSheddingFilter(properties, objectMapper, clock::get);
+
+        // When
+        filter.doFilter(request("GET"), new MockHttpServletResponse(),
+                (req, res) -> clock.addAndGet(Duration.ofMillis(500).toNanos()));
+
+        // Then
+        assertEquals(7, filter.getLimit().getLimit());
+    }
+
+    @Test
+    void doFilter_WhenResponsesAreFastUnderLoad_ShouldIncreaseLimit() throws Exception {
+        // Given
+        properties.setInitialLimit(2);
+        properties.setReadShare(1);
+        LoadSheddingFilter filter = new LoadSheddingFilter(properties, objectMapper, clock::get);
+
+        // When
+        filter.doFilter(request("GET"), new MockHttpServletResponse(), (req, res) -> { });
+
+        // Then
+        assertEquals(3, filter.getLimit().getLimit());
+    }
+
+    @Test
+    void doFilter_WhenTrackedClientsExceedCap_ShouldForgetLeastRecentlySeen() throws Exception {
+        // Given - no bucket is full, so none of them is idle
+        properties.setClientBurst(1);
+        properties.setMaxTrackedClients(3);
+        LoadSheddingFilter filter = new LoadSheddingFilter(properties, objectMapper, clock::get);
+        filter.doFilter(request("GET"), new MockHttpServletResponse(), (req, res) -> { });
+
+        // When - the limited client keeps coming back while addresses rotate
+        for (int i = 0; i < 100; i++) {
+            filter.doFilter(request("GET", "10.1.0." + i), new MockHttpServletResponse(), (req, res) -> { });
+            if (i % 2 == 0) {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(request("GET"), response, (req, res) -> fail("should have been rejected"));
+                assertEquals(429, response.getStatus());
+            }
+        }
+
+        // Then
+        assertEquals(3, filter.trackedClients());
+    }
+
+    private static MockHttpServletRequest request(String method) {
+        return request(method, "10.0.0.1");
+    }
+
+    private static MockHttpServletRequest request(String method, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/students");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.student.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms. Response time is measured from when the request was
+ * scheduled to be sent, so time spent queued behind a stalled server is counted
+ * (coordinated-omission correction). Service time, measured from the actual send, is kept
+ * alongside it to show how much of the tail is queueing.
+ */
+class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String SUMMARY_FILE = "summary.csv";
+    private static final String SUMMARY_HEADER = "operation,count,errors,p50_ms,p99_ms,p99.9_ms,max_ms,service_p99_ms";
+
+    private final Map<Operation, Recorder> response = new EnumMap<>(Operation.class);
+    private final Map<Operation, Recorder> service = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            response.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            service.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long responseNanos, long serviceNanos, boolean failed) {
+        response.get(operation).recordValue(toMicros(responseNanos));
+        service.get(operation).recordValue(toMicros(serviceNanos));
+        if (failed) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void recordError(Operation operation) {
+        errors.get(operation).increment();
+    }
+
+    /**
+     * Writes {@code summary.csv} plus one HdrHistogram percentile file per operation
+     * ({@code <operation>.hgrm}, values in milliseconds) to the output directory, prints the
+     * summary, and if a baseline directory is given prints the change in each percentile.
+     */
+    void write(Path outputDirectory, Path baselineDirectory, PrintStream out) throws IOException {
+        Files.createDirectories(outputDirectory);
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        Histogram totalService = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        List<String> rows = new ArrayList<>();
+        rows.add(SUMMARY_HEADER);
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = response.get(operation).getIntervalHistogram();
+            Histogram serviceHistogram = service.get(operation).getIntervalHistogram();
+            long operationErrors = errors.get(operation).sum();
+            if (histogram.getTotalCount() == 0 && operationErrors == 0) {
+                continue;
+            }
+            total.add(histogram);
+            totalService.add(serviceHistogram);
+            totalErrors += operationErrors;
+            rows.add(row(operation.name().toLowerCase(Locale.ROOT), histogram, serviceHistogram, operationErrors));
+            writePercentiles(outputDirectory.resolve(operation.name().toLowerCase(Locale.ROOT) + ".hgrm"), histogram);
+        }
+        rows.add(row("all", total, totalService, totalErrors));
+        writePercentiles(outputDirectory.resolve("all.hgrm"), total);
+        Files.write(outputDirectory.resolve(SUMMARY_FILE), rows);
+
+        rows.forEach(out::println);
+        if (baselineDirectory != null) {
+            printComparison(readSummary(baselineDirectory.resolve(SUMMARY_FILE)), readSummary(outputDirectory.resolve(SUMMARY_FILE)), out);
+        }
+    }
+
+    private static String row(String name, Histogram histogram, Histogram serviceHistogram, long errors) {
+        return String.format(Locale.ROOT, "%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f", name, histogram.getTotalCount(), errors,
+                millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / MICROS_PER_MILLI, millis(serviceHistogram, 99));
+    }
+
+    private static void writePercentiles(Path file, Histogram histogram) throws IOException {
+        try (PrintStream stream = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(stream, MICROS_PER_MILLI);
+        }
+    }
+
+    private static Map<String, String[]> readSummary(Path file) throws IOException {
+        Map<String, String[]> rows = new HashMap<>();
+        for (String line : Files.readAllLines(file)) {
+            if (!line.equals(SUMMARY_HEADER)) {
+                String[] columns = line.split(",");
+                rows.put(columns[0], columns);
+            }
+        }
+        return rows;
+    }
+
+    private static void printComparison(Map<String, String[]> baseline, Map<String, String[]> current, PrintStream out) {
+        out.println();
+        out.println("operation,p50_change,p99_change,p99.9_change");
+        current.forEach((operation, columns) -> {
+            String[] before = baseline.get(operation);
+            if (before != null) {
+                out.printf(Locale.ROOT, "%s,%s,%s,%s%n", operation,
+                        change(before[3], columns[3]), change(before[4], columns[4]), change(before[5], columns[5]));
+            }
+        });
+    }
+
+    private static String change(String before, String after) {
+        double base = Double.parseDouble(before);
+        return base == 0 ? "n/a" : String.format(Locale.ROOT, "%+.1f%%", 100 * (Double.parseDouble(after) - base) / base);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.student.loadgen;
+
+import com.example.student.StudentCrudApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for {@code /api/students}. Requests are sent at a fixed arrival rate
+ * regardless of how quickly earlier ones complete, and latency is recorded against the scheduled
+ * send time. Unless {@code --target} is given, the application is started in-process on a random
+ * port first. Run with {@code mvn -Ploadgen test-compile exec:java -Dloadgen.args="..."}.
+ *
+ * <p>Options: {@code --rate} (requests/s), {@code --duration}, {@code --warmup}, {@code --mix}
+ * (crud, search, age-range, mixed or {@code read=70,create=30}), {@code --seed} (students created
+ * before the run), {@code --target}, {@code --output} and {@code --baseline} (an earlier output
+ * directory to compare against). Any other {@code --key=value} is passed to the application.
+ */
+public class LoadGenerator {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "rate", "200",
+                "duration", "30s",
+                "warmup", "5s",
+                "mix", "mixed",
+                "seed", "500",
+                "output", "target/loadgen/" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))));
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--student.load-shedding.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            if (kv.length == 2 && (options.containsKey(kv[0]) || kv[0].equals("target") || kv[0].equals("baseline"))) {
+                options.put(kv[0], kv[1]);
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+
+        ConfigurableApplicationContext context = null;
+        String target = options.get("target");
+        if (target == null) {
+            context = SpringApplication.run(StudentCrudApplication.class, applicationArgs.toArray(String[]::new));
+            target = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+        try {
+            LatencyReport report = new LoadGenerator().run(target,
+                    WorkloadMix.parse(options.get("mix")),
+                    Double.parseDouble(options.get("rate")),
+                    DurationStyle.detectAndParse(options.get("warmup")),
+                    DurationStyle.detectAndParse(options.get("duration")),
+                    Integer.parseInt(options.get("seed")));
+            Path output = Path.of(options.get("output"));
+            report.write(output, options.containsKey("baseline") ? Path.of(options.get("baseline")) : null, System.out);
+            System.out.println("Histograms written to " + output.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    LatencyReport run(String target, WorkloadMix mix, double rate, Duration warmup, Duration duration, int seed)
+            throws IOException, InterruptedException {
+        StudentPool pool = new StudentPool(target);
+        seed(pool, seed);
+
+        LatencyReport report = new LatencyReport();
+        AtomicInteger outstanding = new AtomicInteger();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long maxLag = 0;
+        long sent = 0;
+
+        for (long intended = start; intended < end; intended += interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                maxLag = Math.max(maxLag, -wait);
+            }
+            Operation operation = mix.next();
+            if (operation == Operation.DELETE && !pool.hasCreated()) {
+                operation = Operation.CREATE;
+            }
+            send(pool, operation, intended, intended >= measureFrom, report, outstanding);
+            sent++;
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        System.out.printf("Sent %d requests at %.0f/s; dispatcher fell behind schedule by at most %.1fms; %d still outstanding%n",
+                sent, rate, maxLag / 1e6, outstanding.get());
+        return report;
+    }
+
+    private void send(StudentPool pool, Operation operation, long intended, boolean measured,
+                      LatencyReport report, AtomicInteger outstanding) {
+        HttpRequest request = operation.request(pool);
+        long sentAt = System.nanoTime();
+        outstanding.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+            long done = System.nanoTime();
+            outstanding.decrementAndGet();
+            boolean failed = failure != null || response.statusCode() >= 400;
+            if (operation == Operation.CREATE && !failed) {
+                pool.addCreated(id(response.body()));
+            }
+            if (!measured) {
+                return;
+            }
+            if (failure != null) {
+                report.recordError(operation);
+            } else {
+                report.record(operation, done - intended, done - sentAt, failed);
+            }
+        });
+    }
+
+    private void seed(StudentPool pool, int count) throws IOException, InterruptedException {
+        for (int i = 0; i < count; i++) {
+            String email = pool.email(pool.nextSequence());
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(pool.uri(""))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(Operation.body("Seed " + i, email, 18 + i % 50)))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+            }
+            pool.addSeeded(id(response.body()), email);
+        }
+    }
+
+    private long id(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected response body: " + body, e);
+        }
+    }
+}
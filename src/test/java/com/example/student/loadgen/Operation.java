@@ -0,0 +1,81 @@
+package com.example.student.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One kind of request the load generator sends. Requests that need an existing student pick one
+ * from the seeded pool; DELETE only removes students created during the run, so the caller must
+ * check {@link StudentPool#hasCreated()} first.
+ */
+enum Operation {
+
+    CREATE {
+        @Override
+        HttpRequest request(StudentPool pool) {
+            long n = pool.nextSequence();
+            return json(pool.uri(""), "POST", body("Load " + n, pool.email(n), randomAge()));
+        }
+    },
+    READ {
+        @Override
+        HttpRequest request(StudentPool pool) {
+            return HttpRequest.newBuilder(pool.uri("/" + pool.randomSeeded())).GET().build();
+        }
+    },
+    UPDATE {
+        @Override
+        HttpRequest request(StudentPool pool) {
+            long id = pool.randomSeeded();
+            return json(pool.uri("/" + id), "PUT", body("Updated " + id, pool.seededEmail(id), randomAge()));
+        }
+    },
+    DELETE {
+        @Override
+        HttpRequest request(StudentPool pool) {
+            return HttpRequest.newBuilder(pool.uri("/" + pool.takeCreated())).DELETE().build();
+        }
+    },
+    SEARCH {
+        @Override
+        HttpRequest request(StudentPool pool) {
+            return HttpRequest.newBuilder(pool.uri("/search?name=" + ThreadLocalRandom.current().nextInt(100)))
+                    .GET().build();
+        }
+    },
+    AGE_RANGE {
+        @Override
+        HttpRequest request(StudentPool pool) {
+            int min = randomAge();
+            return HttpRequest.newBuilder(pool.uri("/age-range?minAge=" + min + "&maxAge=" + (min + 5)))
+                    .GET().build();
+        }
+    },
+    COUNT_AGE_RANGE {
+        @Override
+        HttpRequest request(StudentPool pool) {
+            int min = randomAge();
+            return HttpRequest.newBuilder(pool.uri("/count/age-range?minAge=" + min + "&maxAge=" + (min + 5)))
+                    .GET().build();
+        }
+    };
+
+    abstract HttpRequest request(StudentPool pool);
+
+    static String body(String name, String email, int age) {
+        return "{\"name\":\"" + name + "\",\"email\":\"" + email + "\",\"age\":" + age
+                + ",\"address\":\"1 Load Test Way\"}";
+    }
+
+    private static HttpRequest json(URI uri, String method, String body) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static int randomAge() {
+        return 18 + ThreadLocalRandom.current().nextInt(50);
+    }
+}
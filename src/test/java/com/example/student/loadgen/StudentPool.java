@@ -0,0 +1,66 @@
+package com.example.student.loadgen;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ids the workload can target. Seeded students are only read and updated, so READ and UPDATE
+ * never race a DELETE; students created during the run are the ones that get deleted.
+ */
+class StudentPool {
+
+    private final String baseUrl;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Long> seeded = new CopyOnWriteArrayList<>();
+    private final Map<Long, String> seededEmails = new ConcurrentHashMap<>();
+    private final Queue<Long> created = new ConcurrentLinkedQueue<>();
+
+    StudentPool(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    URI uri(String path) {
+        return URI.create(baseUrl + "/api/students" + path);
+    }
+
+    long nextSequence() {
+        return sequence.incrementAndGet();
+    }
+
+    String email(long n) {
+        return "load-" + runId + "-" + n + "@example.com";
+    }
+
+    void addSeeded(long id, String email) {
+        seeded.add(id);
+        seededEmails.put(id, email);
+    }
+
+    long randomSeeded() {
+        return seeded.get(ThreadLocalRandom.current().nextInt(seeded.size()));
+    }
+
+    String seededEmail(long id) {
+        return seededEmails.get(id);
+    }
+
+    void addCreated(long id) {
+        created.add(id);
+    }
+
+    boolean hasCreated() {
+        return !created.isEmpty();
+    }
+
+    Long takeCreated() {
+        return created.poll();
+    }
+}
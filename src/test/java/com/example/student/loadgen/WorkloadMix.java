@@ -0,0 +1,61 @@
+package com.example.student.loadgen;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice of operations. Besides the named mixes, a mix can be given inline as
+ * {@code read=70,create=10,age_range=20}.
+ */
+class WorkloadMix {
+
+    private final Operation[] operations;
+    private final double[] cumulative;
+
+    private WorkloadMix(Map<Operation, Integer> weights) {
+        operations = weights.keySet().toArray(Operation[]::new);
+        cumulative = new double[operations.length];
+        double total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        double sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += weights.get(operations[i]) / total;
+            cumulative[i] = sum;
+        }
+    }
+
+    static WorkloadMix parse(String spec) {
+        return switch (spec) {
+            case "crud" -> parse("create=20,read=50,update=20,delete=10");
+            case "search" -> parse("search=80,read=20");
+            case "age-range" -> parse("age_range=70,count_age_range=30");
+            case "mixed" -> parse("read=50,search=10,age_range=15,count_age_range=5,create=10,update=7,delete=3");
+            default -> {
+                Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+                for (String part : spec.split(",")) {
+                    String[] kv = part.split("=");
+                    if (kv.length != 2) {
+                        throw new IllegalArgumentException("Invalid mix entry '" + part + "', expected operation=weight");
+                    }
+                    weights.put(Operation.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(kv[1].trim()));
+                }
+                yield new WorkloadMix(weights);
+            }
+        };
+    }
+
+    Operation next() {
+        double r = ThreadLocalRandom.current().nextDouble();
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (r < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    Operation[] operations() {
+        return operations.clone();
+    }
+}
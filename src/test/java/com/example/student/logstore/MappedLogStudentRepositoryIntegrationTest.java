@@ -0,0 +1,236 @@
+package com.example.student.logstore;
+
+import com.example.student.model.Student;
+import com.example.student.repository.StudentRepository;
+import com.example.student.repository.StudentRepositoryContractTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedLogStudentRepositoryIntegrationTest extends StudentRepositoryContractTest {
+
+    private static final int INITIAL_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private final List<MappedLogStudentRepository> repositories = new ArrayList<>();
+
+    @Override
+    protected StudentRepository createRepository() {
+        return open();
+    }
+
+    @Override
+    protected Student persistAndFlush(Student student) {
+        return studentRepository.save(student);
+    }
+
+    @Override
+    protected void flush() {
+    }
+
+    @Override
+    protected void clear() {
+        // Every test starts from an empty directory, see createRepository()
+    }
+
+    @AfterEach
+    void tearDown() {
+        repositories.forEach(MappedLogStudentRepository::destroy);
+    }
+
+    @Test
+    void open_ShouldReplayLogIntoIndex() {
+        // Given
+        saveStudents(50);
+        Student updated = studentRepository.findByEmail("student7@example.com").orElseThrow();
+        updated.setName("Renamed");
+        updated.setEmail("renamed@example.com");
+        studentRepository.save(updated);
+        studentRepository.deleteById(studentRepository.findByEmail("student8@example.com").orElseThrow().getId());
+        List<Student> before = studentRepository.findAll();
+
+        // When
+        MappedLogStudentRepository reopened = reopen();
+
+        // Then
+        assertEquals(49, reopened.count());
+        assertEquals(describe(before), describe(reopened.findAll()));
+        assertEquals("Renamed", reopened.findByEmail("renamed@example.com").orElseThrow().getName());
+        assertFalse(reopened.existsByEmail("student7@example.com"));
+        assertFalse(reopened.existsByEmail("student8@example.com"));
+        Student next = reopened.save(student(100, "next@example.com"));
+        assertTrue(next.getId() > before.get(before.size() - 1).getId());
+    }
+
+    @Test
+    void open_WhenLastRecordIsTorn_ShouldDropItAndKeepAppending() throws IOException {
+        // Given
+        saveStudents(3);
+        long intact = ((MappedLogStudentRepository) studentRepository).sizeBytes();
+        studentRepository.save(student(3, "torn@example.com"));
+        long written = ((MappedLogStudentRepository) studentRepository).sizeBytes();
+        corrupt(written - 1);
+
+        // When
+        MappedLogStudentRepository reopened = reopen();
+
+        // Then
+        assertEquals(3, reopened.count());
+        assertFalse(reopened.existsByEmail("torn@example.com"));
+        assertEquals(intact, reopened.sizeBytes());
+        reopened.save(student(4, "after@example.com"));
+        assertEquals(4, reopen().count());
+    }
+
+    @Test
+    void save_WhenLogIsFull_ShouldGrowMapping() {
+        // When
+        saveStudents(500);
+
+        // Then
+        MappedLogStudentRepository repository = (MappedLogStudentRepository) studentRepository;
+        assertTrue(repository.sizeBytes() > INITIAL_SIZE);
+        assertEquals(500, repository.count());
+        assertEquals("Student 0", repository.findByEmail("student0@example.com").orElseThrow().getName());
+        assertEquals(500, reopen().count());
+    }
+
+    @Test
+    void save_WhenEmailBelongsToAnotherStudent_ShouldRejectDuplicate() {
+        // Given
+        saveStudents(5);
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class,
+                () -> studentRepository.save(student(10, "student3@example.com")));
+        assertEquals(5, studentRepository.count());
+    }
+
+    @Test
+    void compact_ShouldDropOverwrittenAndDeletedRecords() {
+        // Given
+        MappedLogStudentRepository repository = (MappedLogStudentRepository) studentRepository;
+        saveStudents(100);
+        for (Student student : repository.findAll()) {
+            if (student.getId() % 2 == 0) {
+                repository.deleteById(student.getId());
+            } else {
+                student.setAge(student.getAge() + 1);
+                repository.save(student);
+            }
+        }
+        List<Student> live = repository.findAll();
+        long size = repository.sizeBytes();
+
+        // When
+        assertFalse(repository.compactIfNeeded(0.9));
+        assertTrue(repository.compactIfNeeded(0.5));
+
+        // Then
+        assertEquals(0, repository.garbageBytes());
+        assertTrue(repository.sizeBytes() < size / 2, repository.sizeBytes() + " of " + size + " bytes");
+        assertEquals(describe(live), describe(repository.findAll()));
+        Student next = repository.save(student(200, "next@example.com"));
+        assertTrue(next.getId() > 100);
+        assertEquals(live.size() + 1, reopen().count());
+    }
+
+    @Test
+    void compact_WhileReading_ShouldNeverShowPartialIndex() throws Exception {
+        // Given
+        MappedLogStudentRepository repository = (MappedLogStudentRepository) studentRepository;
+        saveStudents(200);
+        for (Student student : repository.findAll()) {
+            student.setAge(student.getAge() + 1);
+            repository.save(student);
+        }
+        long live = repository.count();
+        AtomicBoolean compacting = new AtomicBoolean(true);
+        List<String> misses = new CopyOnWriteArrayList<>();
+        Thread reader = new Thread(() -> {
+            while (compacting.get()) {
+                long count = repository.count();
+                if (count != live) {
+                    misses.add("count " + count);
+                }
+                if (repository.findByEmail("student199@example.com").isEmpty()) {
+                    misses.add("student199@example.com");
+                }
+            }
+        });
+
+        // When
+        reader.start();
+        try {
+            for (int i = 0; i < 50; i++) {
+                repository.compact();
+            }
+        } finally {
+            compacting.set(false);
+            reader.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        // Then
+        assertEquals(List.of(), misses);
+        assertEquals(live, repository.count());
+    }
+
+    private MappedLogStudentRepository open() {
+        MappedLogStudentRepository repository = new MappedLogStudentRepository(directory, INITIAL_SIZE, false);
+        repositories.add(repository);
+        return repository;
+    }
+
+    private MappedLogStudentRepository reopen() {
+        repositories.forEach(MappedLogStudentRepository::destroy);
+        repositories.clear();
+        return open();
+    }
+
+    // Flips a byte of the record body, as if the process died before the page was written out
+    private void corrupt(long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve(MappedLogStudentRepository.FILE_NAME),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer current = ByteBuffer.allocate(1);
+            channel.read(current, position);
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) (current.get(0) ^ 0xFF)}), position);
+        }
+    }
+
+    private void saveStudents(int count) {
+        for (int i = 0; i < count; i++) {
+            studentRepository.save(student(i, "student" + i + "@example.com"));
+        }
+    }
+
+    private static List<String> describe(List<Student> students) {
+        return students.stream()
+                .map(s -> List.of(s.getId(), s.getName(), s.getEmail(), s.getAge(), s.getCreatedAt(), s.getUpdatedAt())
+                        .toString())
+                .toList();
+    }
+
+    private static Student student(int i, String email) {
+        return Student.builder()
+                .name("Student " + i)
+                .email(email)
+                .age(18 + i % 30)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.student.outbox;
+
+import com.example.student.exception.DuplicateEmailException;
+import com.example.student.model.Student;
+import com.example.student.repository.StudentRepository;
+import com.example.student.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "student.outbox.relay-interval=1h",
+        "student.outbox.gap-timeout=0s",
+        "student.outbox.retention=0s"
+})
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class OutboxIntegrationTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentChangeRepository changeRepository;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        relay.relay();
+        changeRepository.deleteAll();
+        events.clear();
+    }
+
+    @Test
+    void serviceWrites_ShouldBeRelayedInOrder() {
+        // Given
+        Student student = studentService.createStudent(student("john.doe@example.com"));
+        studentService.updateStudent(student.getId(), Student.builder()
+                .name("John Smith")
+                .email("john.doe@example.com")
+                .age(26)
+                .build());
+        studentService.deleteStudent(student.getId());
+
+        // When
+        relay.relay();
+
+        // Then
+        List<StudentChangeEvent> changes = events.stream(StudentChangeEvent.class).toList();
+        assertEquals(List.of(ChangeType.CREATED, ChangeType.UPDATED, ChangeType.DELETED),
+                changes.stream().map(StudentChangeEvent::type).toList());
+        assertTrue(changes.stream().allMatch(change -> change.studentId().equals(student.getId())));
+        assertTrue(changes.get(0).sequence() < changes.get(1).sequence());
+        assertEquals("John Smith", changes.get(1).student().getName());
+        assertNotNull(changes.get(1).student().getUpdatedAt());
+        assertNull(changes.get(2).student());
+    }
+
+    @Test
+    void failedWrite_ShouldNotRecordChange() {
+        // Given
+        studentService.createStudent(student("john.doe@example.com"));
+        long rows = changeRepository.count();
+
+        // When
+        assertThrows(DuplicateEmailException.class, () -> studentService.createStudent(student("john.doe@example.com")));
+
+        // Then
+        assertEquals(rows, changeRepository.count());
+    }
+
+    @Test
+    void compact_ShouldDeleteRelayedRowsExceptTheLast() {
+        // Given
+        studentService.createStudent(student("john.doe@example.com"));
+        studentService.createStudent(student("jane.smith@example.com"));
+        relay.relay();
+        studentService.createStudent(student("jim.brown@example.com"));
+
+        // When
+        int deleted = relay.compact();
+
+        // Then
+        assertEquals(1, deleted);
+        assertEquals(2, changeRepository.count());
+    }
+
+    private static Student student(String email) {
+        return Student.builder()
+                .name("John Doe")
+                .email(email)
+                .age(25)
+                .address("123 Main St")
+                .build();
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.student.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+    @Mock
+    private StudentChangeRepository changeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final OutboxProperties properties = new OutboxProperties();
+    private final List<StudentChange> rows = new ArrayList<>();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(2);
+        properties.setGapTimeout(Duration.ofSeconds(5));
+        relay = new OutboxRelay(changeRepository, eventPublisher, objectMapper, properties,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        lenient().when(changeRepository.findBySequenceGreaterThanOrderBySequenceAsc(anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    long after = invocation.getArgument(0);
+                    Pageable page = invocation.getArgument(1);
+                    return rows.stream()
+                            .filter(row -> row.getSequence() > after)
+                            .sorted(Comparator.comparing(StudentChange::getSequence))
+                            .limit(page.getPageSize())
+                            .toList();
+                });
+        lenient().when(changeRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Long> wanted = new ArrayList<>();
+            ids.forEach(wanted::add);
+            return rows.stream().filter(row -> wanted.contains(row.getSequence())).toList();
+        });
+    }
+
+    @Test
+    void relay_ShouldPublishAllRowsInSequenceOrderAcrossBatches() {
+        // Given
+        rows.add(row(3, Duration.ZERO));
+        rows.add(row(1, Duration.ZERO));
+        rows.add(row(2, Duration.ZERO));
+
+        // When
+        int published = relay.relay();
+
+        // Then
+        assertEquals(3, published);
+        assertEquals(3, relay.getPosition());
+        var inOrder = inOrder(eventPublisher);
+        for (long sequence = 1; sequence <= 3; sequence++) {
+            long expected = sequence;
+            inOrder.verify(eventPublisher).publishEvent(argThat((Object event) ->
+                    event instanceof StudentChangeEvent change && change.sequence() == expected));
+        }
+    }
+
+    @Test
+    void relay_WhenRecentGap_ShouldWaitForMissingRow() {
+        // Given
+        rows.add(row(1, Duration.ZERO));
+        rows.add(row(3, Duration.ofSeconds(1)));
+        relay.relay();
+
+        // When
+        rows.add(row(2, Duration.ZERO));
+        int published = relay.relay();
+
+        // Then
+        assertEquals(2, published);
+        assertEquals(3, relay.getPosition());
+    }
+
+    @Test
+    void relay_WhenGapIsOlderThanTimeout_ShouldSkipIt() {
+        // Given
+        rows.add(row(1, Duration.ofMinutes(1)));
+        rows.add(row(3, Duration.ofMinutes(1)));
+
+        // When
+        int published = relay.relay();
+
+        // Then
+        assertEquals(2, published);
+        assertEquals(3, relay.getPosition());
+    }
+
+    @Test
+    void relay_WhenSkippedRowCommitsLate_ShouldPublishItOnNextRun() {
+        // Given
+        rows.add(row(1, Duration.ofMinutes(1)));
+        rows.add(row(3, Duration.ofMinutes(1)));
+        relay.relay();
+
+        // When
+        rows.add(row(2, Duration.ofMinutes(2)));
+        int published = relay.relay();
+
+        // Then
+        assertEquals(1, published);
+        assertEquals(3, relay.getPosition());
+        assertEquals(0, relay.getSkippedCount());
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof StudentChangeEvent change && change.sequence() == 2));
+    }
+
+    @Test
+    void relay_WhenSkippedRowNeverCommits_ShouldStopLookingAfterLateChangeWindow() {
+        // Given
+        properties.setLateChangeWindow(Duration.ofMinutes(-1));
+        rows.add(row(1, Duration.ofMinutes(1)));
+        rows.add(row(3, Duration.ofMinutes(1)));
+        relay.relay();
+        assertEquals(1, relay.getSkippedCount());
+
+        // When
+        relay.relay();
+
+        // Then
+        assertEquals(0, relay.getSkippedCount());
+    }
+
+    @Test
+    void relay_WhenListenerFails_ShouldRetryFromSameRow() {
+        // Given
+        rows.add(row(1, Duration.ZERO));
+        doThrow(new IllegalStateException("listener down")).doNothing().when(eventPublisher).publishEvent(any(Object.class));
+
+        // When
+        int first = relay.relay();
+        int second = relay.relay();
+
+        // Then
+        assertEquals(0, first);
+        assertEquals(1, second);
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void compact_ShouldDeleteRelayedRowsExceptTheLast() {
+        // Given
+        rows.add(row(1, Duration.ZERO));
+        rows.add(row(2, Duration.ZERO));
+        relay.relay();
+        properties.setRetention(Duration.ofDays(1));
+
+        // When
+        relay.compact();
+
+        // Then
+        verify(changeRepository).deleteRelayedBefore(1L, LocalDateTime.ofInstant(NOW, ZoneOffset.UTC).minusDays(1));
+    }
+
+    private static StudentChange row(long sequence, Duration age) {
+        return StudentChange.builder()
+                .sequence(sequence)
+                .studentId(sequence)
+                .type(ChangeType.DELETED)
+                .occurredAt(LocalDateTime.ofInstant(NOW, ZoneOffset.UTC).minus(age))
+                .build();
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.student.outbox;
+
+import com.example.student.model.Student;
+import com.example.student.repository.StudentRepository;
+import com.example.student.service.StudentService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "student.outbox.relay-interval=1h",
+        "student.outbox.gap-timeout=0s",
+        "student.outbox.retention=0s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentChangeFeedIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+    }
+
+    @Test
+    void getChanges_ShouldReturnLatestStateAndTombstones() throws Exception {
+        // Given
+        String token = startToken();
+        Student john = studentService.createStudent(student("john.doe@example.com"));
+        Student jane = studentService.createStudent(student("jane.smith@example.com"));
+        studentService.updateStudent(john.getId(), Student.builder()
+                .name("John Smith")
+                .email("john.doe@example.com")
+                .age(26)
+                .build());
+        studentService.deleteStudent(jane.getId());
+
+        // When & Then
+        mockMvc.perform(get("/api/students/changes").param("since", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].type", is("UPDATED")))
+                .andExpect(jsonPath("$.changes[0].studentId", is(john.getId().intValue())))
+                .andExpect(jsonPath("$.changes[0].student.name", is("John Smith")))
+                .andExpect(jsonPath("$.changes[1].type", is("DELETED")))
+                .andExpect(jsonPath("$.changes[1].student", nullValue()))
+                .andExpect(jsonPath("$.hasMore", is(false)))
+                .andExpect(jsonPath("$.nextToken", not(token)));
+    }
+
+    @Test
+    void getChanges_ShouldPageUntilCaughtUp() throws Exception {
+        // Given
+        String token = startToken();
+        for (int i = 0; i < 5; i++) {
+            studentService.createStudent(student("student" + i + "@example.com"));
+        }
+
+        // When
+        Set<Long> seen = new HashSet<>();
+        int pages = 0;
+        boolean hasMore = true;
+        while (hasMore) {
+            JsonNode page = changes(token, 2);
+            page.get("changes").forEach(change -> seen.add(change.get("studentId").asLong()));
+            token = page.get("nextToken").asText();
+            hasMore = page.get("hasMore").asBoolean();
+            pages++;
+        }
+
+        // Then
+        assertEquals(5, seen.size());
+        assertEquals(3, pages);
+        assertEquals(0, changes(token, 2).get("changes").size());
+    }
+
+    @Test
+    void getChanges_WhenSkippedChangeCommitsLate_ShouldReturnItOnNextPage() throws Exception {
+        // Given - a create holds its sequence number open while a later one commits
+        studentService.createStudent(student("first@example.com"));
+        String token = startToken();
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> {
+                    studentService.createStudent(student("slow@example.com"));
+                    inserted.countDown();
+                    await(release);
+                }));
+        assertTrue(inserted.await(5, TimeUnit.SECONDS));
+        Student fast = studentService.createStudent(student("fast@example.com"));
+        JsonNode first = changes(token, 10);
+
+        // When
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        JsonNode second = changes(first.get("nextToken").asText(), 10);
+
+        // Then - the gap was passed at once (gap-timeout=0s) but the late change still arrives
+        assertEquals(1, first.get("changes").size());
+        assertEquals(fast.getId(), first.get("changes").get(0).get("studentId").asLong());
+        assertEquals(1, second.get("changes").size());
+        assertEquals("slow@example.com", second.get("changes").get(0).get("student").get("email").asText());
+        assertEquals(0, changes(second.get("nextToken").asText(), 10).get("changes").size());
+    }
+
+    @Test
+    void getChanges_WhenTokenWasCompacted_ShouldReturnGone() throws Exception {
+        // Given
+        studentService.createStudent(student("john.doe@example.com"));
+        String token = startToken();
+        studentService.createStudent(student("jane.smith@example.com"));
+        studentService.createStudent(student("jim.brown@example.com"));
+        relay.relay();
+        relay.compact();
+
+        // When & Then
+        mockMvc.perform(get("/api/students/changes").param("since", token))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void getChanges_WithInvalidToken_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/students/changes").param("since", "not a token"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String startToken() throws Exception {
+        JsonNode page = objectMapper.readTree(mockMvc.perform(get("/api/students/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(0)))
+                .andReturn().getResponse().getContentAsString());
+        return page.get("nextToken").asText();
+    }
+
+    private JsonNode changes(String token, int limit) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/students/changes")
+                        .param("since", token)
+                        .param("limit", String.valueOf(limit)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Student student(String email) {
+        return Student.builder()
+                .name("John Doe")
+                .email(email)
+                .age(25)
+                .address("123 Main St")
+                .build();
+    }
+}
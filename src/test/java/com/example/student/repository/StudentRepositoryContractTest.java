@@ -0,0 +1,356 @@
+package com.example.student.repository;
+
+import com.example.student.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link StudentRepository} implementation must share. Subclasses supply the
+ * repository under test and how fixtures are written directly to its storage. Spring-managed
+ * subclasses run each test in a rolled-back transaction.
+ */
+@Transactional
+public abstract class StudentRepositoryContractTest {
+
+    protected StudentRepository studentRepository;
+
+    private Student testStudent1;
+    private Student testStudent2;
+    private Student testStudent3;
+
+    protected abstract StudentRepository createRepository();
+
+    /**
+     * Writes a fixture straight to storage, bypassing the repository under test where possible.
+     */
+    protected abstract Student persistAndFlush(Student student);
+
+    protected abstract void flush();
+
+    protected abstract void clear();
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = createRepository();
+
+        // Clear the database before each test
+        clear();
+
+        testStudent1 = Student.builder()
+                .name("John Doe")
+                .email("john.doe@example.com")
+                .age(25)
+                .address("123 Main St")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        testStudent2 = Student.builder()
+                .name("Jane Smith")
+                .email("jane.smith@example.com")
+                .age(22)
+                .address("456 Oak Ave")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        testStudent3 = Student.builder()
+                .name("Bob Johnson")
+                .email("bob.johnson@example.com")
+                .age(28)
+                .address("789 Pine Rd")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void saveStudent_ShouldPersistStudent() {
+        // When
+        Student savedStudent = studentRepository.save(testStudent1);
+
+        // Then
+        assertNotNull(savedStudent.getId());
+        assertEquals("John Doe", savedStudent.getName());
+        assertEquals("john.doe@example.com", savedStudent.getEmail());
+        assertEquals(25, savedStudent.getAge());
+        assertNotNull(savedStudent.getCreatedAt());
+        assertNotNull(savedStudent.getUpdatedAt());
+    }
+
+    @Test
+    void findById_WhenStudentExists_ShouldReturnStudent() {
+        // Given
+        Student savedStudent = persistAndFlush(testStudent1);
+
+        // When
+        Optional<Student> foundStudent = studentRepository.findById(savedStudent.getId());
+
+        // Then
+        assertTrue(foundStudent.isPresent());
+        assertEquals("John Doe", foundStudent.get().getName());
+        assertEquals("john.doe@example.com", foundStudent.get().getEmail());
+    }
+
+    @Test
+    void findById_WhenStudentDoesNotExist_ShouldReturnEmpty() {
+        // When
+        Optional<Student> foundStudent = studentRepository.findById(999L);
+
+        // Then
+        assertFalse(foundStudent.isPresent());
+    }
+
+    @Test
+    void findByEmail_WhenStudentExists_ShouldReturnStudent() {
+        // Given
+        persistAndFlush(testStudent1);
+
+        // When
+        Optional<Student> foundStudent = studentRepository.findByEmail("john.doe@example.com");
+
+        // Then
+        assertTrue(foundStudent.isPresent());
+        assertEquals("John Doe", foundStudent.get().getName());
+    }
+
+    @Test
+    void findByEmail_WhenStudentDoesNotExist_ShouldReturnEmpty() {
+        // When
+        Optional<Student> foundStudent = studentRepository.findByEmail("nonexistent@example.com");
+
+        // Then
+        assertFalse(foundStudent.isPresent());
+    }
+
+    @Test
+    void existsByEmail_WhenEmailExists_ShouldReturnTrue() {
+        // Given
+        persistAndFlush(testStudent1);
+
+        // When
+        boolean exists = studentRepository.existsByEmail("john.doe@example.com");
+
+        // Then
+        assertTrue(exists);
+    }
+
+    @Test
+    void existsByEmail_WhenEmailDoesNotExist_ShouldReturnFalse() {
+        // When
+        boolean exists = studentRepository.existsByEmail("nonexistent@example.com");
+
+        // Then
+        assertFalse(exists);
+    }
+
+    @Test
+    void findAll_ShouldReturnAllStudents() {
+        // Given
+        persistAndFlush(testStudent1);
+        persistAndFlush(testStudent2);
+        persistAndFlush(testStudent3);
+
+        // When
+        List<Student> allStudents = studentRepository.findAll();
+
+        // Then
+        assertEquals(3, allStudents.size());
+        assertTrue(allStudents.stream().anyMatch(s -> s.getName().equals("John Doe")));
+        assertTrue(allStudents.stream().anyMatch(s -> s.getName().equals("Jane Smith")));
+        assertTrue(allStudents.stream().anyMatch(s -> s.getName().equals("Bob Johnson")));
+    }
+
+    @Test
+    void findByNameContainingIgnoreCase_ShouldReturnMatchingStudents() {
+        // Given
+        persistAndFlush(testStudent1);
+        persistAndFlush(testStudent2);
+        persistAndFlush(testStudent3);
+
+        // When
+        List<Student> matchingStudents = studentRepository.findByNameContainingIgnoreCase("john");
+
+        // Then
+        assertEquals(2, matchingStudents.size());
+        assertTrue(matchingStudents.stream().anyMatch(s -> s.getName().equals("John Doe")));
+        assertTrue(matchingStudents.stream().anyMatch(s -> s.getName().equals("Bob Johnson")));
+    }
+
+    @Test
+    void findByAgeBetween_ShouldReturnStudentsInRange() {
+        // Given
+        persistAndFlush(testStudent1);
+        persistAndFlush(testStudent2);
+        persistAndFlush(testStudent3);
+
+        // When
+        List<Student> studentsInRange = studentRepository.findByAgeBetween(20, 25);
+
+        // Then
+        assertEquals(2, studentsInRange.size());
+        assertTrue(studentsInRange.stream().anyMatch(s -> s.getName().equals("John Doe")));
+        assertTrue(studentsInRange.stream().anyMatch(s -> s.getName().equals("Jane Smith")));
+    }
+
+    @Test
+    void streamByAgeBetween_ShouldReturnSameStudentsAsFind() {
+        // Given
+        persistAndFlush(testStudent1);
+        persistAndFlush(testStudent2);
+        persistAndFlush(testStudent3);
+
+        // When
+        List<Student> streamed;
+        try (Stream<Student> students = studentRepository.streamByAgeBetween(20, 25)) {
+            streamed = students.toList();
+        }
+
+        // Then
+        assertEquals(2, streamed.size());
+        assertTrue(streamed.stream().anyMatch(s -> s.getName().equals("John Doe")));
+        assertTrue(streamed.stream().anyMatch(s -> s.getName().equals("Jane Smith")));
+    }
+
+    @Test
+    void findStudentsOlderThan_ShouldReturnOlderStudents() {
+        // Given
+        persistAndFlush(testStudent1);
+        persistAndFlush(testStudent2);
+        persistAndFlush(testStudent3);
+
+        // When
+        List<Student> olderStudents = studentRepository.findStudentsOlderThan(25);
+
+        // Then
+        assertEquals(2, olderStudents.size()); // Both testStudent1 (age 25) and testStudent3 (age 28) are older than 25
+        assertTrue(olderStudents.stream().anyMatch(s -> s.getName().equals("John Doe")));
+        assertTrue(olderStudents.stream().anyMatch(s -> s.getName().equals("Bob Johnson")));
+    }
+
+    @Test
+    void countStudentsByAgeRange_ShouldReturnCorrectCount() {
+        // Given
+        persistAndFlush(testStudent1);
+        persistAndFlush(testStudent2);
+        persistAndFlush(testStudent3);
+
+        // When
+        Long count = studentRepository.countStudentsByAgeRange(20, 30);
+
+        // Then
+        assertEquals(3L, count);
+    }
+
+    @Test
+    void aggregateByAgeBucket_ShouldGroupStudentsByDecade() {
+        // Given
+        persistAndFlush(testStudent1);
+        persistAndFlush(testStudent2);
+        persistAndFlush(testStudent3);
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        List<AgeBucketAggregate> buckets = studentRepository.aggregateByAgeBucket(
+                now.minusDays(1), now.minusDays(7), now.minusDays(30));
+
+        // Then
+        assertEquals(1, buckets.size());
+        AgeBucketAggregate twenties = buckets.get(0);
+        assertEquals(2, twenties.bucket());
+        assertEquals(3L, twenties.count());
+        assertEquals(22, twenties.minAge());
+        assertEquals(28, twenties.maxAge());
+        assertEquals(75L, twenties.ageSum());
+        assertEquals(3L, twenties.createdSinceDay());
+    }
+
+    @Test
+    void updateStudent_ShouldUpdateStudent() {
+        // Given
+        Student savedStudent = persistAndFlush(testStudent1);
+        savedStudent.setName("Updated Name");
+        savedStudent.setAge(26);
+
+        // When
+        Student updatedStudent = studentRepository.save(savedStudent);
+
+        // Then
+        assertEquals("Updated Name", updatedStudent.getName());
+        assertEquals(26, updatedStudent.getAge());
+        assertNotNull(updatedStudent.getUpdatedAt());
+    }
+
+    @Test
+    void deleteStudent_ShouldRemoveStudent() {
+        // Given
+        Student savedStudent = persistAndFlush(testStudent1);
+
+        // When
+        studentRepository.deleteById(savedStudent.getId());
+        flush();
+
+        // Then
+        Optional<Student> deletedStudent = studentRepository.findById(savedStudent.getId());
+        assertFalse(deletedStudent.isPresent());
+    }
+
+    @Test
+    void upsertByEmail_ShouldReportCreatedUpdatedAndUnchanged() {
+        // Given
+        Student existing1 = persistAndFlush(testStudent1);
+        Student existing2 = persistAndFlush(testStudent2);
+        Student sameAs1 = Student.builder().name("John Doe").email("john.doe@example.com").age(25)
+                .address("123 Main St").build();
+        Student changed2 = Student.builder().name("Jane Smith").email("jane.smith@example.com").age(23)
+                .address("456 Oak Ave").build();
+        Student new3 = Student.builder().name("Bob Johnson").email("bob.johnson@example.com").age(28).build();
+
+        // When
+        List<StudentUpsert> results = studentRepository.upsertByEmail(List.of(sameAs1, changed2, new3));
+        flush();
+
+        // Then
+        assertEquals(List.of(StudentUpsert.Status.UNCHANGED, StudentUpsert.Status.UPDATED, StudentUpsert.Status.CREATED),
+                results.stream().map(StudentUpsert::status).toList());
+        assertEquals(existing1.getId(), results.get(0).student().getId());
+        assertEquals(existing2.getId(), results.get(1).student().getId());
+        assertEquals(23, results.get(1).student().getAge());
+        assertNotNull(results.get(2).student().getId());
+        assertNotNull(results.get(2).student().getCreatedAt());
+        assertEquals(results.get(2).student().getId(),
+                studentRepository.findByEmail("bob.johnson@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void saveStudent_ShouldGenerateIdAutomatically() {
+        // When
+        Student savedStudent = studentRepository.save(testStudent1);
+
+        // Then
+        assertNotNull(savedStudent.getId());
+        assertTrue(savedStudent.getId() > 0);
+    }
+
+    @Test
+    void saveStudent_ShouldSetTimestamps() {
+        // When
+        Student savedStudent = studentRepository.save(testStudent1);
+
+        // Then
+        assertNotNull(savedStudent.getCreatedAt());
+        assertNotNull(savedStudent.getUpdatedAt());
+        // Timestamps should be set but exact equality might fail due to microsecond
+        // differences
+        assertTrue(savedStudent.getCreatedAt().isBefore(savedStudent.getUpdatedAt().plusNanos(1)) ||
+                savedStudent.getCreatedAt().equals(savedStudent.getUpdatedAt()));
+    }
+}
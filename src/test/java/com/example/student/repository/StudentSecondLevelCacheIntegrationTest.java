@@ -0,0 +1,172 @@
+package com.example.student.repository;
+
+import com.example.student.exception.StudentNotFoundException;
+import com.example.student.model.Student;
+import com.example.student.service.StudentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every read and write here runs in its own transaction, so anything returned after a write
+ * either came from the database or from a cache entry the write correctly replaced.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class StudentSecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        studentRepository.deleteAll();
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+
+        student = studentService.createStudent(Student.builder()
+                .name("John Doe")
+                .email("john.doe@example.com")
+                .age(25)
+                .address("123 Main St")
+                .build());
+        statistics.clear();
+    }
+
+    @Test
+    void getStudentById_WhenCached_ShouldNotQueryDatabase() {
+        // Given
+        studentService.getStudentById(student.getId());
+        long statements = statistics.getPrepareStatementCount();
+
+        // When
+        Student found = studentService.getStudentById(student.getId());
+
+        // Then
+        assertEquals("John Doe", found.getName());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    void getStudentById_AfterUpdate_ShouldReturnNewValues() {
+        // Given
+        studentService.getStudentById(student.getId());
+
+        // When
+        studentService.updateStudent(student.getId(), details("John Smith", "john.doe@example.com", 26));
+        Student found = studentService.getStudentById(student.getId());
+
+        // Then
+        assertEquals("John Smith", found.getName());
+        assertEquals(26, found.getAge());
+    }
+
+    @Test
+    void getStudentById_AfterDelete_ShouldThrowException() {
+        // Given
+        studentService.getStudentById(student.getId());
+
+        // When
+        studentService.deleteStudent(student.getId());
+
+        // Then
+        assertThrows(StudentNotFoundException.class, () -> studentService.getStudentById(student.getId()));
+    }
+
+    @Test
+    void getStudentByEmail_WhenCached_ShouldNotQueryDatabase() {
+        // Given
+        studentService.getStudentByEmail("john.doe@example.com");
+        long statements = statistics.getPrepareStatementCount();
+
+        // When
+        var found = studentService.getStudentByEmail("john.doe@example.com");
+
+        // Then
+        assertTrue(found.isPresent());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getStudentByEmail_AfterEmailChange_ShouldResolveOnlyNewEmail() {
+        // Given
+        studentService.getStudentByEmail("john.doe@example.com");
+
+        // When
+        studentService.updateStudent(student.getId(), details("John Doe", "john.new@example.com", 25));
+
+        // Then
+        assertTrue(studentService.getStudentByEmail("john.doe@example.com").isEmpty());
+        assertEquals(student.getId(), studentService.getStudentByEmail("john.new@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void getStudentsByAgeRange_WhenCached_ShouldNotQueryDatabase() {
+        // Given
+        studentService.getStudentsByAgeRange(20, 30);
+        long statements = statistics.getPrepareStatementCount();
+
+        // When
+        List<Student> found = studentService.getStudentsByAgeRange(20, 30);
+
+        // Then
+        assertEquals(1, found.size());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+    }
+
+    @Test
+    void getStudentsByAgeRange_AfterInsert_ShouldIncludeNewStudent() {
+        // Given
+        studentService.getStudentsByAgeRange(20, 30);
+
+        // When
+        studentService.createStudent(details("Jane Smith", "jane.smith@example.com", 22));
+
+        // Then
+        assertEquals(2, studentService.getStudentsByAgeRange(20, 30).size());
+    }
+
+    @Test
+    void countStudentsByAgeRange_AfterUpdateOutOfRange_ShouldNotCountStudent() {
+        // Given
+        assertEquals(1L, studentService.countStudentsByAgeRange(20, 30));
+
+        // When
+        studentService.updateStudent(student.getId(), details("John Doe", "john.doe@example.com", 45));
+
+        // Then
+        assertEquals(0L, studentService.countStudentsByAgeRange(20, 30));
+        assertTrue(studentService.getStudentsByAgeRange(20, 30).isEmpty());
+    }
+
+    private static Student details(String name, String email, int age) {
+        return Student.builder()
+                .name(name)
+                .email(email)
+                .age(age)
+                .address("123 Main St")
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.student.repository;
+
+import com.example.student.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two transactions upsert the same new email. The second one runs while the first has merged
+ * but not yet committed, which is where a lookup taken before the merge goes stale.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentUpsertConcurrencyIntegrationTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+    }
+
+    @Test
+    void upsertByEmail_WhenAnotherTransactionCreatesTheSameEmail_ShouldReportOneCreatedAndOneUpdated()
+            throws Exception {
+        // Given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch firstMerged = new CountDownLatch(1);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // When
+            Future<StudentUpsert> first = executor.submit(() -> transaction.execute(status -> {
+                StudentUpsert result = studentRepository.upsertByEmail(List.of(student("First"))).get(0);
+                firstMerged.countDown();
+                await(secondStarted);
+                sleep();
+                return result;
+            }));
+            Future<StudentUpsert> second = executor.submit(() -> {
+                await(firstMerged);
+                return transaction.execute(status -> {
+                    secondStarted.countDown();
+                    return studentRepository.upsertByEmail(List.of(student("Second"))).get(0);
+                });
+            });
+            List<StudentUpsert.Status> statuses = new ArrayList<>();
+            statuses.add(first.get(10, TimeUnit.SECONDS).status());
+            statuses.add(second.get(10, TimeUnit.SECONDS).status());
+
+            // Then
+            assertEquals(List.of(StudentUpsert.Status.CREATED, StudentUpsert.Status.UPDATED), statuses);
+            assertEquals("Second", studentRepository.findByEmail("race@example.com").orElseThrow().getName());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Student student(String name) {
+        return Student.builder().name(name).email("race@example.com").age(20).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Gives the second transaction time to reach its merge before the first commits
+    private static void sleep() {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.student.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+    @Test
+    void execute_WhenCallsOverlap_ShouldRunLoaderOnceAndShareResult() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<Integer> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                leaderStarted.countDown();
+                await(release);
+                return loads.incrementAndGet();
+            }));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+            Future<Integer> follower = executor.submit(() -> singleFlight.execute("key", loads::incrementAndGet));
+            Thread.sleep(50);
+            release.countDown();
+
+            // Then
+            assertEquals(1, leader.get(5, TimeUnit.SECONDS));
+            assertEquals(1, follower.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_WithCopier_ShouldGiveEachWaiterItsOwnCopy() throws Exception {
+        // Given
+        SingleFlight<String, StringBuilder> copying = new SingleFlight<>(StringBuilder::new);
+        StringBuilder loaded = new StringBuilder("value");
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            // When
+            Future<StringBuilder> leader = executor.submit(() -> copying.execute("key", () -> {
+                leaderStarted.countDown();
+                await(release);
+                return loaded;
+            }));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+            Future<StringBuilder> first = executor.submit(() -> copying.execute("key", () -> fail("not shared")));
+            Future<StringBuilder> second = executor.submit(() -> copying.execute("key", () -> fail("not shared")));
+            Thread.sleep(50);
+            release.countDown();
+
+            // Then
+            assertSame(loaded, leader.get(5, TimeUnit.SECONDS));
+            StringBuilder firstCopy = first.get(5, TimeUnit.SECONDS);
+            StringBuilder secondCopy = second.get(5, TimeUnit.SECONDS);
+            assertEquals("value", firstCopy.toString());
+            assertNotSame(loaded, firstCopy);
+            assertNotSame(firstCopy, secondCopy);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_WhenCallsDoNotOverlap_ShouldRunLoaderEachTime() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        singleFlight.execute("key", loads::incrementAndGet);
+        int second = singleFlight.execute("key", loads::incrementAndGet);
+
+        // Then
+        assertEquals(2, second);
+    }
+
+    @Test
+    void execute_WhenLoaderThrows_ShouldPropagateExceptionAndAllowRetry() {
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(42, singleFlight.execute("key", () -> 42));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,20 +1,40 @@
 package com.example.student.service;
 
+import com.example.student.analytics.StudentColumnStore;
+import com.example.student.datasource.ReadYourWritesTracker;
 import com.example.student.exception.DuplicateEmailException;
+import com.example.student.exception.InvalidBatchException;
 import com.example.student.exception.StudentNotFoundException;
 import com.example.student.model.Student;
+import com.example.student.model.StudentStatistics;
+import com.example.student.outbox.ChangeType;
+import com.example.student.outbox.StudentChangeLog;
+import com.example.student.repository.AgeBucketAggregate;
 import com.example.student.repository.StudentRepository;
+import com.example.student.repository.StudentUpsert;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -26,7 +46,18 @@ class StudentServiceTest {
     @Mock
     private StudentRepository studentRepository;
 
-    @InjectMocks
+    @Mock
+    private StudentChangeLog changeLog;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ObjectProvider<StudentColumnStore> columnStore;
+
+    @Mock
+    private ObjectProvider<ReadYourWritesTracker> readYourWrites;
+
     private StudentService studentService;
 
     private Student testStudent;
@@ -34,6 +65,8 @@ class StudentServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Built by hand: both providers have the same raw type, which @InjectMocks cannot tell apart
+        studentService = new StudentService(studentRepository, changeLog, entityManager, columnStore, readYourWrites);
         testStudent = Student.builder()
                 .id(1L)
                 .name("John Doe")
@@ -92,6 +125,30 @@ class StudentServiceTest {
         verify(studentRepository).findById(999L);
     }
 
+    @Test
+    void getStudentById_WhenStudentDoesNotExist_ShouldThrowStacklessException() {
+        // Given
+        when(studentRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // When
+        StudentNotFoundException exception = assertThrows(StudentNotFoundException.class,
+                () -> studentService.getStudentById(999L));
+
+        // Then
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals("Student not found with id: 999", exception.getMessage());
+    }
+
+    @Test
+    void findStudentById_WhenStudentDoesNotExist_ShouldReturnEmpty() {
+        // Given
+        when(studentRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertTrue(studentService.findStudentById(999L).isEmpty());
+        assertFalse(studentService.studentExists(999L));
+    }
+
     @Test
     void getStudentByEmail_WhenStudentExists_ShouldReturnStudent() {
         // Given
@@ -139,6 +196,7 @@ class StudentServiceTest {
         assertEquals("New Student", createdStudent.getName());
         verify(studentRepository).existsByEmail("new@example.com");
         verify(studentRepository).save(newStudent);
+        verify(changeLog).record(ChangeType.CREATED, newStudent);
     }
 
     @Test
@@ -156,6 +214,7 @@ class StudentServiceTest {
         assertThrows(DuplicateEmailException.class, () -> studentService.createStudent(newStudent));
         verify(studentRepository).existsByEmail("john.doe@example.com");
         verify(studentRepository, never()).save(any(Student.class));
+        verifyNoInteractions(changeLog);
     }
 
     @Test
@@ -170,7 +229,7 @@ class StudentServiceTest {
 
         when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
         when(studentRepository.existsByEmail("updated@example.com")).thenReturn(false);
-        when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
+        when(studentRepository.saveAndFlush(any(Student.class))).thenReturn(testStudent);
 
         // When
         Student updatedStudent = studentService.updateStudent(1L, updateData);
@@ -179,7 +238,8 @@ class StudentServiceTest {
         assertNotNull(updatedStudent);
         verify(studentRepository).findById(1L);
         verify(studentRepository).existsByEmail("updated@example.com");
-        verify(studentRepository).save(any(Student.class));
+        verify(studentRepository).saveAndFlush(any(Student.class));
+        verify(changeLog).record(ChangeType.UPDATED, testStudent);
     }
 
     @Test
@@ -196,7 +256,7 @@ class StudentServiceTest {
         // When & Then
         assertThrows(StudentNotFoundException.class, () -> studentService.updateStudent(999L, updateData));
         verify(studentRepository).findById(999L);
-        verify(studentRepository, never()).save(any(Student.class));
+        verify(studentRepository, never()).saveAndFlush(any(Student.class));
     }
 
     @Test
@@ -215,7 +275,7 @@ class StudentServiceTest {
         assertThrows(DuplicateEmailException.class, () -> studentService.updateStudent(1L, updateData));
         verify(studentRepository).findById(1L);
         verify(studentRepository).existsByEmail("jane.smith@example.com");
-        verify(studentRepository, never()).save(any(Student.class));
+        verify(studentRepository, never()).saveAndFlush(any(Student.class));
     }
 
     @Test
@@ -230,6 +290,7 @@ class StudentServiceTest {
         // Then
         verify(studentRepository).existsById(1L);
         verify(studentRepository).deleteById(1L);
+        verify(changeLog).recordDeleted(1L);
     }
 
     @Test
@@ -271,6 +332,40 @@ class StudentServiceTest {
         verify(studentRepository).findByAgeBetween(20, 30);
     }
 
+    @Test
+    void forEachStudentByAgeRange_ShouldDetachEachStudentAfterHandingItOver() {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        when(studentRepository.streamByAgeBetween(20, 30))
+                .thenReturn(Stream.of(testStudent, testStudent2).onClose(() -> closed.set(true)));
+        List<Student> received = new ArrayList<>();
+
+        // When
+        studentService.forEachStudentByAgeRange(20, 30, received::add);
+
+        // Then
+        assertEquals(List.of(testStudent, testStudent2), received);
+        var order = inOrder(entityManager);
+        order.verify(entityManager).detach(testStudent);
+        order.verify(entityManager).detach(testStudent2);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void countStudentsByAgeRange_WhenColumnStoreReady_ShouldNotQueryRepository() {
+        // Given
+        StudentColumnStore store = new StudentColumnStore(16, Integer.MAX_VALUE);
+        store.load(() -> List.of(testStudent, testStudent2));
+        when(columnStore.getIfAvailable()).thenReturn(store);
+
+        // When
+        Long count = studentService.countStudentsByAgeRange(23, 30);
+
+        // Then
+        assertEquals(1L, count);
+        verifyNoInteractions(studentRepository);
+    }
+
     @Test
     void getStudentsOlderThan_ShouldReturnOlderStudents() {
         // Given
@@ -297,4 +392,140 @@ class StudentServiceTest {
         assertEquals(2L, count);
         verify(studentRepository).countStudentsByAgeRange(20, 30);
     }
+
+    @Test
+    void getStatistics_ShouldFoldAgeBucketsIntoTotals() {
+        // Given
+        when(studentRepository.aggregateByAgeBucket(any(), any(), any())).thenReturn(List.of(
+                new AgeBucketAggregate(1, 2L, 18, 19, 37L, 1L, 2L, 2L),
+                new AgeBucketAggregate(2, 1L, 25, 25, 25L, 0L, 0L, 1L)));
+
+        // When
+        StudentStatistics statistics = studentService.getStatistics();
+
+        // Then
+        assertEquals(3, statistics.getCount());
+        assertEquals(18, statistics.getMinAge());
+        assertEquals(25, statistics.getMaxAge());
+        assertEquals(62d / 3, statistics.getAverageAge(), 1e-9);
+        assertEquals(2, statistics.getAgeHistogram().size());
+        assertEquals(10, statistics.getAgeHistogram().get(0).getFromAge());
+        assertEquals(19, statistics.getAgeHistogram().get(0).getToAge());
+        assertEquals(1, statistics.getRecentSignups().getLast24Hours());
+        assertEquals(2, statistics.getRecentSignups().getLast7Days());
+        assertEquals(3, statistics.getRecentSignups().getLast30Days());
+    }
+
+    @Test
+    void getStatistics_WhenNoStudents_ShouldReturnEmptyStatistics() {
+        // Given
+        when(studentRepository.aggregateByAgeBucket(any(), any(), any())).thenReturn(List.of());
+
+        // When
+        StudentStatistics statistics = studentService.getStatistics();
+
+        // Then
+        assertEquals(0, statistics.getCount());
+        assertNull(statistics.getAverageAge());
+        assertTrue(statistics.getAgeHistogram().isEmpty());
+    }
+
+    @Test
+    void getStudentsByIds_ShouldReturnFoundStudentsInRequestOrder() {
+        // Given
+        when(studentRepository.findAllById(List.of(2L, 999L, 1L))).thenReturn(List.of(testStudent, testStudent2));
+
+        // When
+        List<Student> students = studentService.getStudentsByIds(List.of(2L, 999L, 1L, 2L));
+
+        // Then
+        assertEquals(List.of(testStudent2, testStudent), students);
+    }
+
+    @Test
+    void upsertStudents_ShouldRecordChangesForCreatedAndUpdatedOnly() {
+        // Given
+        Student testStudent3 = Student.builder().id(3L).name("Bob Johnson").email("bob.johnson@example.com").age(28).build();
+        List<Student> batch = List.of(testStudent, testStudent2, testStudent3);
+        when(studentRepository.upsertByEmail(batch)).thenReturn(List.of(
+                new StudentUpsert(StudentUpsert.Status.CREATED, testStudent),
+                new StudentUpsert(StudentUpsert.Status.UPDATED, testStudent2),
+                new StudentUpsert(StudentUpsert.Status.UNCHANGED, testStudent3)));
+
+        // When
+        List<StudentUpsert> results = studentService.upsertStudents(batch);
+
+        // Then
+        assertEquals(3, results.size());
+        verify(changeLog).record(ChangeType.CREATED, testStudent);
+        verify(changeLog).record(ChangeType.UPDATED, testStudent2);
+        verifyNoMoreInteractions(changeLog);
+    }
+
+    @Test
+    void upsertStudents_WhenEmailRepeats_ShouldThrowException() {
+        // Given
+        Student sameEmail = Student.builder().name("Other").email(testStudent.getEmail()).age(30).build();
+
+        // When & Then
+        assertThrows(InvalidBatchException.class,
+                () -> studentService.upsertStudents(List.of(testStudent, sameEmail)));
+        verify(studentRepository, never()).upsertByEmail(any());
+    }
+
+    @Test
+    void findStudentById_WhenCallerWroteRecently_ShouldNotJoinAnotherClientsRead() throws Exception {
+        // Given - "reader" starts a shared read that is held on a lagging replica
+        ThreadLocal<String> client = new ThreadLocal<>();
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1), client::get, System::nanoTime);
+        client.set("writer");
+        tracker.recordWrite();
+        client.remove();
+        when(readYourWrites.getIfAvailable()).thenReturn(tracker);
+        Student stale = Student.builder().id(1L).name("John Doe").email("john.doe@example.com").age(25).build();
+        Student fresh = Student.builder().id(1L).name("John Doe").email("john.doe@example.com").age(26).build();
+        CountDownLatch replicaReadStarted = new CountDownLatch(1);
+        CountDownLatch releaseReplicaRead = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+        when(studentRepository.findById(1L)).thenAnswer(invocation -> {
+            if (reads.getAndIncrement() == 0) {
+                replicaReadStarted.countDown();
+                assertTrue(releaseReplicaRead.await(5, TimeUnit.SECONDS));
+                return Optional.of(stale);
+            }
+            return Optional.of(fresh);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<Optional<Student>> reader = executor.submit(() -> readOnly(client, "reader", 1L));
+            assertTrue(replicaReadStarted.await(5, TimeUnit.SECONDS));
+
+            // When
+            Future<Optional<Student>> writer = executor.submit(() -> readOnly(client, "writer", 1L));
+
+            // Then - the writer ran its own query instead of waiting for the stale shared one
+            assertEquals(26, writer.get(5, TimeUnit.SECONDS).orElseThrow().getAge());
+            releaseReplicaRead.countDown();
+            assertEquals(25, reader.get(5, TimeUnit.SECONDS).orElseThrow().getAge());
+            verify(studentRepository, times(2)).findById(1L);
+        } finally {
+            releaseReplicaRead.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    // Runs the lookup as the given client inside what coalesce() sees as a read-only transaction
+    private Optional<Student> readOnly(ThreadLocal<String> client, String clientId, Long id) {
+        client.set(clientId);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return studentService.findStudentById(id);
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            client.remove();
+        }
+    }
 }
@@ -0,0 +1,106 @@
+package com.example.student.service;
+
+import com.example.student.model.Student;
+import com.example.student.repository.StudentRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "student.load-shedding.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentStreamingIntegrationTest {
+
+    // More than one fetch of StudentRepository.STREAM_FETCH_SIZE rows
+    private static final int STUDENTS = 1_200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        List<Student> students = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(Student.builder()
+                    .name("Streamed " + i)
+                    .email("streamed" + i + "@example.com")
+                    .age(18 + i % 40)
+                    .build());
+        }
+        studentService.createStudents(students);
+    }
+
+    @Test
+    void forEachStudentOlderThan_ShouldNotKeepEarlierStudentsManaged() {
+        // Given
+        List<Student> received = new ArrayList<>();
+        List<Boolean> previousStillManaged = new ArrayList<>();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> studentService.forEachStudentOlderThan(0, student -> {
+            if (!received.isEmpty()) {
+                previousStillManaged.add(entityManager.contains(received.get(received.size() - 1)));
+            }
+            received.add(student);
+        }));
+
+        // Then
+        assertEquals(STUDENTS, received.size());
+        assertFalse(previousStillManaged.contains(true));
+    }
+
+    @Test
+    void getStudentsOlderThan_ShouldStreamEveryMatchAsJsonArray() throws Exception {
+        // When
+        String body = mockMvc.perform(get("/api/students/older-than").param("minAge", "18"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        JsonNode students = objectMapper.readTree(body);
+        assertEquals(STUDENTS, students.size());
+        assertEquals("Streamed 0", students.get(0).get("name").asText());
+    }
+
+    @Test
+    void searchStudentsByName_WhenNothingMatches_ShouldReturnEmptyArray() throws Exception {
+        // When
+        String body = mockMvc.perform(get("/api/students/search").param("name", "nobody"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertEquals("[]", body);
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.student.sharding;
+
+import com.example.student.exception.StudentNotFoundException;
+import com.example.student.model.Student;
+import com.example.student.repository.StudentRepository;
+import com.example.student.repository.StudentRepositoryContractTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedStudentRepositoryIntegrationTest extends StudentRepositoryContractTest {
+
+    private static final List<DataSource> DATABASES = IntStream.range(0, 4)
+            .mapToObj(i -> (DataSource) new DriverManagerDataSource(
+                    "jdbc:h2:mem:shard" + i + ";DB_CLOSE_DELAY=-1;MODE=LEGACY", "sa", ""))
+            .toList();
+
+    private final List<ShardedStudentRepository> repositories = new ArrayList<>();
+
+    @Override
+    protected StudentRepository createRepository() {
+        DATABASES.subList(0, 3).forEach(database -> new JdbcTemplate(database).execute("DROP ALL OBJECTS"));
+        return sharded(3);
+    }
+
+    @Override
+    protected Student persistAndFlush(Student student) {
+        return studentRepository.save(student);
+    }
+
+    @Override
+    protected void flush() {
+    }
+
+    @Override
+    protected void clear() {
+        // Every test starts from freshly created shards, see createRepository()
+    }
+
+    @AfterEach
+    void tearDown() {
+        repositories.forEach(ShardedStudentRepository::destroy);
+    }
+
+    @Test
+    void save_ShouldSpreadStudentsAcrossShards() {
+        // When
+        saveStudents(300);
+
+        // Then
+        for (int shard = 0; shard < 3; shard++) {
+            long rows = rowsOn(shard);
+            assertTrue(rows > 50, "shard " + shard + " holds only " + rows + " rows");
+        }
+        assertEquals(300, studentRepository.count());
+    }
+
+    @Test
+    void save_WhenEmailExistsOnAnotherShard_ShouldRejectDuplicate() {
+        // Given
+        saveStudents(20);
+        Student duplicate = student(100, "student7@example.com");
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () -> studentRepository.save(duplicate));
+        assertEquals(20, studentRepository.count());
+    }
+
+    @Test
+    void save_WhenEmailChanges_ShouldMoveEmailIndexEntry() {
+        // Given
+        Student saved = studentRepository.save(student(1, "old@example.com"));
+
+        // When
+        saved.setEmail("new@example.com");
+        studentRepository.save(saved);
+
+        // Then
+        assertFalse(studentRepository.existsByEmail("old@example.com"));
+        assertEquals(saved.getId(), studentRepository.findByEmail("new@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void save_WhenIdDoesNotExist_ShouldThrowInsteadOfInserting() {
+        // Given
+        Student unknown = student(1, "unknown@example.com");
+        unknown.setId(999_999L);
+
+        // When & Then
+        assertThrows(StudentNotFoundException.class, () -> studentRepository.save(unknown));
+        assertEquals(0, studentRepository.count());
+        assertFalse(studentRepository.existsByEmail("unknown@example.com"));
+    }
+
+    @Test
+    void save_WhenStudentIsDeletedBeforeTheUpdate_ShouldThrowAndReleaseReservedEmail() {
+        // Given - the row disappears from its shard after the lookup, as with a concurrent delete
+        Student saved = studentRepository.save(student(1, "old@example.com"));
+        ShardedStudentRepository repository = (ShardedStudentRepository) studentRepository;
+        Student changed = student(1, "new@example.com");
+        changed.setId(saved.getId());
+        Student stale = repository.findById(saved.getId()).orElseThrow();
+        DATABASES.subList(0, 3).forEach(database -> new JdbcTemplate(database)
+                .update("DELETE FROM students WHERE id = ?", saved.getId()));
+
+        // When & Then
+        assertThrows(StudentNotFoundException.class, () -> repository.update(changed, stale, LocalDateTime.now()));
+        assertFalse(studentRepository.existsByEmail("new@example.com"));
+    }
+
+    @Test
+    void save_WhenShardUpdateFails_ShouldReleaseReservedEmail() {
+        // Given
+        Student saved = studentRepository.save(student(1, "old@example.com"));
+        Student tooLong = student(1, "new@example.com");
+        tooLong.setId(saved.getId());
+        tooLong.setName("x".repeat(101));
+
+        // When
+        assertThrows(DataIntegrityViolationException.class, () -> studentRepository.save(tooLong));
+
+        // Then
+        assertEquals(saved.getId(), studentRepository.findByEmail("old@example.com").orElseThrow().getId());
+        assertFalse(studentRepository.existsByEmail("new@example.com"));
+        Student other = studentRepository.save(student(2, "new@example.com"));
+        assertEquals(other.getId(), studentRepository.findByEmail("new@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void findAll_WithPageable_ShouldMergeSortedPagesAcrossShards() {
+        // Given
+        saveStudents(50);
+
+        // When
+        Page<Student> page = studentRepository.findAll(PageRequest.of(2, 7, Sort.by(Sort.Direction.DESC, "age")));
+
+        // Then
+        List<Student> expected = studentRepository.findAll().stream()
+                .sorted((a, b) -> a.getAge().equals(b.getAge())
+                        ? a.getId().compareTo(b.getId()) : b.getAge().compareTo(a.getAge()))
+                .skip(14).limit(7).toList();
+        assertEquals(50, page.getTotalElements());
+        assertEquals(expected.stream().map(Student::getId).toList(),
+                page.getContent().stream().map(Student::getId).toList());
+    }
+
+    @Test
+    void rebalance_AfterAddingShard_ShouldMoveOnlyRowsOwnedByNewShard() {
+        // Given
+        saveStudents(400);
+
+        // When
+        ShardedStudentRepository grown = sharded(4);
+        int moved = new ShardRebalancer(grown).rebalance();
+
+        // Then
+        assertEquals(rowsOn(3), moved);
+        assertTrue(moved > 50 && moved < 200, "moved " + moved + " of 400 rows");
+        assertEquals(400, grown.count());
+        studentRepository.findAll().forEach(s -> assertTrue(grown.findById(s.getId()).isPresent()));
+        assertEquals(0, new ShardRebalancer(grown).rebalance());
+    }
+
+    private ShardedStudentRepository sharded(int shardCount) {
+        ShardedStudentRepository repository =
+                new ShardedStudentRepository(DATABASES.subList(0, shardCount), DATABASES.get(0), 128);
+        repositories.add(repository);
+        return repository;
+    }
+
+    private void saveStudents(int count) {
+        for (int i = 0; i < count; i++) {
+            studentRepository.save(student(i, "student" + i + "@example.com"));
+        }
+    }
+
+    private long rowsOn(int shard) {
+        return new JdbcTemplate(DATABASES.get(shard)).queryForObject("SELECT COUNT(*) FROM students", Long.class);
+    }
+
+    private static Student student(int i, String email) {
+        return Student.builder()
+                .name("Student " + i)
+                .email(email)
+                .age(18 + i % 30)
+                .build();
+    }
+}
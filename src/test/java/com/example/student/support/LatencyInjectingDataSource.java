@@ -0,0 +1,115 @@
+package com.example.student.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Test data source that delays every statement execution, so an in-memory H2 database
+ * behaves more like a remote one when measuring concurrency effects. The delay can be drawn per
+ * statement to model a latency tail, and {@link Statement#cancel()} ends it early with the same
+ * error H2 raises for a cancelled statement.
+ */
+public class LatencyInjectingDataSource extends DelegatingDataSource {
+
+    // SQLState H2 uses for a cancelled statement
+    private static final String CANCELLED = "57014";
+
+    private volatile Supplier<Duration> latency;
+
+    public LatencyInjectingDataSource(DataSource targetDataSource, Duration latency) {
+        super(targetDataSource);
+        setLatency(latency);
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = () -> latency;
+    }
+
+    /**
+     * Draws the delay of each statement from {@code latency}.
+     */
+    public void setLatency(Supplier<Duration> latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Statement statement
+                    ? proxy(method.getReturnType().asSubclass(Statement.class), statement, new DelayingStatement()::invoke)
+                    : result;
+        });
+    }
+
+    private static void delay(Duration duration, CountDownLatch cancelled) throws SQLException {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            if (cancelled.await(duration.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new SQLException("Statement was canceled", CANCELLED);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while injecting latency", e);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, TargetInvocationHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+        return (T) Proxy.newProxyInstance(LatencyInjectingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, invocationHandler);
+    }
+
+    private final class DelayingStatement {
+
+        private volatile CountDownLatch cancelled = new CountDownLatch(1);
+
+        Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("cancel")) {
+                cancelled.countDown();
+            } else if (method.getName().startsWith("execute")) {
+                CountDownLatch execution = new CountDownLatch(1);
+                cancelled = execution;
+                delay(latency.get(), execution);
+            }
+            return LatencyInjectingDataSource.invoke(target, method, args);
+        }
+    }
+
+    @FunctionalInterface
+    private interface TargetInvocationHandler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
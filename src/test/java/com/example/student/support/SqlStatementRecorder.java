@@ -0,0 +1,202 @@
+package com.example.student.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Test data source that records the SQL statements a thread executes while it has a
+ * {@link Recording} open, so tests can pin the number and kind of statements behind an endpoint.
+ * Statements of other threads, such as the outbox relay, are not recorded. Each execute call is
+ * one entry, so a JDBC batch counts once.
+ *
+ * <p>Add it to a Spring test with {@code @Import(SqlStatementRecorder.Config.class)} and call
+ * {@link #start()} around the code under test.
+ */
+public class SqlStatementRecorder extends DelegatingDataSource {
+
+    public enum Kind { SELECT, INSERT, UPDATE, DELETE, MERGE, OTHER }
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    public SqlStatementRecorder(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    /**
+     * Starts recording the statements of the current thread until the recording is closed.
+     */
+    public static Recording start() {
+        Recording recording = new Recording();
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (!(result instanceof Statement statement)) {
+                return result;
+            }
+            // prepareStatement and prepareCall take the SQL up front, createStatement on execute
+            String prepared = args != null && args.length > 0 && args[0] instanceof String sql ? sql : null;
+            return proxy(method.getReturnType().asSubclass(Statement.class), statement, (stmt, stmtMethod, stmtArgs) -> {
+                if (stmtMethod.getName().startsWith("execute")) {
+                    Recording recording = CURRENT.get();
+                    if (recording != null) {
+                        recording.record(stmtArgs != null && stmtArgs.length > 0 && stmtArgs[0] instanceof String sql
+                                ? sql : prepared);
+                    }
+                }
+                return invoke(stmt, stmtMethod, stmtArgs);
+            });
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, TargetInvocationHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+        return (T) Proxy.newProxyInstance(SqlStatementRecorder.class.getClassLoader(),
+                new Class<?>[]{type}, invocationHandler);
+    }
+
+    static Kind kindOf(String sql) {
+        String normalized = sql == null ? "" : sql.stripLeading().toLowerCase(Locale.ROOT);
+        for (Kind kind : Kind.values()) {
+            if (normalized.startsWith(kind.name().toLowerCase(Locale.ROOT))) {
+                return kind;
+            }
+        }
+        return normalized.startsWith("with") ? Kind.SELECT : Kind.OTHER;
+    }
+
+    /**
+     * Statements recorded on one thread.
+     */
+    public static final class Recording implements AutoCloseable {
+
+        private final List<String> statements = new ArrayList<>();
+
+        private Recording() {
+        }
+
+        private void record(String sql) {
+            statements.add(sql == null ? "" : sql.replaceAll("\\s+", " ").strip());
+        }
+
+        public List<String> statements() {
+            return List.copyOf(statements);
+        }
+
+        public Map<Kind, Integer> counts() {
+            Map<Kind, Integer> counts = new EnumMap<>(Kind.class);
+            statements.forEach(sql -> counts.merge(kindOf(sql), 1, Integer::sum));
+            return counts;
+        }
+
+        public void clear() {
+            statements.clear();
+        }
+
+        /**
+         * Fails unless exactly the given kinds of statements were recorded, in any order, e.g.
+         * {@code assertStatements(SELECT, UPDATE, INSERT)}.
+         */
+        public void assertStatements(Kind... expected) {
+            Map<Kind, Integer> expectedCounts = new EnumMap<>(Kind.class);
+            Arrays.stream(expected).forEach(kind -> expectedCounts.merge(kind, 1, Integer::sum));
+            if (!expectedCounts.equals(counts())) {
+                fail("Expected " + expectedCounts + " but executed " + counts() + ":" + listing());
+            }
+        }
+
+        /**
+         * Fails if any select ran more than once with the same SQL, the signature of an N+1 query:
+         * one statement per row of an earlier result instead of one for all of them.
+         */
+        public void assertNoNPlusOne() {
+            Map<String, Long> repeated = statements.stream()
+                    .filter(sql -> kindOf(sql) == Kind.SELECT)
+                    .collect(Collectors.groupingBy(sql -> sql, LinkedHashMap::new, Collectors.counting()));
+            repeated.values().removeIf(count -> count < 2);
+            if (!repeated.isEmpty()) {
+                fail("Possible N+1 queries, the same select ran repeatedly: " + repeated.entrySet().stream()
+                        .map(entry -> entry.getValue() + "x " + entry.getKey())
+                        .collect(Collectors.joining("\n  ", "\n  ", "")));
+            }
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                CURRENT.remove();
+            }
+        }
+
+        private String listing() {
+            return statements.stream().collect(Collectors.joining("\n  ", "\n  ", ""));
+        }
+    }
+
+    /**
+     * Wraps the application's data source in a recorder.
+     */
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        static BeanPostProcessor sqlStatementRecorder() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                            ? new SqlStatementRecorder(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    @FunctionalInterface
+    private interface TargetInvocationHandler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
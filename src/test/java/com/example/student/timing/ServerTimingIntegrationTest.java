@@ -0,0 +1,158 @@
+package com.example.student.timing;
+
+import com.example.student.model.Student;
+import com.example.student.repository.StudentRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "student.server-timing.slow-threshold=0ms",
+        "student.load-shedding.enabled=false",
+        "management.endpoints.web.exposure.include=health,slowrequests"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ServerTimingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        slowRequestLog.clear();
+    }
+
+    @Test
+    void getAllStudents_ShouldReportServiceRepositoryAndDatabaseTime() throws Exception {
+        mockMvc.perform(get("/api/students"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingFilter.HEADER, allOf(
+                        containsString("service;desc=\"StudentService\";dur="),
+                        containsString("repo;"),
+                        containsString("db;"),
+                        containsString("serialize;"),
+                        containsString("app;dur="))));
+    }
+
+    @Test
+    void createStudent_ShouldReportValidationAndFlush() throws Exception {
+        Student student = Student.builder()
+                .name("John Doe")
+                .email("john.doe@example.com")
+                .age(25)
+                .build();
+
+        mockMvc.perform(post("/api/students")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(student)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(ServerTimingFilter.HEADER, allOf(
+                        containsString("validate;"),
+                        containsString("flush;"))));
+    }
+
+    @Test
+    void emptyResponse_ShouldStillCarryHeader() throws Exception {
+        mockMvc.perform(head("/api/students/{id}", 999_999))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(ServerTimingFilter.HEADER, containsString("app;dur=")));
+    }
+
+    @Test
+    void slowRequests_ShouldBeListedWithPhases() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/students"));
+        mockMvc.perform(get("/api/students/stats"));
+
+        // When
+        String body = mockMvc.perform(get("/actuator/slowrequests"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTimingFilter.HEADER))
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        JsonNode requests = objectMapper.readTree(body);
+        assertEquals(2, requests.size());
+        assertTrue(requests.get(0).get("totalMillis").asDouble() >= requests.get(1).get("totalMillis").asDouble());
+        assertEquals("GET", requests.get(0).get("method").asText());
+        assertTrue(requests.get(0).get("phases").has("service"));
+    }
+
+    @Test
+    void serializePhase_ShouldStopOnceTheBodyIsWritten() throws Exception {
+        // Given
+        RequestTiming timing = RequestTiming.begin();
+        try {
+            RequestTiming.start(RequestTiming.Phase.SERIALIZE);
+
+            // When
+            new SerializationTimingInterceptor().postHandle(null, null, null, null);
+            double stopped = timing.phaseMillis().get("serialize");
+            Thread.sleep(50);
+
+            // Then
+            assertEquals(stopped, timing.phaseMillis().get("serialize"));
+        } finally {
+            RequestTiming.end();
+        }
+    }
+
+    @Test
+    void clearSlowRequests_ShouldEmptyTheList() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/students"));
+
+        // When
+        mockMvc.perform(delete("/actuator/slowrequests"))
+                .andExpect(status().isNoContent());
+
+        // Then
+        mockMvc.perform(get("/actuator/slowrequests"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void nestedPhase_ShouldOnlyBeCountedOnce() {
+        // Given
+        RequestTiming timing = RequestTiming.begin();
+        try {
+            // When
+            RequestTiming.start(RequestTiming.Phase.SERVICE);
+            RequestTiming.start(RequestTiming.Phase.SERVICE);
+            RequestTiming.stop(RequestTiming.Phase.SERVICE);
+            RequestTiming.stop(RequestTiming.Phase.SERVICE);
+            RequestTiming.stop(RequestTiming.Phase.SERVICE);
+        } finally {
+            RequestTiming.end();
+        }
+
+        // Then
+        assertEquals(java.util.Set.of("service"), timing.phaseMillis().keySet());
+        RequestTiming.start(RequestTiming.Phase.DB);
+        assertFalse(timing.toHeaderValue().contains("db"));
+    }
+}
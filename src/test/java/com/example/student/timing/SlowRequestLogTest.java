@@ -0,0 +1,57 @@
+package com.example.student.timing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowRequestLogTest {
+
+    private final SlowRequestLog log = new SlowRequestLog(100, 3);
+
+    @Test
+    void slowest_WhenMoreRequestsThanCapacity_ShouldKeepSlowestNotMostRecent() {
+        // Given
+        long[] durations = {900, 500, 700, 200, 300, 150, 800};
+
+        // When
+        for (long nanos : durations) {
+            log.record(nanos, request(nanos));
+        }
+
+        // Then
+        List<String> uris = log.slowest().stream().map(SlowRequest::uri).toList();
+        assertEquals(List.of("/900", "/800", "/700"), uris);
+    }
+
+    @Test
+    void slowest_WhenRequestIsUnderThreshold_ShouldNotKeepIt() {
+        // When
+        log.record(50, request(50));
+
+        // Then
+        assertTrue(log.slowest().isEmpty());
+    }
+
+    @Test
+    void clear_ShouldAcceptFasterRequestsAgain() {
+        // Given
+        for (long nanos : new long[] {900, 800, 700}) {
+            log.record(nanos, request(nanos));
+        }
+
+        // When
+        log.clear();
+        log.record(200, request(200));
+
+        // Then
+        assertEquals(List.of("/200"), log.slowest().stream().map(SlowRequest::uri).toList());
+    }
+
+    private static SlowRequest request(long nanos) {
+        return new SlowRequest(Instant.now(), "GET", "/" + nanos, 200, nanos / 1_000_000.0, Map.of());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.student.warmup;
+
+import com.example.student.model.Student;
+import com.example.student.outbox.OutboxRelay;
+import com.example.student.outbox.StudentChangeRepository;
+import com.example.student.repository.StudentRepository;
+import com.example.student.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "student.warm-up.enabled=true",
+        "student.warm-up.iterations=25"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentWarmUpIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentWarmUp warmUp;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentChangeRepository changeRepository;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private ReadinessRecorder readinessRecorder;
+
+    @TestConfiguration
+    static class ReadinessRecorder {
+
+        private final ObjectProvider<StudentWarmUp> warmUp;
+        private volatile int roundsWhenReady = -1;
+
+        ReadinessRecorder(ObjectProvider<StudentWarmUp> warmUp) {
+            this.warmUp = warmUp;
+        }
+
+        @EventListener
+        void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+            if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                roundsWhenReady = warmUp.getObject().completedRounds();
+            }
+        }
+    }
+
+    @Test
+    void startup_ShouldReportReadinessOnlyAfterWarmUp() throws Exception {
+        // Then
+        assertEquals(25, readinessRecorder.roundsWhenReady);
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void warmUp_ShouldLeaveNoStudentsOrChanges() {
+        // Given
+        studentRepository.save(Student.builder().name("John Doe").email("john.warmup@example.com").age(25).build());
+        long students = studentRepository.count();
+        long changes = changeRepository.count();
+
+        // When
+        int rounds = warmUp.run();
+
+        // Then
+        assertEquals(25, rounds);
+        assertEquals(students, studentRepository.count());
+        assertEquals(changes, changeRepository.count());
+        assertTrue(studentRepository.findByNameContainingIgnoreCase(StudentWarmUp.SCRATCH_NAME).isEmpty());
+        studentRepository.deleteAll();
+    }
+
+    @Test
+    void warmUp_ShouldLeaveNoGapsForTheOutboxRelay() {
+        // Given
+        studentService.createStudent(Student.builder().name("John Doe").email("john.relay@example.com").age(25).build());
+        relay.relay();
+        long position = relay.getPosition();
+
+        // When
+        warmUp.run();
+        relay.relay();
+
+        // Then
+        assertEquals(position, relay.getPosition());
+        studentService.createStudent(Student.builder().name("Jane Doe").email("jane.relay@example.com").age(26).build());
+        relay.relay();
+        assertEquals(position + 1, relay.getPosition());
+        assertEquals(0, relay.getSkippedCount());
+        studentRepository.deleteAll();
+    }
+}